@@ -0,0 +1,193 @@
+package gregtech.api.recipes;
+
+import gregtech.Bootstrap;
+import gregtech.api.capability.impl.FluidTankList;
+import gregtech.api.recipes.builders.SimpleRecipeBuilder;
+import gregtech.api.recipes.ingredients.IntCircuitIngredient;
+import gregtech.api.recipes.ingredients.nbtmatch.NBTCondition;
+import gregtech.api.recipes.ingredients.nbtmatch.NBTMatcher;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.fluids.Fluid;
+import net.minecraftforge.fluids.FluidRegistry;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.items.ItemStackHandler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recipe search on a synthetic RecipeMap. Item recipes use two distinct items and a circuit, fluid recipes use three
+ * distinct fluids. A few ore dictionary and NBT matching recipes are added on separate circuits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeMapBenchmark {
+
+    private static final int ORE_CIRCUIT = 20;
+    private static final int NBT_CIRCUIT = 21;
+    private static final int MISS_CIRCUIT = 30;
+
+    @Param({ "1000", "10000", "100000" })
+    public int recipes;
+
+    @Param({ "false", "true" })
+    public boolean compiled;
+
+    private RecipeMap<SimpleRecipeBuilder> map;
+
+    private List<ItemStack> hitItems;
+    private List<ItemStack> missItems;
+    private List<ItemStack> oreItems;
+    private List<ItemStack> nbtItems;
+    private List<FluidStack> hitFluids;
+
+    private ItemStackHandler hitHandler;
+    private FluidTankList emptyTanks;
+
+    @Setup
+    public void setup() {
+        Bootstrap.perform();
+        map = new RecipeMapBuilder<>("benchmark_" + recipes, new SimpleRecipeBuilder())
+                .itemInputs(3)
+                .itemOutputs(1)
+                .fluidInputs(3)
+                .fluidOutputs(1)
+                .build();
+
+        List<ItemStack> items = new ArrayList<>();
+        for (Item item : Item.REGISTRY) {
+            if (item != Items.AIR) items.add(new ItemStack(item));
+        }
+        List<Fluid> fluids = new ArrayList<>(FluidRegistry.getRegisteredFluids().values());
+        fluids.sort(Comparator.comparing(Fluid::getName));
+
+        // half of the recipes use items, and the other half fluids
+        int itemRecipes = recipes / 2;
+        int count = 0;
+        fill:
+        for (int circuit = 1; circuit < ORE_CIRCUIT; circuit++) {
+            for (int i = 0; i < items.size(); i++) {
+                for (int j = i + 1; j < items.size(); j++) {
+                    if (count++ == itemRecipes) break fill;
+                    // the last recipe added, so the search has to get through most of the tree
+                    hitItems = Arrays.asList(items.get(i), items.get(j),
+                            IntCircuitIngredient.getIntegratedCircuit(circuit));
+                    map.recipeBuilder()
+                            .inputs(items.get(i), items.get(j))
+                            .circuitMeta(circuit)
+                            .outputs(new ItemStack(Blocks.STONE))
+                            .EUt(1).duration(1)
+                            .buildAndRegister();
+                }
+            }
+        }
+
+        count = 0;
+        fill:
+        for (int i = 0; i < fluids.size(); i++) {
+            for (int j = i + 1; j < fluids.size(); j++) {
+                for (int k = j + 1; k < fluids.size(); k++) {
+                    if (count++ == recipes - itemRecipes) break fill;
+                    map.recipeBuilder()
+                            .fluidInputs(new FluidStack(fluids.get(i), 1), new FluidStack(fluids.get(j), 1),
+                                    new FluidStack(fluids.get(k), 1))
+                            .outputs(new ItemStack(Blocks.STONE))
+                            .EUt(1).duration(1)
+                            .buildAndRegister();
+                }
+            }
+        }
+
+        map.recipeBuilder()
+                .input("plankWood")
+                .circuitMeta(ORE_CIRCUIT)
+                .outputs(new ItemStack(Blocks.STONE))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+        map.recipeBuilder()
+                .inputNBT(Items.DIAMOND_SWORD, NBTMatcher.ANY, NBTCondition.ANY)
+                .circuitMeta(NBT_CIRCUIT)
+                .outputs(new ItemStack(Blocks.STONE))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+
+        if (compiled) {
+            map.compileLookup();
+        }
+
+        missItems = Arrays.asList(items.get(0), items.get(1), IntCircuitIngredient.getIntegratedCircuit(MISS_CIRCUIT));
+        oreItems = Arrays.asList(new ItemStack(Blocks.PLANKS, 1, 2),
+                IntCircuitIngredient.getIntegratedCircuit(ORE_CIRCUIT));
+        ItemStack sword = new ItemStack(Items.DIAMOND_SWORD);
+        sword.setTagCompound(new NBTTagCompound());
+        sword.getTagCompound().setInteger("benchmark", 1);
+        nbtItems = Arrays.asList(sword, IntCircuitIngredient.getIntegratedCircuit(NBT_CIRCUIT));
+        hitFluids = Arrays.asList(new FluidStack(fluids.get(0), 1000), new FluidStack(fluids.get(1), 1000),
+                new FluidStack(fluids.get(2), 1000));
+
+        hitHandler = new ItemStackHandler(hitItems.size());
+        for (int i = 0; i < hitItems.size(); i++) {
+            hitHandler.setStackInSlot(i, hitItems.get(i).copy());
+        }
+        emptyTanks = new FluidTankList(false, new FluidTank(1000));
+    }
+
+    @Benchmark
+    public Recipe findHit() {
+        return map.find(hitItems, Collections.emptyList(), r -> true);
+    }
+
+    @Benchmark
+    public Recipe findMiss() {
+        return map.find(missItems, Collections.emptyList(), r -> true);
+    }
+
+    @Benchmark
+    public Recipe findOreDict() {
+        return map.find(oreItems, Collections.emptyList(), r -> true);
+    }
+
+    @Benchmark
+    public Recipe findNBTMatcher() {
+        return map.find(nbtItems, Collections.emptyList(), r -> true);
+    }
+
+    @Benchmark
+    public Recipe findFluids() {
+        return map.find(Collections.emptyList(), hitFluids, r -> true);
+    }
+
+    /**
+     * The search performed by machines, including input validation and the lookup cache.
+     */
+    @Benchmark
+    public Recipe findRecipeFromHandlers() {
+        return map.findRecipe(Long.MAX_VALUE, hitHandler, emptyTanks);
+    }
+}
@@ -0,0 +1,100 @@
+package gregtech.api.recipes;
+
+import gregtech.Bootstrap;
+import gregtech.api.capability.impl.FluidTankList;
+import gregtech.api.recipes.builders.SimpleRecipeBuilder;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidRegistry;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.items.ItemStackHandler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validating a recipe against inputs, as done when checking the previous recipe of a machine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeMatchesBenchmark {
+
+    private Recipe recipe;
+
+    private List<ItemStack> items;
+    private List<FluidStack> fluids;
+    private List<ItemStack> missingItems;
+
+    private ItemStackHandler itemHandler;
+    private FluidTankList fluidHandler;
+
+    @Setup
+    public void setup() {
+        Bootstrap.perform();
+        RecipeMap<SimpleRecipeBuilder> map = new RecipeMapBuilder<>("benchmark_matches", new SimpleRecipeBuilder())
+                .itemInputs(4)
+                .itemOutputs(1)
+                .fluidInputs(2)
+                .fluidOutputs(1)
+                .build();
+
+        recipe = map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE, 4), new ItemStack(Items.IRON_INGOT, 2),
+                        new ItemStack(Items.REDSTONE, 8))
+                .input("plankWood", 2)
+                .fluidInputs(new FluidStack(FluidRegistry.WATER, 1000), new FluidStack(FluidRegistry.LAVA, 250))
+                .outputs(new ItemStack(Blocks.STONE))
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        items = Arrays.asList(new ItemStack(Blocks.DIRT, 64), new ItemStack(Blocks.COBBLESTONE, 64),
+                new ItemStack(Items.IRON_INGOT, 64), new ItemStack(Items.REDSTONE, 64),
+                new ItemStack(Blocks.PLANKS, 64, 1), new ItemStack(Blocks.SAND, 64));
+        fluids = Arrays.asList(new FluidStack(FluidRegistry.WATER, 16000), new FluidStack(FluidRegistry.LAVA, 16000));
+        missingItems = Arrays.asList(new ItemStack(Blocks.DIRT, 64), new ItemStack(Blocks.COBBLESTONE, 64),
+                new ItemStack(Items.IRON_INGOT, 64), new ItemStack(Items.REDSTONE, 64));
+
+        itemHandler = new ItemStackHandler(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            itemHandler.setStackInSlot(i, items.get(i).copy());
+        }
+        fluidHandler = new FluidTankList(false, new FluidTank(16000), new FluidTank(16000));
+        for (int i = 0; i < fluids.size(); i++) {
+            fluidHandler.getTankAt(i).fill(fluids.get(i).copy(), true);
+        }
+    }
+
+    @Benchmark
+    public boolean matchesLists() {
+        return recipe.matches(false, items, fluids);
+    }
+
+    @Benchmark
+    public boolean matchesListsMissing() {
+        return recipe.matches(false, missingItems, fluids);
+    }
+
+    @Benchmark
+    public boolean matchesHandlers() {
+        return recipe.matches(false, itemHandler, fluidHandler);
+    }
+}
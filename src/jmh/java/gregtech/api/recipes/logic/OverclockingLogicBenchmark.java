@@ -0,0 +1,61 @@
+package gregtech.api.recipes.logic;
+
+import gregtech.api.GTValues;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static gregtech.api.recipes.logic.OverclockingLogic.*;
+
+/**
+ * Overclocking an LV recipe up to the given amount of tiers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OverclockingLogicBenchmark {
+
+    @Param({ "1", "4", "13" })
+    public int ocAmount;
+
+    private final OCParams params = new OCParams();
+    private final OCResult result = new OCResult();
+
+    private long maxVoltage() {
+        return GTValues.V[GTValues.LV + ocAmount];
+    }
+
+    @Benchmark
+    public OCResult standard() {
+        params.initialize(GTValues.VA[GTValues.LV], 1200, ocAmount);
+        standardOC(params, result, maxVoltage(), STD_DURATION_FACTOR, STD_VOLTAGE_FACTOR);
+        return result;
+    }
+
+    @Benchmark
+    public OCResult subTickParallel() {
+        params.initialize(GTValues.VA[GTValues.LV], 20, ocAmount);
+        subTickParallelOC(params, result, maxVoltage(), STD_DURATION_FACTOR, STD_VOLTAGE_FACTOR);
+        return result;
+    }
+
+    @Benchmark
+    public OCResult heatingCoil() {
+        params.initialize(GTValues.VA[GTValues.LV], 1200, ocAmount);
+        heatingCoilOC(params, result, maxVoltage(), 4500, 1800);
+        return result;
+    }
+}
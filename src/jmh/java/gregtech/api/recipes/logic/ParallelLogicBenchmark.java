@@ -0,0 +1,97 @@
+package gregtech.api.recipes.logic;
+
+import gregtech.Bootstrap;
+import gregtech.api.capability.impl.FluidTankList;
+import gregtech.api.recipes.Recipe;
+import gregtech.api.recipes.RecipeMap;
+import gregtech.api.recipes.RecipeMapBuilder;
+import gregtech.api.recipes.builders.SimpleRecipeBuilder;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidRegistry;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.items.ItemStackHandler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parallel limiting by available inputs and output space, for a recipe with several item and fluid outputs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelLogicBenchmark {
+
+    @Param({ "4", "64", "1024" })
+    public int parallel;
+
+    private Recipe recipe;
+
+    private ItemStackHandler inputs;
+    private FluidTankList fluidInputs;
+    private ItemStackHandler outputs;
+    private FluidTankList fluidOutputs;
+
+    @Setup
+    public void setup() {
+        Bootstrap.perform();
+        RecipeMap<SimpleRecipeBuilder> map = new RecipeMapBuilder<>("benchmark_parallel", new SimpleRecipeBuilder())
+                .itemInputs(2)
+                .itemOutputs(4)
+                .fluidInputs(1)
+                .fluidOutputs(2)
+                .build();
+
+        recipe = map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE, 2), new ItemStack(Items.COAL))
+                .fluidInputs(new FluidStack(FluidRegistry.WATER, 100))
+                .outputs(new ItemStack(Blocks.STONE, 2), new ItemStack(Blocks.GRAVEL), new ItemStack(Items.FLINT))
+                .chancedOutput(new ItemStack(Items.IRON_NUGGET), 2500, 0)
+                .fluidOutputs(new FluidStack(FluidRegistry.LAVA, 10))
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        inputs = new ItemStackHandler(16);
+        for (int i = 0; i < 8; i++) {
+            inputs.setStackInSlot(i, new ItemStack(Blocks.COBBLESTONE, 64));
+            inputs.setStackInSlot(i + 8, new ItemStack(Items.COAL, 64));
+        }
+        fluidInputs = new FluidTankList(false, new FluidTank(64000));
+        fluidInputs.getTankAt(0).fill(new FluidStack(FluidRegistry.WATER, 64000), true);
+
+        outputs = new ItemStackHandler(16);
+        outputs.setStackInSlot(0, new ItemStack(Blocks.STONE, 32));
+        outputs.setStackInSlot(1, new ItemStack(Blocks.GRAVEL, 60));
+        outputs.setStackInSlot(2, new ItemStack(Blocks.DIRT, 64));
+        fluidOutputs = new FluidTankList(false, new FluidTank(16000), new FluidTank(16000));
+        fluidOutputs.getTankAt(0).fill(new FluidStack(FluidRegistry.LAVA, 8000), true);
+    }
+
+    @Benchmark
+    public int getMaxRecipeMultiplier() {
+        return ParallelLogic.getMaxRecipeMultiplier(recipe, inputs, fluidInputs, parallel);
+    }
+
+    @Benchmark
+    public int limitByOutputMerging() {
+        return ParallelLogic.limitByOutputMerging(recipe, outputs, fluidOutputs, parallel, false, false);
+    }
+}
@@ -16,15 +16,18 @@ import gregtech.api.metatileentity.multiblock.ParallelLogicType;
 import gregtech.api.recipes.Recipe;
 import gregtech.api.recipes.RecipeBuilder;
 import gregtech.api.recipes.RecipeMap;
+import gregtech.api.recipes.RecipeMatchScratch;
 import gregtech.api.recipes.logic.IParallelableRecipeLogic;
 import gregtech.api.recipes.logic.OCParams;
 import gregtech.api.recipes.logic.OCResult;
+import gregtech.api.recipes.logic.TickRecipeSearchCache;
 import gregtech.api.recipes.properties.RecipePropertyStorage;
 import gregtech.api.recipes.properties.impl.CleanroomProperty;
 import gregtech.api.recipes.properties.impl.DimensionProperty;
 import gregtech.api.util.GTLog;
 import gregtech.api.util.GTTransferUtils;
 import gregtech.api.util.GTUtility;
+import gregtech.api.util.TickProfiler;
 import gregtech.common.ConfigHolder;
 
 import net.minecraft.item.ItemStack;
@@ -65,12 +68,16 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
     private long overclockVoltage;
     private final OCParams ocParams = new OCParams();
     private final OCResult ocResult = new OCResult();
+    private final OverclockMemo overclockMemo = new OverclockMemo();
+    protected final RecipeMatchScratch matchScratch = new RecipeMatchScratch();
+    final PreviousRecipeMatch previousMatch = new PreviousRecipeMatch();
 
     protected boolean canRecipeProgress = true;
 
     protected int progressTime;
     protected int maxProgressTime;
     protected long recipeEUt;
+    protected int energyDrawnAheadTicks;
     @NotNull
     protected List<FluidStack> fluidOutputs = Collections.emptyList();
     @NotNull
@@ -226,7 +233,15 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
                 }
                 // check everything that would make a recipe never start here.
                 if (progressTime == 0 && shouldSearchForRecipes()) {
-                    trySearchNewRecipe();
+                    if (TickProfiler.isEnabled()) {
+                        long startTime = System.nanoTime();
+                        trySearchNewRecipe();
+                        RecipeMap<?> map = getRecipeMap();
+                        TickProfiler.record(TickProfiler.RECIPE_SEARCHES, map == null ? "none" : map.unlocalizedName,
+                                System.nanoTime() - startTime);
+                    } else {
+                        trySearchNewRecipe();
+                    }
                 }
             }
             if (wasActiveAndNeedsUpdate) {
@@ -267,6 +282,21 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
         return canWorkWithInputs() && canFitNewOutputs();
     }
 
+    /**
+     * @return if the logic has nothing to do until its inventories or working state change
+     */
+    public boolean isIdle() {
+        if (progressTime > 0 || wasActiveAndNeedsUpdate) return false;
+        return !workingEnabled || isWaitingForInputs() || (isOutputsFull && !hasNotifiedOutputs());
+    }
+
+    /**
+     * @return if no recipe can be found until the input inventory contents change
+     */
+    protected boolean isWaitingForInputs() {
+        return invalidInputsForRecipes && !hasNotifiedInputs();
+    }
+
     /**
      * @return true if input inventory contents have changed
      */
@@ -352,8 +382,7 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
      * </p>
      */
     protected void updateRecipeProgress() {
-        if (canRecipeProgress && drawEnergy(recipeEUt, true)) {
-            drawEnergy(recipeEUt, false);
+        if (canRecipeProgress && drawProgressEnergy()) {
             // as recipe starts with progress on 1 this has to be > only not => to compensate for it
             if (++progressTime > maxProgressTime) {
                 completeRecipe();
@@ -369,6 +398,59 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
         }
     }
 
+    /**
+     * Draw the energy for a tick of recipe progress. When allowed, the energy for several ticks is drawn at once, and
+     * the following ticks use it up without touching the energy container.
+     *
+     * @return true if the energy was drawn, otherwise false
+     */
+    protected boolean drawProgressEnergy() {
+        if (energyDrawnAheadTicks > 0) {
+            energyDrawnAheadTicks--;
+            return true;
+        }
+
+        // as recipe starts with progress on 1 the last tick of progress is maxProgressTime
+        int ticks = Math.min(ConfigHolder.machines.recipeEnergyDrawAheadTicks, maxProgressTime - progressTime + 1);
+        if (ticks > 1 && recipeEUt > 0 && recipeEUt <= Long.MAX_VALUE / ticks && canDrawEnergyAhead()) {
+            long energy = recipeEUt * ticks;
+            if (drawEnergy(energy, true)) {
+                drawEnergy(energy, false);
+                this.energyDrawnAheadTicks = ticks - 1;
+                return true;
+            }
+        }
+
+        if (!drawEnergy(recipeEUt, true)) return false;
+        drawEnergy(recipeEUt, false);
+        return true;
+    }
+
+    /**
+     * Return the energy drawn ahead for ticks of recipe progress which will not happen
+     */
+    protected void refundEnergyDrawnAhead() {
+        if (energyDrawnAheadTicks <= 0) return;
+        long energy = recipeEUt * energyDrawnAheadTicks;
+        this.energyDrawnAheadTicks = 0;
+        if (energy <= 0 || !consumesEnergy()) return;
+
+        // the container may have been filled up since the energy was drawn
+        if (!drawEnergy(-energy, true)) {
+            energy = Math.min(energy, getEnergyCapacity() - getEnergyStored());
+            if (energy <= 0) return;
+        }
+        drawEnergy(-energy, false);
+    }
+
+    /**
+     * @return if the energy for several ticks of recipe progress can be drawn with a single call to
+     *         {@link #drawEnergy(long, boolean)}
+     */
+    protected boolean canDrawEnergyAhead() {
+        return false;
+    }
+
     /**
      * Decrease the recipe progress time in the case that some state was not right, like available EU to drain.
      */
@@ -434,7 +516,18 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
     protected boolean checkPreviousRecipe() {
         if (this.previousRecipe == null) return false;
         if (this.previousRecipe.getEUt() > this.getMaxVoltage()) return false;
-        return this.previousRecipe.matches(false, getInputInventory(), getInputTank());
+        IItemHandlerModifiable importInventory = getInputInventory();
+        IMultipleTankHandler importFluids = getInputTank();
+        // the inputs the recipe used have only grown since it last matched
+        if (previousMatch.isValid(this.previousRecipe, importInventory, importFluids)) return true;
+
+        long stamp = InputChangeTracker.currentStamp();
+        if (this.previousRecipe.matches(false, importInventory, importFluids, matchScratch)) {
+            previousMatch.record(this.previousRecipe, importInventory, importFluids, matchScratch, stamp);
+            return true;
+        }
+        previousMatch.clear();
+        return false;
     }
 
     /**
@@ -654,6 +747,12 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
             return null;
         }
 
+        if (ConfigHolder.recipes.sharedRecipeSearch) {
+            World world = metaTileEntity.getWorld();
+            if (world != null && !world.isRemote) {
+                return TickRecipeSearchCache.findRecipe(world, map, maxVoltage, inputs, fluidInputs, matchScratch);
+            }
+        }
         return map.findRecipe(maxVoltage, inputs, fluidInputs);
     }
 
@@ -729,7 +828,9 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
 
         if (checkOutputSpaceItems(recipe, getOutputInventory()) && checkOutputSpaceFluids(recipe, getOutputTank())) {
             this.isOutputsFull = false;
-            if (recipe.matches(true, importInventory, importFluids)) {
+            // consuming invalidates the previous match, and a failure means it was stale
+            previousMatch.clear();
+            if (recipe.matches(true, importInventory, importFluids, matchScratch)) {
                 this.metaTileEntity.addNotifiedInput(importInventory);
                 return recipe;
             }
@@ -852,10 +953,29 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
      * @param recipe the recipe to run
      */
     protected final void calculateOverclock(@NotNull Recipe recipe) {
+        int ocAmount = getNumberOfOCs(recipe.getEUt());
+        long maxVoltage = getMaximumOverclockVoltage();
+        long stateKey = getOverclockStateKey();
+        if (overclockMemo.restore(recipe, ocAmount, maxVoltage, hasPerfectOC, stateKey, this.ocResult)) return;
+
         // perform the actual overclocking
-        ocParams.initialize(recipe.getEUt(), recipe.getDuration(), getNumberOfOCs(recipe.getEUt()));
+        ocParams.initialize(recipe.getEUt(), recipe.getDuration(), ocAmount);
         performOverclocking(recipe, this.ocParams, this.ocResult);
         ocParams.reset();
+        overclockMemo.record(recipe, ocAmount, maxVoltage, hasPerfectOC, stateKey, this.ocResult);
+    }
+
+    /**
+     * The overclock of a recipe is reused while the recipe, the number of overclocks, the maximum overclock voltage
+     * and this key stay the same. Override this when the overclock depends on other state which can change while the
+     * logic is valid, returning a value which differs whenever that state does.
+     * <p>
+     * State which only changes together with a call to {@link #invalidate()} does not need to be part of the key.
+     *
+     * @return the key of the state the overclock depends on
+     */
+    protected long getOverclockStateKey() {
+        return 0;
     }
 
     /**
@@ -981,6 +1101,7 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
         this.progressTime = 0;
         setMaxProgress(0);
         this.recipeEUt = 0;
+        this.energyDrawnAheadTicks = 0;
         this.fluidOutputs = Collections.emptyList();
         this.itemOutputs = Collections.emptyList();
         this.hasNotEnoughEnergy = false;
@@ -1138,7 +1259,10 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
      */
     @MustBeInvokedByOverriders
     public void invalidate() {
+        refundEnergyDrawnAhead();
         previousRecipe = null;
+        previousMatch.clear();
+        overclockMemo.clear();
         progressTime = 0;
         maxProgressTime = 0;
         recipeEUt = 0;
@@ -1186,6 +1310,9 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
             compound.setInteger("Progress", progressTime);
             compound.setInteger("MaxProgress", maxProgressTime);
             compound.setLong("RecipeEUt", this.recipeEUt);
+            if (energyDrawnAheadTicks > 0) {
+                compound.setInteger("EnergyDrawnAheadTicks", energyDrawnAheadTicks);
+            }
             NBTTagList itemOutputsList = new NBTTagList();
             for (ItemStack itemOutput : itemOutputs) {
                 itemOutputsList.appendTag(itemOutput.writeToNBT(new NBTTagCompound()));
@@ -1212,6 +1339,7 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
             this.isActive = true;
             this.maxProgressTime = compound.getInteger("MaxProgress");
             this.recipeEUt = Math.abs(compound.getLong("RecipeEUt"));
+            this.energyDrawnAheadTicks = compound.getInteger("EnergyDrawnAheadTicks");
             NBTTagList itemOutputsList = compound.getTagList("ItemOutputs", Constants.NBT.TAG_COMPOUND);
             this.itemOutputs = new ArrayList<>(itemOutputsList.tagCount());
             for (int i = 0; i < itemOutputsList.tagCount(); i++) {
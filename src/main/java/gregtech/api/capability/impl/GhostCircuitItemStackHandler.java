@@ -25,6 +25,7 @@ public class GhostCircuitItemStackHandler extends GTItemStackHandler
     public static final int NO_CONFIG = -1;
 
     private final List<MetaTileEntity> notifiableEntities = new ArrayList<>();
+    private final InputChangeTracker changeTracker = new InputChangeTracker();
 
     private int circuitValue = NO_CONFIG;
     private ItemStack circuitStack = ItemStack.EMPTY;
@@ -73,6 +74,7 @@ public class GhostCircuitItemStackHandler extends GTItemStackHandler
         } else {
             throw new IllegalArgumentException("Circuit value out of range: " + config);
         }
+        changeTracker.onItemChanged(0, this.circuitStack);
         for (MetaTileEntity mte : notifiableEntities) {
             if (mte != null && mte.isValid()) {
                 addToNotifiedList(mte, this, false);
@@ -105,6 +107,13 @@ public class GhostCircuitItemStackHandler extends GTItemStackHandler
         }
     }
 
+    /**
+     * @return the tracker of changes to the circuit
+     */
+    public @NotNull InputChangeTracker getChangeTracker() {
+        return changeTracker;
+    }
+
     @Override
     public void setStackInSlot(int slot, @NotNull ItemStack stack) {
         validateSlot(slot);
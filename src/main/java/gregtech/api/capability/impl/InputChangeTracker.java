@@ -0,0 +1,206 @@
+package gregtech.api.capability.impl;
+
+import gregtech.api.capability.IMultipleTankHandler;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.IFluidTank;
+import net.minecraftforge.items.IItemHandler;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records when the contents of each slot of a handler last increased or decreased.
+ * <p>
+ * Changes are stamped from a counter shared by all trackers, so a stamp taken with {@link #currentStamp()} can be
+ * compared against any handler. A slot which was replaced by a different stack counts as both an increase and a
+ * decrease, as does the first change seen in a slot or a change which kept the amount.
+ */
+public final class InputChangeTracker {
+
+    private static final AtomicLong STAMP = new AtomicLong();
+    private static final Object EMPTY_FLUID = new Object();
+
+    private long lastChange;
+    private long lastIncrease;
+    private long[] lastDecrease = new long[0];
+    private Object[] lastContents = new Object[0];
+    private int[] lastAmounts = new int[0];
+
+    /**
+     * @return the stamp of the latest change to any handler
+     */
+    public static long currentStamp() {
+        return STAMP.get();
+    }
+
+    /**
+     * Record a change of the stack in a slot
+     *
+     * @param slot  the slot which changed
+     * @param stack the new stack in the slot
+     */
+    public void onItemChanged(int slot, @NotNull ItemStack stack) {
+        ensureSize(slot + 1);
+        Object last = lastContents[slot];
+        int lastAmount = lastAmounts[slot];
+        int amount = stack.isEmpty() ? 0 : stack.getCount();
+        boolean increased;
+        boolean decreased;
+        if (last == null) {
+            increased = decreased = true;
+        } else if (last == stack && amount != lastAmount) {
+            increased = amount > lastAmount;
+            decreased = amount < lastAmount;
+        } else if (last != stack && lastAmount == 0) {
+            increased = amount > 0;
+            decreased = false;
+        } else if (last != stack && amount == 0) {
+            increased = false;
+            decreased = true;
+        } else {
+            ItemStack lastStack = (ItemStack) last;
+            boolean same = last != stack && ItemStack.areItemsEqual(lastStack, stack) &&
+                    ItemStack.areItemStackTagsEqual(lastStack, stack);
+            increased = !same || amount > lastAmount;
+            decreased = !same || amount < lastAmount;
+        }
+        lastContents[slot] = stack;
+        lastAmounts[slot] = amount;
+        record(slot, increased, decreased);
+    }
+
+    /**
+     * Record a change of the fluid in a tank
+     *
+     * @param fluid the new fluid in the tank
+     */
+    public void onFluidChanged(@Nullable FluidStack fluid) {
+        ensureSize(1);
+        Object last = lastContents[0];
+        int lastAmount = lastAmounts[0];
+        int amount = fluid == null ? 0 : fluid.amount;
+        boolean increased;
+        boolean decreased;
+        if (last == null) {
+            increased = decreased = true;
+        } else if (last == fluid && amount != lastAmount) {
+            increased = amount > lastAmount;
+            decreased = amount < lastAmount;
+        } else if (last != fluid && lastAmount == 0) {
+            increased = amount > 0;
+            decreased = false;
+        } else if (last != fluid && amount == 0) {
+            increased = false;
+            decreased = true;
+        } else {
+            boolean same = last != fluid && last instanceof FluidStack lastFluid && lastFluid.isFluidEqual(fluid);
+            increased = !same || amount > lastAmount;
+            decreased = !same || amount < lastAmount;
+        }
+        lastContents[0] = fluid == null ? EMPTY_FLUID : fluid;
+        lastAmounts[0] = amount;
+        record(0, increased, decreased);
+    }
+
+    /**
+     * @return the stamp of the last change of any slot
+     */
+    public long getLastChange() {
+        return lastChange;
+    }
+
+    /**
+     * @return the stamp of the last increase of any slot
+     */
+    public long getLastIncrease() {
+        return lastIncrease;
+    }
+
+    /**
+     * @param slot the slot
+     * @return the stamp of the last decrease of the slot, or 0 if it never decreased
+     */
+    public long getLastDecrease(int slot) {
+        return slot >= 0 && slot < lastDecrease.length ? lastDecrease[slot] : 0;
+    }
+
+    /**
+     * @param handler the item handler, which may combine several handlers
+     * @return the stamp of the last change of any slot of the handler, or {@link Long#MAX_VALUE} if the handler
+     *         does not track its changes
+     */
+    public static long getLastChange(@NotNull IItemHandler handler) {
+        if (handler instanceof NotifiableItemStackHandler notifiable) {
+            return notifiable.getChangeTracker().getLastChange();
+        }
+        if (handler instanceof GhostCircuitItemStackHandler circuit) {
+            return circuit.getChangeTracker().getLastChange();
+        }
+        if (handler instanceof ItemHandlerList list) {
+            long lastChange = 0;
+            for (IItemHandler backing : list.getBackingHandlers()) {
+                lastChange = Math.max(lastChange, getLastChange(backing));
+                if (lastChange == Long.MAX_VALUE) break;
+            }
+            return lastChange;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * @param handler the item handler, which may combine several handlers
+     * @param slot    the slot in the handler
+     * @param stamp   the stamp to compare against
+     * @return if the slot may have decreased since the stamp was taken
+     */
+    public static boolean hasDecreasedSince(@NotNull IItemHandler handler, int slot, long stamp) {
+        while (handler instanceof ItemHandlerList list) {
+            IItemHandler backing = list.getHandlerBySlot(slot);
+            if (backing == null) return true;
+            slot -= list.getIndexOffset(backing);
+            handler = backing;
+        }
+        if (handler instanceof NotifiableItemStackHandler notifiable) {
+            return notifiable.getChangeTracker().getLastDecrease(slot) > stamp;
+        }
+        return true;
+    }
+
+    /**
+     * @param handler the fluid handler
+     * @param tank    the tank in the handler
+     * @param stamp   the stamp to compare against
+     * @return if the tank may have decreased since the stamp was taken
+     */
+    public static boolean hasDecreasedSince(@NotNull IMultipleTankHandler handler, int tank, long stamp) {
+        IFluidTank delegate = handler.getTankAt(tank);
+        while (delegate instanceof IMultipleTankHandler.ITankEntry entry) {
+            delegate = entry.getDelegate();
+        }
+        if (delegate instanceof NotifiableFluidTank notifiable) {
+            return notifiable.getChangeTracker().getLastDecrease(0) > stamp;
+        }
+        return true;
+    }
+
+    private void record(int slot, boolean increased, boolean decreased) {
+        if (!increased && !decreased) return;
+        long stamp = STAMP.incrementAndGet();
+        this.lastChange = stamp;
+        if (increased) this.lastIncrease = stamp;
+        if (decreased) this.lastDecrease[slot] = stamp;
+    }
+
+    private void ensureSize(int size) {
+        if (lastDecrease.length < size) {
+            this.lastDecrease = Arrays.copyOf(lastDecrease, size);
+            this.lastContents = Arrays.copyOf(lastContents, size);
+            this.lastAmounts = Arrays.copyOf(lastAmounts, size);
+        }
+    }
+}
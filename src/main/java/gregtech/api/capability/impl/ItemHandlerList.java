@@ -1,5 +1,8 @@
 package gregtech.api.capability.impl;
 
+import gregtech.api.util.GTHashMaps;
+import gregtech.api.util.GTUtility;
+
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.items.IItemHandlerModifiable;
@@ -8,7 +11,9 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntArrayMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
@@ -20,6 +25,14 @@ public class ItemHandlerList implements IItemHandlerModifiable {
     private final Int2ObjectMap<IItemHandler> handlerBySlotIndex = new Int2ObjectOpenHashMap<>();
     private final Object2IntMap<IItemHandler> baseIndexOffset = new Object2IntArrayMap<>();
 
+    // the amount of each item type, in total and per backing handler, with the stamps they were counted at
+    private final Object2IntMap<ItemStack> itemCounts = GTHashMaps.createItemStackMap(true);
+    private final Object2IntMap<ItemStack> itemCountsView = Object2IntMaps.unmodifiable(itemCounts);
+    private long itemCountsStamp = -1;
+    private IItemHandler[] countedHandlers;
+    private Object2IntMap<ItemStack>[] handlerItemCounts;
+    private long[] handlerItemCountsStamps;
+
     public ItemHandlerList(List<? extends IItemHandler> itemHandlerList) {
         int currentSlotIndex = 0;
         for (IItemHandler itemHandler : itemHandlerList) {
@@ -39,6 +52,14 @@ public class ItemHandlerList implements IItemHandlerModifiable {
         return baseIndexOffset.getOrDefault(handler, -1);
     }
 
+    /**
+     * @param slot the slot index in this list
+     * @return the handler backing the slot, or null if the slot is invalid
+     */
+    public @Nullable IItemHandler getHandlerBySlot(int slot) {
+        return handlerBySlotIndex.get(slot);
+    }
+
     @Override
     public int getSlots() {
         return handlerBySlotIndex.size();
@@ -88,6 +109,73 @@ public class ItemHandlerList implements IItemHandlerModifiable {
         return itemHandler.extractItem(slot - baseIndexOffset.get(itemHandler), amount, simulate);
     }
 
+    /**
+     * Count the amount of each item type in this list.
+     * <p>
+     * The counts are kept between calls, and only the backing handlers which changed since they were last counted
+     * are counted again. This requires all backing handlers to track their changes, see
+     * {@link InputChangeTracker#getLastChange(IItemHandler)}.
+     *
+     * @return a view of the amount of each item type in slot order, which must not be kept, or null if a backing
+     *         handler does not track its changes
+     */
+    public @Nullable Object2IntMap<ItemStack> getItemCounts() {
+        long lastChange = InputChangeTracker.getLastChange(this);
+        if (lastChange == Long.MAX_VALUE) return null;
+        if (lastChange <= itemCountsStamp) return itemCountsView;
+
+        if (countedHandlers == null) {
+            this.countedHandlers = baseIndexOffset.keySet().toArray(new IItemHandler[0]);
+            // noinspection unchecked
+            this.handlerItemCounts = new Object2IntMap[countedHandlers.length];
+            this.handlerItemCountsStamps = new long[countedHandlers.length];
+            Arrays.fill(handlerItemCountsStamps, -1);
+        }
+
+        long stamp = InputChangeTracker.currentStamp();
+        itemCounts.clear();
+        for (int i = 0; i < countedHandlers.length; i++) {
+            IItemHandler handler = countedHandlers[i];
+            Object2IntMap<ItemStack> counts;
+            if (handler instanceof ItemHandlerList list) {
+                counts = list.getItemCounts();
+            } else {
+                counts = handlerItemCounts[i];
+                if (counts == null || InputChangeTracker.getLastChange(handler) > handlerItemCountsStamps[i]) {
+                    counts = countItems(handler, counts);
+                    handlerItemCounts[i] = counts;
+                    handlerItemCountsStamps[i] = stamp;
+                }
+            }
+            if (counts == null) return null;
+            for (Object2IntMap.Entry<ItemStack> entry : counts.object2IntEntrySet()) {
+                ItemStack key = entry.getKey();
+                itemCounts.put(key, itemCounts.getInt(key) + entry.getIntValue());
+            }
+        }
+        this.itemCountsStamp = stamp;
+        return itemCountsView;
+    }
+
+    private static @NotNull Object2IntMap<ItemStack> countItems(@NotNull IItemHandler handler,
+                                                                @Nullable Object2IntMap<ItemStack> counts) {
+        if (counts == null) {
+            counts = GTHashMaps.createItemStackMap(true);
+        } else {
+            counts.clear();
+        }
+        for (int i = 0; i < handler.getSlots(); i++) {
+            ItemStack stack = handler.getStackInSlot(i);
+            if (stack.isEmpty()) continue;
+            if (counts.containsKey(stack)) {
+                counts.put(stack, counts.getInt(stack) + stack.getCount());
+            } else {
+                counts.put(GTUtility.copy(1, stack), stack.getCount());
+            }
+        }
+        return counts;
+    }
+
     @NotNull
     public Collection<IItemHandler> getBackingHandlers() {
         return Collections.unmodifiableCollection(baseIndexOffset.keySet());
@@ -15,6 +15,10 @@ public class ItemHandlerProxy implements IItemHandler {
         this.extractHandler = extractHandler;
     }
 
+    public IItemHandler getInsertHandler() {
+        return insertHandler;
+    }
+
     @Override
     public int getSlots() {
         return insertHandler.getSlots() + extractHandler.getSlots();
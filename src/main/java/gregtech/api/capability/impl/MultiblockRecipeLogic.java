@@ -21,12 +21,15 @@ import net.minecraft.util.Tuple;
 import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.items.IItemHandlerModifiable;
 
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import static gregtech.api.recipes.logic.OverclockingLogic.subTickParallelOC;
 
@@ -36,6 +39,9 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
     protected int lastRecipeIndex = 0;
     protected IItemHandlerModifiable currentDistinctInputBus;
     protected List<IItemHandlerModifiable> invalidatedInputList = new ArrayList<>();
+    private final Map<IItemHandlerModifiable, PreviousRecipeMatch> distinctMatches =
+            new Reference2ObjectOpenHashMap<>();
+    private final Map<IItemHandlerModifiable, IMultipleTankHandler> distinctTanks = new Reference2ObjectOpenHashMap<>();
 
     public MultiblockRecipeLogic(RecipeMapMultiblockController tileEntity) {
         super(tileEntity, tileEntity.recipeMap);
@@ -57,6 +63,11 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
         return super.canProgressRecipe() && !((IMultiblockController) metaTileEntity).isStructureObstructed();
     }
 
+    @Override
+    protected boolean canDrawEnergyAhead() {
+        return consumesEnergy();
+    }
+
     /**
      * Used to reset cached values in the Recipe Logic on structure deform
      */
@@ -65,10 +76,13 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
         super.invalidate();
         lastRecipeIndex = 0;
         invalidatedInputList.clear();
+        distinctMatches.clear();
+        distinctTanks.clear();
     }
 
     public void onDistinctChanged() {
         this.lastRecipeIndex = 0;
+        distinctMatches.clear();
     }
 
     public IEnergyContainer getEnergyContainer() {
@@ -179,6 +193,24 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
         return super.canWorkWithInputs();
     }
 
+    @Override
+    protected boolean isWaitingForInputs() {
+        if (metaTileEntity instanceof RecipeMapMultiblockController controller && controller.canBeDistinct() &&
+                controller.isDistinct() && getInputInventory().getSlots() > 0) {
+            if (invalidatedInputList.isEmpty() || hasNotifiedInputs()) return false;
+            // mirrors the check in canWorkWithInputs()
+            for (IItemHandlerModifiable bus : getInputBuses()) {
+                if (!invalidatedInputList.contains(bus)) return false;
+                if (bus instanceof ItemHandlerList list &&
+                        !invalidatedInputList.containsAll(list.getBackingHandlers())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.isWaitingForInputs();
+    }
+
     @Override
     protected void trySearchNewRecipe() {
         // do not run recipes when there are more than 5 maintenance problems
@@ -214,43 +246,42 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
 
     protected void trySearchNewRecipeDistinct() {
         long maxVoltage = getMaxVoltage();
-        Recipe currentRecipe;
         List<IItemHandlerModifiable> importInventory = getInputBuses();
-
-        // Our caching implementation
-        // This guarantees that if we get a recipe cache hit, our efficiency is no different from other machines
-        if (checkPreviousRecipeDistinct(importInventory.get(lastRecipeIndex)) && checkRecipe(previousRecipe)) {
-            currentRecipe = previousRecipe;
-            currentDistinctInputBus = importInventory.get(lastRecipeIndex);
-            if (prepareRecipeDistinct(currentRecipe)) {
-                // No need to cache the previous recipe here, as it is not null and matched by the current recipe,
-                // so it will always be the same
-                return;
-            }
-        }
-
-        // On a cache miss, our efficiency is much worse, as it will check
-        // each bus individually instead of the combined inventory all at once.
-        for (int i = 0; i < importInventory.size(); i++) {
+        if (importInventory.isEmpty()) return;
+        if (lastRecipeIndex >= importInventory.size()) lastRecipeIndex = 0;
+
+        // The bus which ran the last recipe is checked first, then the others in order.
+        // Each bus remembers the recipe it last ran, so only buses whose contents no longer match their recipe
+        // are searched, which keeps a cache hit as cheap as on other machines.
+        for (int j = -1; j < importInventory.size(); j++) {
+            if (j == lastRecipeIndex) continue;
+            int i = j < 0 ? lastRecipeIndex : j;
             IItemHandlerModifiable bus = importInventory.get(i);
             // Skip this bus if no recipe was found last time
             if (invalidatedInputList.contains(bus)) {
                 continue;
             }
-            // Look for a new recipe after a cache miss
-            currentRecipe = findRecipe(maxVoltage, bus, getInputTank(bus));
-            // Cache the current recipe, if one is found
-            if (currentRecipe != null && checkRecipe(currentRecipe)) {
-                this.previousRecipe = currentRecipe;
-                currentDistinctInputBus = bus;
-                if (prepareRecipeDistinct(currentRecipe)) {
-                    lastRecipeIndex = i;
-                    return;
+            IMultipleTankHandler tanks = getDistinctInputTank(bus);
+            Recipe currentRecipe = checkPreviousRecipeDistinct(bus, tanks, maxVoltage);
+            if (currentRecipe == null) {
+                // Look for a new recipe after a cache miss
+                currentRecipe = findRecipe(maxVoltage, bus, tanks);
+                if (currentRecipe == null) {
+                    // no valid recipe found, invalidate this bus
+                    invalidatedInputList.add(bus);
+                    continue;
+                }
+                if (!checkRecipe(currentRecipe)) {
+                    continue;
                 }
+                rememberRecipeDistinct(bus, tanks, currentRecipe);
             }
-            if (currentRecipe == null) {
-                // no valid recipe found, invalidate this bus
-                invalidatedInputList.add(bus);
+
+            this.previousRecipe = currentRecipe;
+            currentDistinctInputBus = bus;
+            if (prepareRecipeDistinct(currentRecipe)) {
+                lastRecipeIndex = i;
+                return;
             }
         }
     }
@@ -267,8 +298,55 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
         }
     }
 
+    /**
+     * @param bus        the bus to check
+     * @param tanks      the fluid inputs of the bus
+     * @param maxVoltage the maximum voltage of recipes
+     * @return the recipe the bus last ran, if it can still run from the bus, else null
+     */
+    protected @Nullable Recipe checkPreviousRecipeDistinct(@NotNull IItemHandlerModifiable bus,
+                                                           @NotNull IMultipleTankHandler tanks, long maxVoltage) {
+        PreviousRecipeMatch match = distinctMatches.get(bus);
+        if (match == null) return null;
+        Recipe recipe = match.getRecipe();
+        if (recipe == null || recipe.getEUt() > maxVoltage || !checkRecipe(recipe)) return null;
+        // the inputs the recipe used have only grown since it last matched
+        if (match.isValid(recipe, bus, tanks)) return recipe;
+
+        long stamp = InputChangeTracker.currentStamp();
+        if (recipe.matches(false, bus, tanks, matchScratch)) {
+            match.record(recipe, bus, tanks, matchScratch, stamp);
+            return recipe;
+        }
+        match.clear();
+        return null;
+    }
+
+    /**
+     * @param previousBus the bus to check
+     * @return if the bus can still run the recipe it last ran
+     * @deprecated use {@link #checkPreviousRecipeDistinct(IItemHandlerModifiable, IMultipleTankHandler, long)}
+     */
+    @ApiStatus.ScheduledForRemoval(inVersion = "2.9")
+    @Deprecated
     protected boolean checkPreviousRecipeDistinct(IItemHandlerModifiable previousBus) {
-        return previousRecipe != null && previousRecipe.matches(false, previousBus, getInputTank(previousBus));
+        return checkPreviousRecipeDistinct(previousBus, getDistinctInputTank(previousBus), getMaxVoltage()) != null;
+    }
+
+    private void rememberRecipeDistinct(@NotNull IItemHandlerModifiable bus, @NotNull IMultipleTankHandler tanks,
+                                        @NotNull Recipe recipe) {
+        long stamp = InputChangeTracker.currentStamp();
+        if (recipe.matches(false, bus, tanks, matchScratch)) {
+            distinctMatches.computeIfAbsent(bus, k -> new PreviousRecipeMatch())
+                    .record(recipe, bus, tanks, matchScratch, stamp);
+        }
+    }
+
+    /**
+     * @return the fluid inputs of a bus, kept until the logic is invalidated so remembered matches can refer to them
+     */
+    private @NotNull IMultipleTankHandler getDistinctInputTank(@NotNull IItemHandlerModifiable bus) {
+        return distinctTanks.computeIfAbsent(bus, k -> getInputTank(bus));
     }
 
     protected boolean prepareRecipeDistinct(Recipe recipe) {
@@ -329,6 +407,12 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
         }
     }
 
+    @Override
+    protected long getOverclockStateKey() {
+        // the maintenance hatch duration multiplier can be changed while the structure stays formed
+        return Double.doubleToLongBits(getMaintenanceValues().getSecond());
+    }
+
     @Override
     public long getMaximumOverclockVoltage() {
         IEnergyContainer energyContainer = getEnergyContainer();
@@ -3,8 +3,12 @@ package gregtech.api.capability.impl;
 import gregtech.api.capability.INotifiableHandler;
 import gregtech.api.metatileentity.MetaTileEntity;
 
+import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.FluidTank;
 
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,6 +16,7 @@ public class NotifiableFluidTank extends FluidTank implements INotifiableHandler
 
     List<MetaTileEntity> notifiableEntities = new ArrayList<>();
     private final boolean isExport;
+    private final InputChangeTracker changeTracker = new InputChangeTracker();
 
     public NotifiableFluidTank(int capacity, MetaTileEntity entityToNotify, boolean isExport) {
         super(capacity);
@@ -22,6 +27,7 @@ public class NotifiableFluidTank extends FluidTank implements INotifiableHandler
     @Override
     protected void onContentsChanged() {
         super.onContentsChanged();
+        changeTracker.onFluidChanged(getFluid());
         for (MetaTileEntity metaTileEntity : notifiableEntities) {
             if (metaTileEntity != null && metaTileEntity.isValid()) {
                 addToNotifiedList(metaTileEntity, this, isExport);
@@ -29,6 +35,19 @@ public class NotifiableFluidTank extends FluidTank implements INotifiableHandler
         }
     }
 
+    @Override
+    public void setFluid(@Nullable FluidStack fluid) {
+        super.setFluid(fluid);
+        changeTracker.onFluidChanged(fluid);
+    }
+
+    /**
+     * @return the tracker of increases and decreases of the tank
+     */
+    public @NotNull InputChangeTracker getChangeTracker() {
+        return changeTracker;
+    }
+
     @Override
     public void addNotifiableMetaTileEntity(MetaTileEntity metaTileEntity) {
         this.notifiableEntities.add(metaTileEntity);
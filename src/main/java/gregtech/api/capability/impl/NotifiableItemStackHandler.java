@@ -6,6 +6,8 @@ import gregtech.api.metatileentity.MetaTileEntity;
 
 import net.minecraftforge.items.IItemHandlerModifiable;
 
+import org.jetbrains.annotations.NotNull;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,6 +16,7 @@ public class NotifiableItemStackHandler extends GTItemStackHandler
 
     List<MetaTileEntity> notifiableEntities = new ArrayList<>();
     private final boolean isExport;
+    private final InputChangeTracker changeTracker = new InputChangeTracker();
 
     public NotifiableItemStackHandler(MetaTileEntity metaTileEntity, int slots, MetaTileEntity entityToNotify,
                                       boolean isExport) {
@@ -27,6 +30,7 @@ public class NotifiableItemStackHandler extends GTItemStackHandler
     @Override
     public void onContentsChanged(int slot) {
         super.onContentsChanged(slot);
+        changeTracker.onItemChanged(slot, getStackInSlot(slot));
         for (MetaTileEntity metaTileEntity : notifiableEntities) {
             if (metaTileEntity != null && metaTileEntity.isValid()) {
                 addToNotifiedList(metaTileEntity, this, isExport);
@@ -34,6 +38,13 @@ public class NotifiableItemStackHandler extends GTItemStackHandler
         }
     }
 
+    /**
+     * @return the tracker of increases and decreases of each slot
+     */
+    public @NotNull InputChangeTracker getChangeTracker() {
+        return changeTracker;
+    }
+
     @Override
     public void addNotifiableMetaTileEntity(MetaTileEntity metaTileEntity) {
         if (metaTileEntity == null) return;
@@ -0,0 +1,67 @@
+package gregtech.api.capability.impl;
+
+import gregtech.api.recipes.Recipe;
+import gregtech.api.recipes.logic.OCResult;
+import gregtech.api.recipes.properties.RecipePropertyStorage;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Remembers the last overclock calculated by a recipe logic, so starting the same recipe again under the same
+ * conditions does not overclock it again.
+ * <p>
+ * Recipes are compared by their EUt, duration and properties instead of by identity, so parallel recipes, which are
+ * rebuilt on every start, reuse the overclock as well.
+ */
+final class OverclockMemo {
+
+    private final OCResult result = new OCResult();
+
+    private @Nullable RecipePropertyStorage properties;
+    private long eut;
+    private int duration;
+    private int ocAmount;
+    private long maxVoltage;
+    private boolean perfectOC;
+    private long stateKey;
+
+    /**
+     * Copy the remembered overclock into the result, if it was calculated under the same conditions
+     *
+     * @return if the remembered overclock was copied
+     */
+    boolean restore(@NotNull Recipe recipe, int ocAmount, long maxVoltage, boolean perfectOC, long stateKey,
+                    @NotNull OCResult target) {
+        if (properties == null || recipe.getEUt() != eut || recipe.getDuration() != duration ||
+                this.ocAmount != ocAmount || this.maxVoltage != maxVoltage || this.perfectOC != perfectOC ||
+                this.stateKey != stateKey) {
+            return false;
+        }
+        RecipePropertyStorage recipeProperties = recipe.propertyStorage();
+        if (recipeProperties != properties && !recipeProperties.entrySet().equals(properties.entrySet())) {
+            return false;
+        }
+        target.init(result.eut(), result.duration(), result.parallel(), result.parallelEUt());
+        return true;
+    }
+
+    /**
+     * Remember an overclock
+     */
+    void record(@NotNull Recipe recipe, int ocAmount, long maxVoltage, boolean perfectOC, long stateKey,
+                @NotNull OCResult calculated) {
+        this.properties = recipe.propertyStorage();
+        this.eut = recipe.getEUt();
+        this.duration = recipe.getDuration();
+        this.ocAmount = ocAmount;
+        this.maxVoltage = maxVoltage;
+        this.perfectOC = perfectOC;
+        this.stateKey = stateKey;
+        result.init(calculated.eut(), calculated.duration(), calculated.parallel(), calculated.parallelEUt());
+    }
+
+    void clear() {
+        this.properties = null;
+    }
+}
@@ -0,0 +1,85 @@
+package gregtech.api.capability.impl;
+
+import gregtech.api.capability.IMultipleTankHandler;
+import gregtech.api.recipes.Recipe;
+import gregtech.api.recipes.RecipeMatchScratch;
+
+import net.minecraftforge.items.IItemHandlerModifiable;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Remembers the slots and tanks a recipe matched against, so the match can be reused until one of them decreases.
+ * Increases of any slot, and decreases of slots the recipe did not use, cannot make the recipe stop matching.
+ */
+final class PreviousRecipeMatch {
+
+    private final IntArrayList itemSlots = new IntArrayList();
+    private final IntArrayList fluidTanks = new IntArrayList();
+
+    private @Nullable Recipe recipe;
+    private @Nullable IItemHandlerModifiable inputs;
+    private @Nullable IMultipleTankHandler fluidInputs;
+    private int slotCount;
+    private int tankCount;
+    private long stamp;
+
+    /**
+     * Remember a successful match
+     *
+     * @param recipe      the recipe which matched
+     * @param inputs      the item inputs it matched against
+     * @param fluidInputs the fluid inputs it matched against
+     * @param scratch     the state used for matching
+     * @param stamp       the {@link InputChangeTracker#currentStamp()} taken before matching
+     */
+    void record(@NotNull Recipe recipe, @NotNull IItemHandlerModifiable inputs,
+                @NotNull IMultipleTankHandler fluidInputs, @NotNull RecipeMatchScratch scratch, long stamp) {
+        this.recipe = recipe;
+        this.inputs = inputs;
+        this.fluidInputs = fluidInputs;
+        this.slotCount = inputs.getSlots();
+        this.tankCount = fluidInputs.getTanks();
+        this.stamp = stamp;
+        itemSlots.clear();
+        for (int i = 0; i < slotCount; i++) {
+            if (scratch.isItemSlotUsed(i)) itemSlots.add(i);
+        }
+        fluidTanks.clear();
+        for (int i = 0; i < tankCount; i++) {
+            if (scratch.isFluidTankUsed(i)) fluidTanks.add(i);
+        }
+    }
+
+    /**
+     * @return if the remembered match of the recipe against the inputs still holds
+     */
+    boolean isValid(@NotNull Recipe recipe, @NotNull IItemHandlerModifiable inputs,
+                    @NotNull IMultipleTankHandler fluidInputs) {
+        if (this.recipe != recipe || this.inputs != inputs || this.fluidInputs != fluidInputs) return false;
+        if (inputs.getSlots() != slotCount || fluidInputs.getTanks() != tankCount) return false;
+        for (int i = 0; i < itemSlots.size(); i++) {
+            if (InputChangeTracker.hasDecreasedSince(inputs, itemSlots.getInt(i), stamp)) return false;
+        }
+        for (int i = 0; i < fluidTanks.size(); i++) {
+            if (InputChangeTracker.hasDecreasedSince(fluidInputs, fluidTanks.getInt(i), stamp)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the remembered recipe, or null if nothing is remembered
+     */
+    @Nullable
+    Recipe getRecipe() {
+        return recipe;
+    }
+
+    void clear() {
+        this.recipe = null;
+        this.inputs = null;
+        this.fluidInputs = null;
+    }
+}
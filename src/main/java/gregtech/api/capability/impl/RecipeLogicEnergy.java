@@ -29,6 +29,11 @@ public class RecipeLogicEnergy extends AbstractRecipeLogic {
         return energyContainer.get();
     }
 
+    @Override
+    protected boolean canDrawEnergyAhead() {
+        return consumesEnergy();
+    }
+
     @Override
     protected void runOverclockingLogic(@NotNull OCParams ocParams, @NotNull OCResult ocResult,
                                         @NotNull RecipePropertyStorage propertyStorage, long maxVoltage) {
@@ -0,0 +1,99 @@
+package gregtech.api.metatileentity;
+
+import gregtech.api.GTValues;
+import gregtech.api.util.TileEntitySleepHandler;
+
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Removes idle machines from the tick list of their world, and adds them back when they are woken up.
+ * <p>
+ * Machines ticked by GregTech instead of their world are only marked as asleep.
+ *
+ * @see MetaTileEntity#canSleep()
+ * @see MetaTileEntity#wakeUp()
+ * @see TileEntitySleepHandler
+ */
+@EventBusSubscriber(modid = GTValues.MODID)
+public final class MachineSleepHandler {
+
+    private static final TileEntitySleepHandler<MetaTileEntityHolder> HANDLER =
+            new TileEntitySleepHandler<MetaTileEntityHolder>() {
+
+                @Override
+                protected boolean isAsleep(@NotNull MetaTileEntityHolder holder) {
+                    return holder.asleep;
+                }
+
+                @Override
+                protected void setAsleep(@NotNull MetaTileEntityHolder holder, boolean asleep) {
+                    holder.asleep = asleep;
+                }
+
+                @Override
+                protected boolean isTickedByWorld(@NotNull MetaTileEntityHolder holder) {
+                    return !holder.tickManaged;
+                }
+
+                @Override
+                protected void onWakeUp(@NotNull MetaTileEntityHolder holder) {
+                    MetaTileEntity metaTileEntity = holder.getMetaTileEntity();
+                    if (metaTileEntity != null) {
+                        metaTileEntity.onWakeUp();
+                    }
+                }
+            };
+
+    private MachineSleepHandler() {}
+
+    /**
+     * Request a machine to stop ticking at the end of the current tick
+     *
+     * @param holder the holder of the machine
+     */
+    static void requestSleep(@NotNull MetaTileEntityHolder holder) {
+        HANDLER.requestSleep(holder);
+    }
+
+    /**
+     * Make a machine tick again, if it is asleep or about to fall asleep
+     *
+     * @param holder the holder of the machine
+     */
+    static void wakeUp(@NotNull MetaTileEntityHolder holder) {
+        HANDLER.wakeUp(holder);
+    }
+
+    /**
+     * Forget a machine which is being removed from the world
+     *
+     * @param holder the holder of the machine
+     */
+    static void forget(@NotNull MetaTileEntityHolder holder) {
+        HANDLER.forget(holder);
+    }
+
+    /**
+     * @param world the world
+     * @return the amount of machines in the world which are not ticking
+     */
+    public static int getSleepingCount(@NotNull World world) {
+        return HANDLER.getSleepingCount(world);
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        HANDLER.onWorldUnload(event.getWorld());
+    }
+
+    @SubscribeEvent
+    public static void onWorldTick(TickEvent.WorldTickEvent event) {
+        HANDLER.onWorldTick(event.world, event.phase);
+    }
+}
@@ -0,0 +1,179 @@
+package gregtech.api.metatileentity;
+
+import gregtech.api.GTValues;
+import gregtech.api.util.GTLog;
+
+import net.minecraft.crash.CrashReport;
+import net.minecraft.crash.CrashReportCategory;
+import net.minecraft.util.ReportedException;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.ForgeModContainer;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Ticks the MetaTileEntities of a world in place of the tick list of the world.
+ * <p>
+ * Machines are grouped by their class, and each group is kept in an array sorted by chunk, so machines of the same
+ * kind which are close to each other tick one after another. Machines are taken over from the tick list of the world
+ * at the end of a tick, after they ticked there once, and are ticked at the end of every following tick. Machines
+ * in unloaded chunks are dropped when their chunk unloads, so ticking does not need to check if they are loaded.
+ *
+ * @see gregtech.common.ConfigHolder.MachineOptions#centralizedMachineTicking
+ */
+@EventBusSubscriber(modid = GTValues.MODID)
+public final class MachineTickManager {
+
+    private static final Map<World, MachineTickManager> managersPerWorld = new HashMap<>();
+
+    private static final Comparator<MetaTileEntityHolder> CHUNK_ORDER = Comparator
+            .comparingInt((MetaTileEntityHolder holder) -> holder.getPos().getX() >> 4)
+            .thenComparingInt(holder -> holder.getPos().getZ() >> 4)
+            .thenComparingLong(holder -> holder.getPos().toLong());
+
+    private final Map<Class<?>, Group> groups = new Object2ObjectLinkedOpenHashMap<>();
+    private final ReferenceLinkedOpenHashSet<MetaTileEntityHolder> pendingTakeover =
+            new ReferenceLinkedOpenHashSet<>();
+
+    private MachineTickManager() {}
+
+    /**
+     * Take over ticking a machine from the tick list of its world at the end of the current tick
+     *
+     * @param holder the holder of the machine
+     */
+    static void takeOver(@NotNull MetaTileEntityHolder holder) {
+        World world = holder.getWorld();
+        if (world == null || world.isRemote) return;
+        managersPerWorld.computeIfAbsent(world, k -> new MachineTickManager()).pendingTakeover.add(holder);
+    }
+
+    /**
+     * @param world the world
+     * @return the amount of machines in the world ticked by the manager
+     */
+    public static int getManagedCount(@NotNull World world) {
+        MachineTickManager manager = managersPerWorld.get(world);
+        if (manager == null) return 0;
+        int count = 0;
+        for (Group group : manager.groups.values()) {
+            count += group.size;
+        }
+        return count;
+    }
+
+    private void applyTakeovers(@NotNull World world) {
+        if (pendingTakeover.isEmpty()) return;
+        world.tickableTileEntities.removeAll(pendingTakeover);
+        for (MetaTileEntityHolder holder : pendingTakeover) {
+            BlockPos pos = holder.getPos();
+            MetaTileEntity metaTileEntity = holder.getMetaTileEntity();
+            if (holder.isInvalid() || metaTileEntity == null || !world.isBlockLoaded(pos) ||
+                    world.getTileEntity(pos) != holder) {
+                continue;
+            }
+            holder.tickManaged = true;
+            groups.computeIfAbsent(metaTileEntity.getClass(), k -> new Group()).add(holder);
+        }
+        pendingTakeover.clear();
+    }
+
+    private void tick(@NotNull World world) {
+        for (Group group : groups.values()) {
+            group.tick(world);
+        }
+    }
+
+    private static void handleCrash(@NotNull World world, @NotNull MetaTileEntityHolder holder,
+                                    @NotNull Throwable throwable) {
+        // mirrors the handling of ticking block entities in World#updateEntities()
+        CrashReport report = CrashReport.makeCrashReport(throwable, "Ticking block entity");
+        CrashReportCategory category = report.makeCategory("Block entity being ticked");
+        holder.addInfoToCrashReport(category);
+        if (!ForgeModContainer.removeErroringTileEntities) {
+            throw new ReportedException(report);
+        }
+        GTLog.logger.fatal("{}", report.getCompleteReport());
+        holder.invalidate();
+        world.removeTileEntity(holder.getPos());
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        MachineTickManager manager = managersPerWorld.remove(event.getWorld());
+        if (manager == null) return;
+        for (Group group : manager.groups.values()) {
+            for (int i = 0; i < group.size; i++) {
+                group.holders[i].tickManaged = false;
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldTick(TickEvent.WorldTickEvent event) {
+        if (event.world.isRemote || event.phase != TickEvent.Phase.END) return;
+        MachineTickManager manager = managersPerWorld.get(event.world);
+        if (manager == null) return;
+        event.world.profiler.startSection("gregtech_machines");
+        manager.tick(event.world);
+        // machines taken over this tick were already ticked by the world
+        manager.applyTakeovers(event.world);
+        event.world.profiler.endSection();
+    }
+
+    /**
+     * The machines of a single class, packed into an array
+     */
+    private static final class Group {
+
+        private MetaTileEntityHolder[] holders = new MetaTileEntityHolder[16];
+        private int size;
+        private boolean sorted = true;
+
+        private void add(@NotNull MetaTileEntityHolder holder) {
+            if (size == holders.length) {
+                holders = Arrays.copyOf(holders, size * 2);
+            }
+            holders[size++] = holder;
+            sorted = false;
+        }
+
+        private void tick(@NotNull World world) {
+            if (!sorted) {
+                Arrays.sort(holders, 0, size, CHUNK_ORDER);
+                sorted = true;
+            }
+
+            // machines removed while ticking are skipped, and dropped when the array is compacted
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                MetaTileEntityHolder holder = holders[i];
+                if (!holder.tickManaged) continue;
+                if (!holder.asleep) {
+                    try {
+                        holder.update();
+                    } catch (Throwable throwable) {
+                        handleCrash(world, holder, throwable);
+                    }
+                }
+                if (holder.tickManaged) {
+                    holders[kept++] = holder;
+                }
+            }
+            Arrays.fill(holders, kept, size, null);
+            size = kept;
+        }
+    }
+}
@@ -32,6 +32,7 @@ import gregtech.api.util.GTLog;
 import gregtech.api.util.GTTransferUtils;
 import gregtech.api.util.GTUtility;
 import gregtech.api.util.Mods;
+import gregtech.api.util.TickProfiler;
 import gregtech.client.renderer.texture.Textures;
 import gregtech.client.utils.BloomEffectUtil;
 import gregtech.client.utils.RenderUtil;
@@ -59,6 +60,7 @@ import net.minecraft.util.BlockRenderLayer;
 import net.minecraft.util.EnumActionResult;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumHand;
+import net.minecraft.util.ITickable;
 import net.minecraft.util.NonNullList;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.SoundEvent;
@@ -209,6 +211,7 @@ public abstract class MetaTileEntity implements ISyncedTileEntity, CoverHolder,
     public void markDirty() {
         if (holder != null) {
             holder.markAsDirty();
+            wakeUp();
         }
     }
 
@@ -402,6 +405,7 @@ public abstract class MetaTileEntity implements ISyncedTileEntity, CoverHolder,
                 this.notifiedFluidInputList.add((IFluidHandler) input);
             }
         }
+        wakeUp();
     }
 
     public void addNotifiedOutput(Object output) {
@@ -415,6 +419,7 @@ public abstract class MetaTileEntity implements ISyncedTileEntity, CoverHolder,
                 this.notifiedFluidOutputList.add((IFluidHandler) output);
             }
         }
+        wakeUp();
     }
 
     /**
@@ -854,14 +859,25 @@ public abstract class MetaTileEntity implements ISyncedTileEntity, CoverHolder,
             lastTick = currentTick;
         }
 
+        boolean profile = TickProfiler.isEnabled() && !getWorld().isRemote;
         for (MTETrait mteTrait : this.mteTraits.values()) {
             if (shouldUpdate(mteTrait)) {
-                mteTrait.update();
+                if (profile) {
+                    long startTime = System.nanoTime();
+                    mteTrait.update();
+                    TickProfiler.record(TickProfiler.TRAITS, mteTrait.getName(), System.nanoTime() - startTime);
+                } else {
+                    mteTrait.update();
+                }
             }
         }
 
         if (!getWorld().isRemote) {
-            updateCovers();
+            if (profile) {
+                updateCoversProfiled();
+            } else {
+                updateCovers();
+            }
         } else {
             updateSound();
         }
@@ -870,6 +886,55 @@ public abstract class MetaTileEntity implements ISyncedTileEntity, CoverHolder,
         }
     }
 
+    private void updateCoversProfiled() {
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            Cover cover = getCoverAtSide(facing);
+            if (cover instanceof ITickable tickable) {
+                long startTime = System.nanoTime();
+                tickable.update();
+                TickProfiler.record(TickProfiler.COVERS, cover.getDefinition().getResourceLocation(),
+                        System.nanoTime() - startTime);
+            }
+        }
+    }
+
+    /**
+     * Checked periodically on the server when {@link ConfigHolder.MachineOptions#sleepIdleMachines} is enabled.
+     * A machine which can sleep is removed from the tick list of its world, until it is woken up by a change to its
+     * inventories, energy, covers, neighbors or redstone inputs.
+     *
+     * @return if this machine has nothing to do until one of its inputs changes
+     */
+    public boolean canSleep() {
+        return false;
+    }
+
+    /**
+     * Make this machine tick again if it is sleeping
+     *
+     * @see #canSleep()
+     */
+    public void wakeUp() {
+        if (holder instanceof MetaTileEntityHolder mteHolder) {
+            mteHolder.wakeUp();
+        }
+    }
+
+    /**
+     * Called on the server when this machine starts ticking again after sleeping
+     */
+    protected void onWakeUp() {}
+
+    /**
+     * @return if any cover on this machine needs to be ticked
+     */
+    protected boolean hasTickableCovers() {
+        for (Cover cover : covers.values()) {
+            if (cover instanceof ITickable) return true;
+        }
+        return false;
+    }
+
     /**
      * @return Whether this machine is allowed to be tick accelerated by external means. This does NOT
      *         apply to World Accelerators from GT, those will never work on machines. This refers to effects
@@ -10,6 +10,7 @@ import gregtech.api.metatileentity.registry.MTERegistry;
 import gregtech.api.util.GTLog;
 import gregtech.api.util.Mods;
 import gregtech.api.util.TextFormattingUtil;
+import gregtech.api.util.TickProfiler;
 import gregtech.client.particle.GTNameTagParticle;
 import gregtech.client.particle.GTParticleManager;
 import gregtech.common.ConfigHolder;
@@ -76,6 +77,8 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
     private final int[] timeStatistics = new int[TRACKED_TICKS];
     private int timeStatisticsIndex = 0;
     private int lagWarningCount = 0;
+    boolean asleep = false;
+    boolean tickManaged = false;
     protected static final DecimalFormat tricorderFormat = new DecimalFormat("#.#########");
 
     public MetaTileEntity getMetaTileEntity() {
@@ -174,6 +177,8 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
 
     @Override
     public void invalidate() {
+        MachineSleepHandler.forget(this);
+        this.tickManaged = false;
         if (metaTileEntity != null) {
             metaTileEntity.invalidate();
         }
@@ -199,6 +204,9 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
 
     @Override
     public void update() {
+        // something outside the world tick list may still tick a sleeping machine
+        if (asleep) return;
+
         long tickTime = System.nanoTime();
         if (metaTileEntity != null) {
             metaTileEntity.update();
@@ -221,17 +229,47 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
                 timeStatistics[timeStatisticsIndex] = (int) tickTime;
                 timeStatisticsIndex = (timeStatisticsIndex + 1) % timeStatistics.length;
             }
+            if (TickProfiler.isEnabled()) {
+                TickProfiler.recordMachine(world, getPos(), metaTileEntity.getClass(), tickTime);
+            }
             if (tickTime > 100_000_000L && getMetaTileEntity().doTickProfileMessage() && lagWarningCount++ < 10)
                 GTLog.logger.warn("WARNING: Possible Lag Source at [" + getPos().getX() + ", " + getPos().getY() +
                         ", " + getPos().getZ() + "] in Dimension " + world.provider.getDimension() + " with " +
                         tickTime + "ns caused by an instance of " + getMetaTileEntity().getClass());
         }
 
+        if (!world.isRemote && ConfigHolder.machines.sleepIdleMachines && metaTileEntity != null &&
+                getOffsetTimer() % 20 == 0 && metaTileEntity.isValid() && metaTileEntity.canSleep()) {
+            MachineSleepHandler.requestSleep(this);
+        }
+
+        if (!world.isRemote && !tickManaged && ConfigHolder.machines.centralizedMachineTicking &&
+                metaTileEntity != null) {
+            MachineTickManager.takeOver(this);
+        }
+
         // increment only after current tick, so meta tile entities will get first tick as timer == 0
         // and update their settings which depend on getTimer() % N properly
         super.update();
     }
 
+    /**
+     * Make the machine tick again if it is sleeping
+     *
+     * @see MetaTileEntity#canSleep()
+     */
+    public void wakeUp() {
+        if (world != null && !world.isRemote) {
+            MachineSleepHandler.wakeUp(this);
+        }
+    }
+
+    @Override
+    public void onNeighborChanged(@NotNull EnumFacing facing) {
+        super.onNeighborChanged(facing);
+        wakeUp();
+    }
+
     public ArrayList<ITextComponent> getDebugInfo(EntityPlayer player, int logLevel) {
         ArrayList<ITextComponent> list = new ArrayList<>();
         if (logLevel > 2) {
@@ -386,6 +424,8 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
     @Override
     public void onChunkUnload() {
         super.onChunkUnload();
+        MachineSleepHandler.forget(this);
+        this.tickManaged = false;
         if (metaTileEntity != null) {
             metaTileEntity.onUnload();
         }
@@ -218,6 +218,23 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity
         }
     }
 
+    @Override
+    public boolean canSleep() {
+        if (!super.canSleep() || !chargerInventory.getStackInSlot(0).isEmpty()) return false;
+        // auto output keeps pushing the outputs out every few ticks
+        if (isAutoOutputItems()) {
+            for (int i = 0; i < exportItems.getSlots(); i++) {
+                if (!exportItems.getStackInSlot(i).isEmpty()) return false;
+            }
+        }
+        if (isAutoOutputFluids()) {
+            for (int i = 0; i < exportFluids.getTanks(); i++) {
+                if (!GTUtility.isEmpty(exportFluids.getTankAt(i).getFluid())) return false;
+            }
+        }
+        return true;
+    }
+
     @SideOnly(Side.CLIENT)
     @Override
     public void randomDisplayTick() {
@@ -96,6 +96,14 @@ public abstract class WorkableTieredMetaTileEntity extends TieredMetaTileEntity
         return 2L;
     }
 
+    @Override
+    public boolean canSleep() {
+        if (workable == null || !workable.isIdle() || hasTickableCovers()) return false;
+        // generators push their stored energy out every tick
+        return energyContainer.getOutputAmperage() == 0 ||
+                energyContainer.getEnergyStored() < energyContainer.getOutputVoltage();
+    }
+
     @Override
     public void renderMetaTileEntity(CCRenderState renderState, Matrix4 translation, IVertexOperation[] pipeline) {
         super.renderMetaTileEntity(renderState, translation, pipeline);
@@ -116,6 +116,12 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
         }
     }
 
+    @Override
+    protected void onWakeUp() {
+        // the structure is not checked while sleeping
+        checkStructurePattern();
+    }
+
     /**
      * Called when the multiblock is formed and validation predicate is matched
      */
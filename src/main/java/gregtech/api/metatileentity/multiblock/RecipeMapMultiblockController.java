@@ -110,8 +110,9 @@ public abstract class RecipeMapMultiblockController extends MultiblockWithDispla
     @Override
     public void invalidateStructure() {
         super.invalidateStructure();
-        resetTileAbilities();
+        // return the energy drawn ahead to the energy hatches before forgetting them
         this.recipeMapWorkable.invalidate();
+        resetTileAbilities();
     }
 
     @Override
@@ -126,6 +127,11 @@ public abstract class RecipeMapMultiblockController extends MultiblockWithDispla
         return isStructureFormed() && recipeMapWorkable.isActive() && recipeMapWorkable.isWorkingEnabled();
     }
 
+    @Override
+    public boolean canSleep() {
+        return isStructureFormed() && recipeMapWorkable.isIdle() && !hasTickableCovers();
+    }
+
     protected void initializeAbilities() {
         this.inputInventory = new ItemHandlerList(getAbilities(MultiblockAbility.IMPORT_ITEMS));
         this.inputFluidInventory = new FluidTankList(allowSameFluidFillForOutputs(),
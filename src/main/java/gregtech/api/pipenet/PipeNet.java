@@ -66,6 +66,17 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
      */
     public void onPipeConnectionsUpdate() {}
 
+    /**
+     * Is called when the connection of a single pipe to one of its sides changes. Calls
+     * {@link #onPipeConnectionsUpdate()} by default.
+     *
+     * @param nodePos the position of the pipe
+     * @param side    the side of the pipe which changed
+     */
+    public void onPipeConnectionUpdate(BlockPos nodePos, EnumFacing side) {
+        onPipeConnectionsUpdate();
+    }
+
     public void onNeighbourUpdate(BlockPos fromPos) {}
 
     /**
@@ -73,6 +84,15 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
      */
     public void onChunkUnload() {}
 
+    /**
+     * Is called when a Pipe TE in the PipeNet is unloaded. Calls {@link #onChunkUnload()} by default.
+     *
+     * @param nodePos the position of the unloaded pipe
+     */
+    public void onPipeUnload(BlockPos nodePos) {
+        onChunkUnload();
+    }
+
     public Map<BlockPos, Node<NodeDataType>> getAllNodes() {
         return unmodifiableNodeByBlockPos;
     }
@@ -0,0 +1,116 @@
+package gregtech.api.pipenet;
+
+import gregtech.api.pipenet.tile.IPipeTile;
+
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The cached routes from a single source in a pipe net, and the positions of the pipes they pass through.
+ * <p>
+ * Nets keep one of these for each source they walked, so a change to a pipe only has to drop the sources routed
+ * through it, and routes to a single destination can be added or removed without walking the net again. The list
+ * of routes is replaced instead of modified, as it may be iterated while the net changes.
+ *
+ * @param <R> the type of the routes
+ */
+public class SourceRoutes<R extends IRoutePath<?>> {
+
+    private final LongSet pipes = new LongOpenHashSet();
+    private final Function<R, ? extends IPipeTile<?, ?>[]> pathGetter;
+    private List<R> routes;
+
+    /**
+     * @param routes     the routes from the source
+     * @param pathGetter the function returning the pipes a route passes through
+     */
+    public SourceRoutes(@NotNull List<R> routes, @NotNull Function<R, ? extends IPipeTile<?, ?>[]> pathGetter) {
+        this.routes = routes;
+        this.pathGetter = pathGetter;
+        for (R route : routes) {
+            addPipes(route);
+        }
+    }
+
+    /**
+     * @return the routes from the source
+     */
+    @NotNull
+    public List<R> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * @param positions the positions of pipes
+     * @return if any of the routes passes through one of the pipes
+     */
+    public boolean dependsOnAny(@NotNull Collection<BlockPos> positions) {
+        for (BlockPos pos : positions) {
+            if (pipes.contains(pos.toLong())) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param pipePos the position of the pipe
+     * @param side    the side of the pipe facing the destination
+     * @return the route to the destination on the side of the pipe, or null if there is none
+     */
+    @Nullable
+    public R getRouteTo(@NotNull BlockPos pipePos, @NotNull EnumFacing side) {
+        for (R route : routes) {
+            if (isRouteTo(route, pipePos, side)) return route;
+        }
+        return null;
+    }
+
+    /**
+     * @param pipePos the position of the pipe
+     * @param side    the side of the pipe facing the destination
+     */
+    public void removeRoutesTo(@NotNull BlockPos pipePos, @NotNull EnumFacing side) {
+        List<R> remaining = new ArrayList<>(routes);
+        remaining.removeIf(route -> isRouteTo(route, pipePos, side));
+        this.routes = remaining;
+    }
+
+    /**
+     * Add a route, after all routes which do not come after it in the order
+     *
+     * @param route the route to add
+     * @param order the order the routes are sorted in
+     */
+    public void addRoute(@NotNull R route, @NotNull Comparator<? super R> order) {
+        List<R> added = new ArrayList<>(routes.size() + 1);
+        added.addAll(routes);
+        int index = added.size();
+        while (index > 0 && order.compare(added.get(index - 1), route) > 0) {
+            index--;
+        }
+        added.add(index, route);
+        this.routes = added;
+        addPipes(route);
+    }
+
+    private void addPipes(@NotNull R route) {
+        for (IPipeTile<?, ?> pipe : pathGetter.apply(route)) {
+            pipes.add(pipe.getPipePos().toLong());
+        }
+    }
+
+    private static boolean isRouteTo(@NotNull IRoutePath<?> route, @NotNull BlockPos pipePos,
+                                     @NotNull EnumFacing side) {
+        return route.getTargetFacing() == side && route.getTargetPipePos().equals(pipePos);
+    }
+}
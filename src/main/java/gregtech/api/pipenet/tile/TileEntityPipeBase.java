@@ -271,7 +271,7 @@ public abstract class TileEntityPipeBase<PipeType extends Enum<PipeType> & IPipe
             WorldPipeNet<?, ?> worldPipeNet = getPipeBlock().getWorldPipeNet(getWorld());
             PipeNet<?> net = worldPipeNet.getNetFromPos(pos);
             if (net != null) {
-                net.onPipeConnectionsUpdate();
+                net.onPipeConnectionUpdate(pos, side);
             }
         }
     }
@@ -552,7 +552,7 @@ public abstract class TileEntityPipeBase<PipeType extends Enum<PipeType> & IPipe
             WorldPipeNet<?, ?> worldPipeNet = getPipeBlock().getWorldPipeNet(getWorld());
             PipeNet<?> net = worldPipeNet.getNetFromPos(pos);
             if (net != null) {
-                net.onChunkUnload();
+                net.onPipeUnload(pos);
             }
         }
     }
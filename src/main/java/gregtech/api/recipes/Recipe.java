@@ -5,6 +5,7 @@ import gregtech.api.recipes.category.GTRecipeCategory;
 import gregtech.api.recipes.chance.boost.ChanceBoostFunction;
 import gregtech.api.recipes.chance.output.ChancedOutputList;
 import gregtech.api.recipes.chance.output.ChancedOutputLogic;
+import gregtech.api.recipes.chance.output.RepeatedEntryList;
 import gregtech.api.recipes.chance.output.impl.ChancedFluidOutput;
 import gregtech.api.recipes.chance.output.impl.ChancedItemOutput;
 import gregtech.api.recipes.ingredients.GTRecipeInput;
@@ -186,50 +187,64 @@ public class Recipe {
 
     public final boolean matches(boolean consumeIfSuccessful, IItemHandlerModifiable inputs,
                                  IMultipleTankHandler fluidInputs) {
-        Pair<Boolean, int[]> fluids = null;
-        Pair<Boolean, int[]> items = null;
+        RecipeMatchScratch scratch = RecipeMatchScratch.acquire();
+        try {
+            return matches(consumeIfSuccessful, inputs, fluidInputs, scratch);
+        } finally {
+            scratch.release();
+        }
+    }
 
-        if (fluidInputs.getFluidTanks().size() > 0) {
-            fluids = matchesFluid(GTUtility.fluidHandlerToList(fluidInputs));
-            if (!fluids.getKey()) {
+    /**
+     * Verify if the recipe matches the given inputs, without allocating.
+     *
+     * @param consumeIfSuccessful if true will consume the inputs of the recipe.
+     * @param inputs              the item inputs
+     * @param fluidInputs         the fluid inputs
+     * @param scratch             the state to use for matching
+     * @return true if the recipe matches the given inputs false otherwise.
+     */
+    public final boolean matches(boolean consumeIfSuccessful, @NotNull IItemHandlerModifiable inputs,
+                                 @NotNull IMultipleTankHandler fluidInputs, @NotNull RecipeMatchScratch scratch) {
+        int fluidsIndexed = -1;
+        int itemsIndexed = -1;
+
+        if (fluidInputs.getTanks() > 0) {
+            fluidsIndexed = matchesFluid(fluidInputs, null, scratch);
+            if (fluidsIndexed == -1) {
                 return false;
             }
         }
 
         if (inputs.getSlots() > 0) {
-            items = matchesItems(GTUtility.itemHandlerToList(inputs));
-            if (!items.getKey()) {
+            itemsIndexed = matchesItems(inputs, null, scratch);
+            if (itemsIndexed == -1) {
                 return false;
             }
         }
 
         if (consumeIfSuccessful) {
-            if (fluids != null) {
-                int[] fluidAmountInTank = fluids.getValue();
-                var backedList = fluidInputs.getFluidTanks();
-
-                for (int i = 0; i < fluidAmountInTank.length; i++) {
-                    var tank = backedList.get(i);
-                    FluidStack fluidStack = tank.getFluid();
-                    int fluidAmount = fluidAmountInTank[i];
+            int[] fluidAmountInTank = scratch.getFluidAmounts(0);
+            for (int i = 0; i < fluidsIndexed; i++) {
+                var tank = fluidInputs.getTankAt(i);
+                FluidStack fluidStack = tank.getFluid();
+                int fluidAmount = fluidAmountInTank[i];
 
-                    if (fluidStack == null || fluidStack.amount == fluidAmount) {
-                        continue;
-                    }
-                    tank.drain(Math.abs(fluidAmount - fluidStack.amount), true);
+                if (fluidStack == null || fluidStack.amount == fluidAmount) {
+                    continue;
                 }
+                tank.drain(Math.abs(fluidAmount - fluidStack.amount), true);
             }
-            if (items != null) {
-                int[] itemAmountInSlot = items.getValue();
-                for (int i = 0; i < itemAmountInSlot.length; i++) {
-                    ItemStack itemInSlot = inputs.getStackInSlot(i);
-                    int itemAmount = itemAmountInSlot[i];
 
-                    if (itemInSlot.isEmpty() || itemInSlot.getCount() == itemAmount) {
-                        continue;
-                    }
-                    inputs.extractItem(i, Math.abs(itemAmount - itemInSlot.getCount()), false);
+            int[] itemAmountInSlot = scratch.getItemAmounts(0);
+            for (int i = 0; i < itemsIndexed; i++) {
+                ItemStack itemInSlot = inputs.getStackInSlot(i);
+                int itemAmount = itemAmountInSlot[i];
+
+                if (itemInSlot.isEmpty() || itemInSlot.getCount() == itemAmount) {
+                    continue;
                 }
+                inputs.extractItem(i, Math.abs(itemAmount - itemInSlot.getCount()), false);
             }
         }
 
@@ -248,52 +263,70 @@ public class Recipe {
         if (inputs.size() == 0 && fluidInputs.size() == 0)
             return false;
 
-        Pair<Boolean, int[]> fluids = matchesFluid(fluidInputs);
-        if (!fluids.getKey()) {
-            return false;
-        }
+        RecipeMatchScratch scratch = RecipeMatchScratch.acquire();
+        try {
+            int fluidsIndexed = matchesFluid(null, fluidInputs, scratch);
+            if (fluidsIndexed == -1) {
+                return false;
+            }
 
-        Pair<Boolean, int[]> items = matchesItems(inputs);
-        if (!items.getKey()) {
-            return false;
-        }
+            int itemsIndexed = matchesItems(null, inputs, scratch);
+            if (itemsIndexed == -1) {
+                return false;
+            }
 
-        if (consumeIfSuccessful) {
-            int[] fluidAmountInTank = fluids.getValue();
+            if (consumeIfSuccessful) {
+                int[] fluidAmountInTank = scratch.getFluidAmounts(0);
 
-            for (int i = 0; i < fluidAmountInTank.length; i++) {
-                FluidStack fluidStack = fluidInputs.get(i);
-                int fluidAmount = fluidAmountInTank[i];
-                if (fluidStack == null || fluidStack.amount == fluidAmount)
-                    continue;
-                fluidStack.amount = fluidAmount;
-                if (fluidStack.amount == 0)
-                    fluidInputs.set(i, null);
-            }
+                for (int i = 0; i < fluidsIndexed; i++) {
+                    FluidStack fluidStack = fluidInputs.get(i);
+                    int fluidAmount = fluidAmountInTank[i];
+                    if (fluidStack == null || fluidStack.amount == fluidAmount)
+                        continue;
+                    fluidStack.amount = fluidAmount;
+                    if (fluidStack.amount == 0)
+                        fluidInputs.set(i, null);
+                }
 
-            int[] itemAmountInSlot = items.getValue();
+                int[] itemAmountInSlot = scratch.getItemAmounts(0);
 
-            for (int i = 0; i < itemAmountInSlot.length; i++) {
-                ItemStack itemInSlot = inputs.get(i);
-                int itemAmount = itemAmountInSlot[i];
-                if (itemInSlot.isEmpty() || itemInSlot.getCount() == itemAmount)
-                    continue;
-                itemInSlot.setCount(itemAmountInSlot[i]);
+                for (int i = 0; i < itemsIndexed; i++) {
+                    ItemStack itemInSlot = inputs.get(i);
+                    int itemAmount = itemAmountInSlot[i];
+                    if (itemInSlot.isEmpty() || itemInSlot.getCount() == itemAmount)
+                        continue;
+                    itemInSlot.setCount(itemAmountInSlot[i]);
+                }
             }
-        }
 
-        return true;
+            return true;
+        } finally {
+            scratch.release();
+        }
     }
 
-    private Pair<Boolean, int[]> matchesItems(List<ItemStack> inputs) {
-        int[] itemAmountInSlot = new int[inputs.size()];
+    /**
+     * Check the item inputs, from either a handler or a list, storing the amounts left in each slot in the scratch
+     * state.
+     *
+     * @param handler the item inputs, or null to use the list
+     * @param list    the item inputs, if the handler is null
+     * @param scratch the state to store the amounts in
+     * @return the amount of slots checked, or -1 if the inputs do not match
+     */
+    private int matchesItems(@Nullable IItemHandlerModifiable handler, @Nullable List<ItemStack> list,
+                             @NotNull RecipeMatchScratch scratch) {
+        int size = handler != null ? handler.getSlots() : list.size();
+        int[] itemAmountInSlot = scratch.getItemAmounts(size);
+        scratch.clearUsedItemSlots(size);
         int indexed = 0;
 
         List<GTRecipeInput> gtRecipeInputs = this.inputs;
-        for (GTRecipeInput ingredient : gtRecipeInputs) {
+        for (int i = 0; i < gtRecipeInputs.size(); i++) {
+            GTRecipeInput ingredient = gtRecipeInputs.get(i);
             int ingredientAmount = ingredient.getAmount();
-            for (int j = 0; j < inputs.size(); j++) {
-                ItemStack inputStack = inputs.get(j);
+            for (int j = 0; j < size; j++) {
+                ItemStack inputStack = handler != null ? handler.getStackInSlot(j) : list.get(j);
 
                 if (j == indexed) {
                     itemAmountInSlot[j] = inputStack.isEmpty() ? 0 : inputStack.getCount();
@@ -302,29 +335,40 @@ public class Recipe {
 
                 if (inputStack.isEmpty() || !ingredient.acceptsStack(inputStack))
                     continue;
+                scratch.markItemSlotUsed(j);
                 int itemAmountToConsume = Math.min(itemAmountInSlot[j], ingredientAmount);
                 ingredientAmount -= itemAmountToConsume;
                 if (!ingredient.isNonConsumable()) itemAmountInSlot[j] -= itemAmountToConsume;
                 if (ingredientAmount == 0) break;
             }
             if (ingredientAmount > 0)
-                return Pair.of(false, itemAmountInSlot);
+                return -1;
         }
-        int[] retItemAmountInSlot = new int[indexed];
-        System.arraycopy(itemAmountInSlot, 0, retItemAmountInSlot, 0, indexed);
-
-        return Pair.of(true, retItemAmountInSlot);
+        return indexed;
     }
 
-    private Pair<Boolean, int[]> matchesFluid(List<FluidStack> fluidInputs) {
-        int[] fluidAmountInTank = new int[fluidInputs.size()];
+    /**
+     * Check the fluid inputs, from either a handler or a list, storing the amounts left in each tank in the scratch
+     * state.
+     *
+     * @param handler the fluid inputs, or null to use the list
+     * @param list    the fluid inputs, if the handler is null
+     * @param scratch the state to store the amounts in
+     * @return the amount of tanks checked, or -1 if the inputs do not match
+     */
+    private int matchesFluid(@Nullable IMultipleTankHandler handler, @Nullable List<FluidStack> list,
+                             @NotNull RecipeMatchScratch scratch) {
+        int size = handler != null ? handler.getTanks() : list.size();
+        int[] fluidAmountInTank = scratch.getFluidAmounts(size);
+        scratch.clearUsedFluidTanks(size);
         int indexed = 0;
 
         List<GTRecipeInput> gtRecipeInputs = this.fluidInputs;
-        for (GTRecipeInput fluid : gtRecipeInputs) {
+        for (int i = 0; i < gtRecipeInputs.size(); i++) {
+            GTRecipeInput fluid = gtRecipeInputs.get(i);
             int fluidAmount = fluid.getAmount();
-            for (int j = 0; j < fluidInputs.size(); j++) {
-                FluidStack tankFluid = fluidInputs.get(j);
+            for (int j = 0; j < size; j++) {
+                FluidStack tankFluid = handler != null ? handler.getTankAt(j).getFluid() : list.get(j);
 
                 if (j == indexed) {
                     indexed++;
@@ -333,18 +377,16 @@ public class Recipe {
 
                 if (tankFluid == null || !fluid.acceptsFluid(tankFluid))
                     continue;
+                scratch.markFluidTankUsed(j);
                 int fluidAmountToConsume = Math.min(fluidAmountInTank[j], fluidAmount);
                 fluidAmount -= fluidAmountToConsume;
                 if (!fluid.isNonConsumable()) fluidAmountInTank[j] -= fluidAmountToConsume;
                 if (fluidAmount == 0) break;
             }
             if (fluidAmount > 0)
-                return Pair.of(false, fluidAmountInTank);
+                return -1;
         }
-        int[] retfluidAmountInTank = new int[indexed];
-        System.arraycopy(fluidAmountInTank, 0, retfluidAmountInTank, 0, indexed);
-
-        return Pair.of(true, retfluidAmountInTank);
+        return indexed;
     }
 
     @Override
@@ -385,15 +427,18 @@ public class Recipe {
         for (GTRecipeInput otherInputs : otherRecipe.inputs) {
             otherStackList.addAll(Arrays.asList(otherInputs.getInputStacks()));
         }
-        if (!this.matchesItems(otherStackList).getLeft()) {
-            return false;
-        }
-
         List<ItemStack> thisStackList = new ObjectArrayList<>(this.inputs.size());
         for (GTRecipeInput thisInputs : this.inputs) {
             thisStackList.addAll(Arrays.asList(thisInputs.getInputStacks()));
         }
-        return otherRecipe.matchesItems(thisStackList).getLeft();
+
+        RecipeMatchScratch scratch = RecipeMatchScratch.acquire();
+        try {
+            return this.matchesItems(null, otherStackList, scratch) != -1 &&
+                    otherRecipe.matchesItems(null, thisStackList, scratch) != -1;
+        } finally {
+            scratch.release();
+        }
     }
 
     public static int hashFluidList(@NotNull List<GTRecipeInput> fluids) {
@@ -410,16 +455,19 @@ public class Recipe {
             FluidStack fluidStack = otherInputs.getInputFluidStack();
             otherFluidList.add(fluidStack);
         }
-        if (!this.matchesFluid(otherFluidList).getLeft()) {
-            return false;
-        }
-
         List<FluidStack> thisFluidsList = new ObjectArrayList<>(this.fluidInputs.size());
         for (GTRecipeInput thisFluidInputs : this.fluidInputs) {
             FluidStack fluidStack = thisFluidInputs.getInputFluidStack();
             thisFluidsList.add(fluidStack);
         }
-        return otherRecipe.matchesFluid(thisFluidsList).getLeft();
+
+        RecipeMatchScratch scratch = RecipeMatchScratch.acquire();
+        try {
+            return this.matchesFluid(null, otherFluidList, scratch) != -1 &&
+                    otherRecipe.matchesFluid(null, thisFluidsList, scratch) != -1;
+        } finally {
+            scratch.release();
+        }
     }
 
     @Override
@@ -466,6 +514,11 @@ public class Recipe {
     public List<ItemStack> getResultItemOutputs(int recipeTier, int machineTier, RecipeMap<?> recipeMap) {
         List<ItemStack> outputs = new ArrayList<>(getOutputs());
         ChanceBoostFunction function = recipeMap.getChanceFunction();
+        if (getChancedOutputs().getChancedOutputLogic() == ChancedOutputLogic.OR &&
+                getChancedOutputs().getChancedEntries() instanceof RepeatedEntryList<ChancedItemOutput>repeated) {
+            outputs.addAll(rollRepeatedItems(repeated, function, recipeTier, machineTier));
+            return outputs;
+        }
         List<ChancedItemOutput> chancedOutputsList = getChancedOutputs().roll(function, recipeTier, machineTier);
 
         if (chancedOutputsList == null) return outputs;
@@ -662,6 +715,11 @@ public class Recipe {
         List<FluidStack> outputs = new ArrayList<>(GTUtility.copyFluidList(getFluidOutputs()));
 
         ChanceBoostFunction function = recipeMap.getChanceFunction();
+        if (getChancedFluidOutputs().getChancedOutputLogic() == ChancedOutputLogic.OR &&
+                getChancedFluidOutputs().getChancedEntries() instanceof RepeatedEntryList<ChancedFluidOutput>repeated) {
+            outputs.addAll(rollRepeatedFluids(repeated, function, recipeTier, machineTier));
+            return outputs;
+        }
         List<ChancedFluidOutput> chancedOutputsList = getChancedFluidOutputs().roll(function, recipeTier, machineTier);
 
         if (chancedOutputsList == null) return outputs;
@@ -687,6 +745,73 @@ public class Recipe {
         return outputs;
     }
 
+    /**
+     * Roll repeated chanced outputs with {@link ChancedOutputLogic#OR} logic, drawing the amount of successful rolls
+     * of each entry at once instead of rolling every repetition
+     *
+     * @return the merged stacks produced
+     */
+    private static @NotNull List<ItemStack> rollRepeatedItems(@NotNull RepeatedEntryList<ChancedItemOutput> repeated,
+                                                              @NotNull ChanceBoostFunction function, int recipeTier,
+                                                              int machineTier) {
+        List<ItemStack> resultChanced = new ArrayList<>();
+        for (ChancedItemOutput entry : repeated.getEntries()) {
+            int chance = ChancedOutputLogic.getChance(entry, function, recipeTier, machineTier);
+            int passed = ChancedOutputLogic.passedRolls(chance, repeated.getRepeats());
+            if (passed == 0) continue;
+
+            ItemStack ingredient = entry.getIngredient();
+            int remaining = GTUtility.safeCastLongToInt((long) ingredient.getCount() * passed);
+            for (ItemStack stackInList : resultChanced) {
+                int insertable = stackInList.getMaxStackSize() - stackInList.getCount();
+                if (insertable > 0 && ItemHandlerHelper.canItemStacksStack(stackInList, ingredient)) {
+                    int inserted = Math.min(insertable, remaining);
+                    stackInList.grow(inserted);
+                    remaining -= inserted;
+                    if (remaining == 0) break;
+                }
+            }
+            while (remaining > 0) {
+                ItemStack stack = ingredient.copy();
+                stack.setCount(Math.min(remaining, stack.getMaxStackSize()));
+                remaining -= stack.getCount();
+                resultChanced.add(stack);
+            }
+        }
+        return resultChanced;
+    }
+
+    /**
+     * Roll repeated chanced fluid outputs with {@link ChancedOutputLogic#OR} logic, drawing the amount of successful
+     * rolls of each entry at once instead of rolling every repetition
+     *
+     * @return the merged stacks produced
+     */
+    private static @NotNull List<FluidStack> rollRepeatedFluids(@NotNull RepeatedEntryList<ChancedFluidOutput> repeated,
+                                                                @NotNull ChanceBoostFunction function, int recipeTier,
+                                                                int machineTier) {
+        List<FluidStack> resultChanced = new ArrayList<>();
+        entries:
+        for (ChancedFluidOutput entry : repeated.getEntries()) {
+            int chance = ChancedOutputLogic.getChance(entry, function, recipeTier, machineTier);
+            int passed = ChancedOutputLogic.passedRolls(chance, repeated.getRepeats());
+            if (passed == 0) continue;
+
+            FluidStack ingredient = entry.getIngredient();
+            int amount = GTUtility.safeCastLongToInt((long) ingredient.amount * passed);
+            for (FluidStack stackInList : resultChanced) {
+                if (stackInList.amount > 0 && stackInList.getFluid() == ingredient.getFluid()) {
+                    stackInList.amount = GTUtility.safeCastLongToInt((long) stackInList.amount + amount);
+                    continue entries;
+                }
+            }
+            FluidStack stack = ingredient.copy();
+            stack.amount = amount;
+            resultChanced.add(stack);
+        }
+        return resultChanced;
+    }
+
     public int getDuration() {
         return duration;
     }
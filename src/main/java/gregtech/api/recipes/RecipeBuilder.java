@@ -9,6 +9,7 @@ import gregtech.api.metatileentity.multiblock.CleanroomType;
 import gregtech.api.recipes.category.GTRecipeCategory;
 import gregtech.api.recipes.chance.output.ChancedOutputList;
 import gregtech.api.recipes.chance.output.ChancedOutputLogic;
+import gregtech.api.recipes.chance.output.RepeatedEntryList;
 import gregtech.api.recipes.chance.output.impl.ChancedFluidOutput;
 import gregtech.api.recipes.chance.output.impl.ChancedItemOutput;
 import gregtech.api.recipes.ingredients.GTRecipeFluidInput;
@@ -82,6 +83,12 @@ public class RecipeBuilder<R extends RecipeBuilder<R>> {
     protected ChancedOutputLogic chancedOutputLogic = ChancedOutputLogic.OR;
     protected ChancedOutputLogic chancedFluidOutputLogic = ChancedOutputLogic.OR;
 
+    /**
+     * The recipe whose chanced outputs are repeated once per parallel operation, without being copied yet
+     */
+    private @Nullable Recipe repeatedChancesFrom;
+    private int chanceRepeats;
+
     protected int duration;
     protected long EUt;
     protected boolean hidden = false;
@@ -132,6 +139,8 @@ public class RecipeBuilder<R extends RecipeBuilder<R>> {
         this.chancedFluidOutputs = new ArrayList<>(recipeBuilder.chancedFluidOutputs);
         this.chancedOutputLogic = recipeBuilder.chancedOutputLogic;
         this.chancedFluidOutputLogic = recipeBuilder.chancedFluidOutputLogic;
+        this.repeatedChancesFrom = recipeBuilder.repeatedChancesFrom;
+        this.chanceRepeats = recipeBuilder.chanceRepeats;
         this.duration = recipeBuilder.duration;
         this.EUt = recipeBuilder.EUt;
         this.hidden = recipeBuilder.hidden;
@@ -677,6 +686,7 @@ public class RecipeBuilder<R extends RecipeBuilder<R>> {
             recipeStatus = EnumValidationResult.INVALID;
             return (R) this;
         }
+        expandRepeatedChances();
         this.chancedOutputs.add(new ChancedItemOutput(stack.copy(), chance, tierChanceBoost));
         return (R) this;
     }
@@ -698,6 +708,7 @@ public class RecipeBuilder<R extends RecipeBuilder<R>> {
     }
 
     public R chancedOutputs(List<ChancedItemOutput> chancedOutputs) {
+        expandRepeatedChances();
         for (ChancedItemOutput output : chancedOutputs) {
             this.chancedOutputs.add(output.copy());
         }
@@ -705,6 +716,7 @@ public class RecipeBuilder<R extends RecipeBuilder<R>> {
     }
 
     public R clearChancedOutput() {
+        expandRepeatedChances();
         this.chancedOutputs.clear();
         return (R) this;
     }
@@ -724,11 +736,13 @@ public class RecipeBuilder<R extends RecipeBuilder<R>> {
             recipeStatus = EnumValidationResult.INVALID;
             return (R) this;
         }
+        expandRepeatedChances();
         this.chancedFluidOutputs.add(new ChancedFluidOutput(stack.copy(), chance, tierChanceBoost));
         return (R) this;
     }
 
     public R chancedFluidOutputs(List<ChancedFluidOutput> chancedOutputs) {
+        expandRepeatedChances();
         for (ChancedFluidOutput output : chancedOutputs) {
             this.chancedFluidOutputs.add(output.copy());
         }
@@ -736,6 +750,7 @@ public class RecipeBuilder<R extends RecipeBuilder<R>> {
     }
 
     public R clearChancedFluidOutputs() {
+        expandRepeatedChances();
         this.chancedFluidOutputs.clear();
         return (R) this;
     }
@@ -850,7 +865,14 @@ public class RecipeBuilder<R extends RecipeBuilder<R>> {
         this.outputs(outputItems);
         this.fluidOutputs(outputFluids);
 
-        chancedOutputsMultiply(recipe, multiplier);
+        if (repeatedChancesFrom == null && chancedOutputs.isEmpty() && chancedFluidOutputs.isEmpty()) {
+            // defer the per-operation copies, so the built recipe can repeat the entries of the original instead
+            this.repeatedChancesFrom = recipe;
+            this.chanceRepeats = multiplier;
+        } else {
+            expandRepeatedChances();
+            chancedOutputsMultiply(recipe, multiplier);
+        }
 
         this.EUt(multiplyDuration ? recipe.getEUt() : this.EUt + recipe.getEUt() * multiplier);
         this.duration(multiplyDuration ? this.duration + recipe.getDuration() * multiplier : recipe.getDuration());
@@ -979,6 +1001,14 @@ public class RecipeBuilder<R extends RecipeBuilder<R>> {
 
     public ValidationResult<Recipe> build() {
         EnumValidationResult result = recipePropertyStorageErrored ? EnumValidationResult.INVALID : validate();
+        List<ChancedItemOutput> chancedOutputs = this.chancedOutputs;
+        List<ChancedFluidOutput> chancedFluidOutputs = this.chancedFluidOutputs;
+        if (repeatedChancesFrom != null) {
+            chancedOutputs = new RepeatedEntryList<>(
+                    repeatedChancesFrom.getChancedOutputs().getChancedEntries(), chanceRepeats);
+            chancedFluidOutputs = new RepeatedEntryList<>(
+                    repeatedChancesFrom.getChancedFluidOutputs().getChancedEntries(), chanceRepeats);
+        }
         return ValidationResult.newResult(result, new Recipe(inputs, outputs,
                 new ChancedOutputList<>(this.chancedOutputLogic, chancedOutputs),
                 fluidInputs, fluidOutputs,
@@ -986,6 +1016,18 @@ public class RecipeBuilder<R extends RecipeBuilder<R>> {
                 duration, EUt, hidden, isCTRecipe, recipePropertyStorage, category));
     }
 
+    /**
+     * Copy the chanced outputs deferred by {@link #append(Recipe, int, boolean)} into this builder, so they can be
+     * inspected or modified
+     */
+    private void expandRepeatedChances() {
+        Recipe recipe = this.repeatedChancesFrom;
+        if (recipe != null) {
+            this.repeatedChancesFrom = null;
+            chancedOutputsMultiply(recipe, chanceRepeats);
+        }
+    }
+
     protected EnumValidationResult validate() {
         if (GroovyScriptModule.isCurrentlyRunning()) {
             GroovyLog.Msg msg = GroovyLog.msg("Error adding GregTech " + recipeMap.unlocalizedName + " recipe").error();
@@ -1110,10 +1152,12 @@ public class RecipeBuilder<R extends RecipeBuilder<R>> {
     }
 
     public List<ChancedItemOutput> getChancedOutputs() {
+        expandRepeatedChances();
         return chancedOutputs;
     }
 
     public List<ChancedFluidOutput> getChancedFluidOutputs() {
+        expandRepeatedChances();
         return chancedFluidOutputs;
     }
 
@@ -1125,7 +1169,7 @@ public class RecipeBuilder<R extends RecipeBuilder<R>> {
     public List<ItemStack> getAllItemOutputs() {
         List<ItemStack> stacks = new ArrayList<>(getOutputs());
 
-        for (ChancedItemOutput entry : this.chancedOutputs) {
+        for (ChancedItemOutput entry : getChancedOutputs()) {
             stacks.add(entry.getIngredient().copy());
         }
 
@@ -1183,8 +1227,8 @@ public class RecipeBuilder<R extends RecipeBuilder<R>> {
                 .append("recipeMap", recipeMap)
                 .append("inputs", inputs)
                 .append("outputs", outputs)
-                .append("chancedOutputs", chancedOutputs)
-                .append("chancedFluidOutputs", chancedFluidOutputs)
+                .append("chancedOutputs", getChancedOutputs())
+                .append("chancedFluidOutputs", getChancedFluidOutputs())
                 .append("fluidInputs", fluidInputs)
                 .append("fluidOutputs", fluidOutputs)
                 .append("duration", duration)
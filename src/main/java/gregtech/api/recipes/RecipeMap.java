@@ -13,14 +13,19 @@ import gregtech.api.recipes.ingredients.GTRecipeInput;
 import gregtech.api.recipes.ingredients.IntCircuitIngredient;
 import gregtech.api.recipes.map.AbstractMapIngredient;
 import gregtech.api.recipes.map.Branch;
+import gregtech.api.recipes.map.CompiledRecipeLookup;
 import gregtech.api.recipes.map.Either;
 import gregtech.api.recipes.map.MapFluidIngredient;
 import gregtech.api.recipes.map.MapItemStackIngredient;
 import gregtech.api.recipes.map.MapItemStackNBTIngredient;
 import gregtech.api.recipes.map.MapOreDictIngredient;
 import gregtech.api.recipes.map.MapOreDictNBTIngredient;
+import gregtech.api.recipes.map.RecipeLookupCache;
+import gregtech.api.recipes.map.RecipeLookupKey;
+import gregtech.api.recipes.map.RecipeSearchScratch;
 import gregtech.api.recipes.ui.RecipeMapUI;
 import gregtech.api.recipes.ui.RecipeMapUIFunction;
+import gregtech.api.unification.OreDictUnifier;
 import gregtech.api.unification.material.Material;
 import gregtech.api.unification.ore.OrePrefix;
 import gregtech.api.util.EnumValidationResult;
@@ -44,7 +49,6 @@ import net.minecraft.util.SoundEvent;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fml.common.Optional.Method;
 import net.minecraftforge.items.IItemHandlerModifiable;
-import net.minecraftforge.oredict.OreDictionary;
 
 import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.google.common.collect.ImmutableList;
@@ -57,6 +61,7 @@ import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ReferenceOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -77,9 +82,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.DoubleSupplier;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @ZenClass("mods.gregtech.recipe.RecipeMap")
 @ZenRegister
@@ -92,6 +99,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
             .thenComparing(Recipe::hashCode);
 
     private static boolean foundInvalidRecipe = false;
+    private static boolean deferCompilation = false;
 
     public static final ChanceBoostFunction DEFAULT_CHANCE_FUNCTION = ChanceBoostFunction.OVERCLOCK;
     protected RecipeMapUI<?> recipeMapUI;
@@ -123,6 +131,15 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
     private boolean hasNBTMatcherInputs = false;
     private static final WeakHashMap<AbstractMapIngredient, WeakReference<AbstractMapIngredient>> ingredientRoot = new WeakHashMap<>();
     private final WeakHashMap<AbstractMapIngredient, WeakReference<AbstractMapIngredient>> fluidIngredientRoot = new WeakHashMap<>();
+    private RecipeLookupCache lookupCache;
+    private @Nullable CompiledRecipeLookup compiledLookup;
+    private @Nullable List<Recipe> deferredRecipes;
+    // the recipes added before and during deferral by their inputs, to reject exact duplicates when they are added
+    private @Nullable Map<Recipe, Recipe> deferredRecipesByInputs;
+    // the conflicts found while compiling deferred recipes on another thread, with the recipe they conflict with
+    private @Nullable List<Pair<Recipe, @Nullable Recipe>> deferredConflicts;
+    private final boolean hasCustomRecipeSearch;
+    private final boolean hasCustomIngredientSearch;
 
     private final Map<GTRecipeCategory, List<Recipe>> recipeByCategory = new Object2ObjectOpenHashMap<>();
 
@@ -161,6 +178,29 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 
         this.grsVirtualizedRecipeMap = GregTechAPI.moduleManager.isModuleEnabled(GregTechModules.MODULE_GRS) ?
                 new VirtualizedRecipeMap(this) : null;
+        Class<?> clazz = getClass();
+        this.hasCustomRecipeSearch = overrides(clazz, "findRecipe", long.class, List.class, List.class) ||
+                overrides(clazz, "findRecipe", long.class, List.class, List.class, boolean.class);
+        this.hasCustomIngredientSearch = overrides(clazz, "prepareRecipeFind", Collection.class, Collection.class) ||
+                overrides(clazz, "buildFromItemStacks", List.class, ItemStack[].class) ||
+                overrides(clazz, "buildFromFluidStacks", List.class, Iterable.class) ||
+                overrides(clazz, "find", Collection.class, Collection.class, Predicate.class);
+    }
+
+    /**
+     * @param clazz  the RecipeMap class to check
+     * @param name   the name of the method
+     * @param params the parameter types of the method
+     * @return if the class or one of its superclasses below RecipeMap declares the method
+     */
+    private static boolean overrides(@NotNull Class<?> clazz, @NotNull String name, Class<?>... params) {
+        for (Class<?> c = clazz; c != RecipeMap.class && c != null; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(name, params);
+                return true;
+            } catch (NoSuchMethodException ignored) {}
+        }
+        return false;
     }
 
     @ZenMethod
@@ -296,6 +336,10 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 
     /**
      * Internal usage <strong>only</strong>, use {@link RecipeBuilder#buildAndRegister()}
+     * <p>
+     * While compilation is deferred, recipes with exactly the same inputs as another recipe are rejected right away.
+     * Conflicts with recipes whose inputs only overlap, such as through ore dictionary entries, are found when the
+     * recipe is compiled. Such a recipe is then logged and not added, even though this returned true.
      *
      * @param validationResult the validation result from building the recipe
      * @return if adding the recipe was successful
@@ -316,9 +360,106 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         if (recipe.isGroovyRecipe()) {
             this.getGroovyScriptRecipeMap().addScripted(recipe);
         }
+        if (deferCompilation) {
+            // the recipe is compiled later, in parallel with other RecipeMaps
+            if (deferredRecipes == null) {
+                deferredRecipes = new ArrayList<>();
+                deferredRecipesByInputs = new Object2ObjectOpenHashMap<>();
+                for (List<Recipe> recipes : recipeByCategory.values()) {
+                    for (Recipe compiled : recipes) {
+                        deferredRecipesByInputs.put(compiled, compiled);
+                    }
+                }
+            }
+            Recipe existing = deferredRecipesByInputs.putIfAbsent(recipe, recipe);
+            if (existing != null) {
+                logRecipeConflict(recipe, existing);
+                return false;
+            }
+            deferredRecipes.add(recipe);
+            return true;
+        }
         return compileRecipe(recipe);
     }
 
+    /**
+     * Start deferring the compilation of added recipes, if enabled in the config. Deferred recipes are compiled in
+     * {@link #finishDeferredCompilation()}, or as soon as the RecipeMap they were added to is accessed.
+     */
+    @ApiStatus.Internal
+    public static void beginDeferredCompilation() {
+        deferCompilation = ConfigHolder.recipes.parallelRecipeCompilation;
+    }
+
+    /**
+     * Stop deferring the compilation of added recipes, and compile all deferred recipes. Each RecipeMap compiles its
+     * recipes in the order they were added, with RecipeMaps compiled in parallel.
+     */
+    @ApiStatus.Internal
+    public static void finishDeferredCompilation() {
+        deferCompilation = false;
+
+        List<RecipeMap<?>> recipeMaps = new ArrayList<>();
+        int recipeCount = 0;
+        for (RecipeMap<?> recipeMap : RECIPE_MAP_REGISTRY.values()) {
+            if (recipeMap.deferredRecipes != null) {
+                recipeMaps.add(recipeMap);
+                recipeCount += recipeMap.deferredRecipes.size();
+            }
+        }
+        if (recipeMaps.isEmpty()) return;
+
+        long start = System.nanoTime();
+        long[] times = new long[recipeMaps.size()];
+        for (RecipeMap<?> recipeMap : recipeMaps) {
+            recipeMap.deferredConflicts = new ArrayList<>();
+        }
+        ForkJoinPool pool = new ForkJoinPool(Math.min(recipeMaps.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            pool.submit(() -> IntStream.range(0, recipeMaps.size()).parallel()
+                    .forEach(i -> times[i] = recipeMaps.get(i).compileDeferredRecipes())).join();
+        } finally {
+            pool.shutdown();
+            // the CraftTweaker and GroovyScript logs may only be written to from this thread
+            for (RecipeMap<?> recipeMap : recipeMaps) {
+                List<Pair<Recipe, @Nullable Recipe>> conflicts = recipeMap.deferredConflicts;
+                recipeMap.deferredConflicts = null;
+                if (conflicts == null) continue;
+                for (Pair<Recipe, @Nullable Recipe> conflict : conflicts) {
+                    recipeMap.logRecipeConflict(conflict.getLeft(), conflict.getRight());
+                }
+            }
+        }
+
+        int slowest = 0;
+        for (int i = 0; i < recipeMaps.size(); i++) {
+            GTLog.logger.debug("Compiled recipes of RecipeMap {} in {}ms", recipeMaps.get(i).unlocalizedName,
+                    times[i] / 1_000_000);
+            if (times[i] > times[slowest]) slowest = i;
+        }
+        GTLog.logger.info("Compiled {} recipes of {} RecipeMaps in {}ms, slowest was {} with {}ms", recipeCount,
+                recipeMaps.size(), (System.nanoTime() - start) / 1_000_000, recipeMaps.get(slowest).unlocalizedName,
+                times[slowest] / 1_000_000);
+    }
+
+    /**
+     * Compile all deferred recipes of this RecipeMap. Must be called before accessing the lookup tree.
+     *
+     * @return the time spent compiling, in nanoseconds
+     */
+    private long compileDeferredRecipes() {
+        List<Recipe> recipes = this.deferredRecipes;
+        if (recipes == null) return 0;
+        this.deferredRecipes = null;
+        this.deferredRecipesByInputs = null;
+
+        long start = System.nanoTime();
+        for (Recipe recipe : recipes) {
+            compileRecipe(recipe);
+        }
+        return System.nanoTime() - start;
+    }
+
     /**
      * Compiles a recipe and adds it to the ingredient tree
      *
@@ -329,8 +470,10 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         if (recipe == null) {
             return false;
         }
+        compileDeferredRecipes();
         List<List<AbstractMapIngredient>> items = fromRecipe(recipe);
         if (recurseIngredientTreeAdd(recipe, items, lookup, 0, 0)) {
+            invalidateLookupCache();
             recipeByCategory.compute(recipe.getRecipeCategory(), (k, v) -> {
                 if (v == null) v = new ArrayList<>();
                 v.add(recipe);
@@ -346,8 +489,10 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
      * @return if removal was successful
      */
     public boolean removeRecipe(@NotNull Recipe recipe) {
+        compileDeferredRecipes();
         List<List<AbstractMapIngredient>> items = fromRecipe(recipe);
         if (recurseIngredientTreeRemove(recipe, items, lookup, 0) != null) {
+            invalidateLookupCache();
             if (GroovyScriptModule.isCurrentlyRunning()) {
                 this.getGroovyScriptRecipeMap().addBackup(recipe);
             }
@@ -367,12 +512,81 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
      */
     @ApiStatus.Internal
     protected void removeAllRecipes() {
+        compileDeferredRecipes();
         if (GroovyScriptModule.isCurrentlyRunning()) {
             this.lookup.getRecipes(false).forEach(this.getGroovyScriptRecipeMap()::addBackup);
         }
         this.lookup.getNodes().clear();
         this.lookup.getSpecialNodes().clear();
         this.recipeByCategory.clear();
+        invalidateLookupCache();
+    }
+
+    /**
+     * @return the cache of recipe search results, or null if caching is disabled
+     */
+    public @Nullable RecipeLookupCache getLookupCache() {
+        if (lookupCache == null && ConfigHolder.recipes.recipeLookupCacheSize > 0) {
+            lookupCache = new RecipeLookupCache(ConfigHolder.recipes.recipeLookupCacheSize);
+        }
+        return lookupCache;
+    }
+
+    /**
+     * Invalidates all cached recipe search results, and discards the compiled lookup. Must be called when the recipes
+     * in the map are changed.
+     */
+    protected void invalidateLookupCache() {
+        if (lookupCache != null) {
+            lookupCache.invalidate();
+        }
+        this.compiledLookup = null;
+    }
+
+    /**
+     * Invalidates the cached recipe search results of all RecipeMaps. Must be called when the ingredients recipes
+     * match change, such as when an item is added to an ore dictionary entry.
+     */
+    public static void invalidateLookupCaches() {
+        for (RecipeMap<?> recipeMap : RECIPE_MAP_REGISTRY.values()) {
+            if (recipeMap.lookupCache != null) {
+                recipeMap.lookupCache.invalidate();
+            }
+        }
+    }
+
+    /**
+     * @return the compiled form of the lookup tree, or null if it is not compiled
+     */
+    public @Nullable CompiledRecipeLookup getCompiledLookup() {
+        return compiledLookup;
+    }
+
+    /**
+     * Compiles the lookup tree into its compact form, which is used for searching until the recipes change.
+     */
+    public void compileLookup() {
+        compileDeferredRecipes();
+        this.compiledLookup = CompiledRecipeLookup.compile(lookup);
+    }
+
+    /**
+     * Compiles the lookup trees of all RecipeMaps, if enabled in the config.
+     *
+     * @see #compileLookup()
+     */
+    @ApiStatus.Internal
+    public static void compileLookups() {
+        if (!ConfigHolder.recipes.compiledRecipeLookup) return;
+
+        long start = System.nanoTime();
+        int nodes = 0;
+        for (RecipeMap<?> recipeMap : RECIPE_MAP_REGISTRY.values()) {
+            recipeMap.compileLookup();
+            nodes += recipeMap.compiledLookup.getNodeCount();
+        }
+        GTLog.logger.info("Compiled recipe lookups of {} RecipeMaps with {} nodes in {}ms",
+                RECIPE_MAP_REGISTRY.size(), nodes, (System.nanoTime() - start) / 1_000_000);
     }
 
     /**
@@ -461,9 +675,72 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         return ValidationResult.newResult(recipeStatus, recipe);
     }
 
+    /**
+     * Finds a Recipe matching the contents of the Item and Fluid handlers.
+     * <p>
+     * The handlers are searched directly using reusable per-thread buffers, so unsuccessful searches do not allocate.
+     * RecipeMaps overriding the hooks which build or search the ingredients are searched through
+     * {@link #findRecipe(long, List, List)} instead.
+     *
+     * @param voltage     Voltage of the Machine or Long.MAX_VALUE if it has no Voltage
+     * @param inputs      the Item Inputs
+     * @param fluidInputs the Fluid Inputs
+     * @return the Recipe it has found or null for no matching Recipe
+     */
     @Nullable
     public Recipe findRecipe(long voltage, IItemHandlerModifiable inputs, IMultipleTankHandler fluidInputs) {
-        return this.findRecipe(voltage, GTUtility.itemHandlerToList(inputs), GTUtility.fluidHandlerToList(fluidInputs));
+        compileDeferredRecipes();
+        if (hasCustomIngredientSearch) {
+            // the handler search bypasses the hooks building and searching the ingredients, so use the List search
+            return this.findRecipe(voltage, GTUtility.itemHandlerToList(inputs),
+                    GTUtility.fluidHandlerToList(fluidInputs));
+        }
+        Recipe recipe = findRecipeInHandlers(voltage, inputs, fluidInputs);
+        if (recipe == null && hasCustomRecipeSearch) {
+            // let the custom search logic handle inputs not present in the lookup tree
+            return this.findRecipe(voltage, GTUtility.itemHandlerToList(inputs),
+                    GTUtility.fluidHandlerToList(fluidInputs));
+        }
+        return recipe;
+    }
+
+    /**
+     * Finds a Recipe in the lookup tree using the contents of the Item and Fluid handlers.
+     *
+     * @param voltage     Voltage of the Machine or Long.MAX_VALUE if it has no Voltage
+     * @param inputs      the Item Inputs
+     * @param fluidInputs the Fluid Inputs
+     * @return the Recipe it has found or null for no matching Recipe
+     */
+    @Nullable
+    private Recipe findRecipeInHandlers(long voltage, @NotNull IItemHandlerModifiable inputs,
+                                        @NotNull IMultipleTankHandler fluidInputs) {
+        RecipeSearchScratch scratch = RecipeSearchScratch.acquire();
+        try {
+            scratch.collect(voltage, inputs, fluidInputs);
+            if (scratch.isEmpty()) return null;
+
+            RecipeLookupCache cache = getLookupCache();
+            int generation = 0;
+            if (cache != null) {
+                Recipe cached = cache.get(scratch.getKey());
+                if (cached != null || cache.contains(scratch.getKey())) {
+                    return cached;
+                }
+                generation = cache.getGeneration();
+            }
+
+            List<List<AbstractMapIngredient>> list = scratch.buildIngredients(hasOreDictedInputs,
+                    hasNBTMatcherInputs);
+            // the scratch state doubles as the recipe validity check, so no predicate is allocated
+            Recipe recipe = list == null ? null : searchLookup(list, scratch);
+            if (cache != null) {
+                cache.put(scratch.getKey(), recipe, generation);
+            }
+            return recipe;
+        } finally {
+            scratch.release();
+        }
     }
 
     /**
@@ -491,6 +768,36 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
     @Nullable
     public Recipe findRecipe(long voltage, final List<ItemStack> inputs, final List<FluidStack> fluidInputs,
                              boolean exactVoltage) {
+        compileDeferredRecipes();
+        RecipeLookupCache cache = getLookupCache();
+        if (cache == null) {
+            return findRecipeUncached(voltage, inputs, fluidInputs, exactVoltage);
+        }
+
+        RecipeLookupKey key = RecipeLookupKey.of(inputs, fluidInputs, voltage, exactVoltage);
+        Recipe cached = cache.get(key);
+        if (cached != null || cache.contains(key)) {
+            return cached;
+        }
+
+        int generation = cache.getGeneration();
+        Recipe recipe = findRecipeUncached(voltage, inputs, fluidInputs, exactVoltage);
+        cache.put(key, recipe, generation);
+        return recipe;
+    }
+
+    /**
+     * Finds a Recipe matching the Fluid and/or ItemStack Inputs, without using the lookup cache.
+     *
+     * @param voltage      Voltage of the Machine or Long.MAX_VALUE if it has no Voltage
+     * @param inputs       the Item Inputs
+     * @param fluidInputs  the Fluid Inputs
+     * @param exactVoltage should require exact voltage matching on recipe. used by craftweaker
+     * @return the Recipe it has found or null for no matching Recipe
+     */
+    @Nullable
+    private Recipe findRecipeUncached(long voltage, final List<ItemStack> inputs, final List<FluidStack> fluidInputs,
+                                      boolean exactVoltage) {
         final List<ItemStack> items = inputs.stream().filter(s -> !s.isEmpty()).collect(Collectors.toList());
         final List<FluidStack> fluids = fluidInputs.stream().filter(f -> f != null && f.amount != 0)
                 .collect(Collectors.toList());
@@ -547,10 +854,28 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
     @Nullable
     public Recipe find(@NotNull Collection<ItemStack> items, @NotNull Collection<FluidStack> fluids,
                        @NotNull Predicate<Recipe> canHandle) {
+        compileDeferredRecipes();
         List<List<AbstractMapIngredient>> list = prepareRecipeFind(items, fluids);
         // couldn't build any inputs to use for search, so no recipe could be found
         if (list == null) return null;
-        return recurseIngredientTreeFindRecipe(list, lookup, canHandle);
+        return searchLookup(list, canHandle);
+    }
+
+    /**
+     * Searches the compiled lookup if present, otherwise the lookup tree.
+     *
+     * @param ingredients the ingredients to search with
+     * @param canHandle   a predicate for determining if a recipe is valid
+     * @return the recipe found
+     */
+    @Nullable
+    private Recipe searchLookup(@NotNull List<List<AbstractMapIngredient>> ingredients,
+                                @NotNull Predicate<Recipe> canHandle) {
+        CompiledRecipeLookup compiled = this.compiledLookup;
+        if (compiled != null) {
+            return compiled.find(ingredients, canHandle);
+        }
+        return recurseIngredientTreeFindRecipe(ingredients, lookup, canHandle);
     }
 
     /**
@@ -659,7 +984,10 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         if (count == ingredients.size()) return null;
 
         // Iterate over current level of nodes.
-        for (AbstractMapIngredient obj : ingredients.get(index)) {
+        // Indexed iteration and direct Either access avoid allocating iterators and lambdas on this hot path
+        List<AbstractMapIngredient> current = ingredients.get(index);
+        for (int i = 0; i < current.size(); i++) {
+            AbstractMapIngredient obj = current.get(i);
             // determine the root nodes
             Map<AbstractMapIngredient, Either<Recipe, Branch>> targetMap = determineRootNodes(obj, branchMap);
 
@@ -667,9 +995,13 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
             if (result != null) {
                 // if there is a recipe (left mapping), return it immediately as found, if it can be handled
                 // Otherwise, recurse and go to the next branch.
-                Recipe r = result.map(potentialRecipe -> canHandle.test(potentialRecipe) ? potentialRecipe : null,
-                        potentialBranch -> diveIngredientTreeFindRecipe(ingredients, potentialBranch, canHandle, index,
-                                count, skip));
+                Recipe r;
+                if (result.isLeft()) {
+                    Recipe potentialRecipe = result.getLeft();
+                    r = canHandle.test(potentialRecipe) ? potentialRecipe : null;
+                } else {
+                    r = diveIngredientTreeFindRecipe(ingredients, result.getRight(), canHandle, index, count, skip);
+                }
                 if (r != null) {
                     return r;
                 }
@@ -724,10 +1056,16 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
      */
     @Nullable
     public Set<Recipe> findRecipeCollisions(Collection<ItemStack> items, Collection<FluidStack> fluids) {
+        compileDeferredRecipes();
         List<List<AbstractMapIngredient>> list = prepareRecipeFind(items, fluids);
         if (list == null) return null;
         Set<Recipe> collidingRecipes = new ObjectOpenHashSet<>();
-        recurseIngredientTreeFindRecipeCollisions(list, lookup, collidingRecipes);
+        CompiledRecipeLookup compiled = this.compiledLookup;
+        if (compiled != null) {
+            compiled.findCollisions(list, collidingRecipes);
+        } else {
+            recurseIngredientTreeFindRecipeCollisions(list, lookup, collidingRecipes);
+        }
         return collidingRecipes;
     }
 
@@ -914,6 +1252,56 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         return 0;
     }
 
+    /**
+     * Log a recipe which was not added, as it conflicts with another recipe
+     *
+     * @param recipe   the recipe which was not added
+     * @param existing the recipe it conflicts with, if known
+     */
+    private void logRecipeConflict(@NotNull Recipe recipe, @Nullable Recipe existing) {
+        if (recipe.getIsCTRecipe()) {
+            CraftTweakerAPI.logError(String.format(
+                    "Recipe duplicate or conflict found in RecipeMap %s and was not added. See next lines for details.",
+                    this.unlocalizedName));
+
+            CraftTweakerAPI.logError(String.format("Attempted to add Recipe: %s",
+                    CTRecipeHelper.getRecipeAddLine(this, recipe)));
+
+            if (existing != null) {
+                CraftTweakerAPI.logError(String.format("Which conflicts with: %s",
+                        CTRecipeHelper.getRecipeAddLine(this, existing)));
+            } else {
+                CraftTweakerAPI.logError("Could not identify exact duplicate/conflict.");
+            }
+        }
+        if (recipe.isGroovyRecipe()) {
+            GroovyLog log = GroovyLog.get();
+            log.warn("Recipe duplicate or conflict found in RecipeMap {} and was not added. See next lines for details",
+                    this.unlocalizedName);
+
+            log.warn("Attempted to add Recipe: {}", recipe.toString());
+
+            if (existing != null) {
+                log.warn("Which conflicts with: {}", existing.toString());
+            } else {
+                log.warn("Could not find exact duplicate/conflict.");
+            }
+        }
+        if (ConfigHolder.misc.debug || GTValues.isDeobfEnvironment()) {
+            GTLog.logger.warn(
+                    "Recipe duplicate or conflict found in RecipeMap {} and was not added. See next lines for details",
+                    this.unlocalizedName);
+
+            GTLog.logger.warn("Attempted to add Recipe: {}", recipe.toString());
+
+            if (existing != null) {
+                GTLog.logger.warn("Which conflicts with: {}", existing.toString());
+            } else {
+                GTLog.logger.warn("Could not find exact duplicate/conflict.");
+            }
+        }
+    }
+
     /**
      * Adds a recipe to the map. (recursive part)
      *
@@ -950,47 +1338,10 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
                         // handle the existing branch
                         if (!v.left().isPresent() || v.left().get() != recipe) {
                             // the recipe already there was not the one being added, so there is a conflict
-                            if (recipe.getIsCTRecipe()) {
-                                CraftTweakerAPI.logError(String.format(
-                                        "Recipe duplicate or conflict found in RecipeMap %s and was not added. See next lines for details.",
-                                        this.unlocalizedName));
-
-                                CraftTweakerAPI.logError(String.format("Attempted to add Recipe: %s",
-                                        CTRecipeHelper.getRecipeAddLine(this, recipe)));
-
-                                if (v.left().isPresent()) {
-                                    CraftTweakerAPI.logError(String.format("Which conflicts with: %s",
-                                            CTRecipeHelper.getRecipeAddLine(this, v.left().get())));
-                                } else {
-                                    CraftTweakerAPI.logError("Could not identify exact duplicate/conflict.");
-                                }
-                            }
-                            if (recipe.isGroovyRecipe()) {
-                                GroovyLog log = GroovyLog.get();
-                                log.warn(
-                                        "Recipe duplicate or conflict found in RecipeMap {} and was not added. See next lines for details",
-                                        this.unlocalizedName);
-
-                                log.warn("Attempted to add Recipe: {}", recipe.toString());
-
-                                if (v.left().isPresent()) {
-                                    log.warn("Which conflicts with: {}", v.left().get().toString());
-                                } else {
-                                    log.warn("Could not find exact duplicate/conflict.");
-                                }
-                            }
-                            if (ConfigHolder.misc.debug || GTValues.isDeobfEnvironment()) {
-                                GTLog.logger.warn(
-                                        "Recipe duplicate or conflict found in RecipeMap {} and was not added. See next lines for details",
-                                        this.unlocalizedName);
-
-                                GTLog.logger.warn("Attempted to add Recipe: {}", recipe.toString());
-
-                                if (v.left().isPresent()) {
-                                    GTLog.logger.warn("Which conflicts with: {}", v.left().get().toString());
-                                } else {
-                                    GTLog.logger.warn("Could not find exact duplicate/conflict.");
-                                }
+                            if (deferredConflicts != null) {
+                                deferredConflicts.add(Pair.of(recipe, v.left().orElse(null)));
+                            } else {
+                                logRecipeConflict(recipe, v.left().orElse(null));
                             }
                         }
                         // Return the existing recipe, even on conflicts.
@@ -1089,13 +1440,17 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
     protected static void retrieveCachedIngredient(@NotNull List<List<AbstractMapIngredient>> list,
                                                    @NotNull AbstractMapIngredient defaultIngredient,
                                                    @NotNull WeakHashMap<AbstractMapIngredient, WeakReference<AbstractMapIngredient>> cache) {
-        WeakReference<AbstractMapIngredient> cached = cache.get(defaultIngredient);
-        if (cached != null && cached.get() != null) {
-            list.add(Collections.singletonList(cached.get()));
-        } else {
-            cache.put(defaultIngredient, new WeakReference<>(defaultIngredient));
-            list.add(Collections.singletonList(defaultIngredient));
+        AbstractMapIngredient ingredient;
+        // RecipeMaps may be compiled in parallel, sharing the same cache
+        synchronized (cache) {
+            WeakReference<AbstractMapIngredient> cached = cache.get(defaultIngredient);
+            ingredient = cached == null ? null : cached.get();
+            if (ingredient == null) {
+                cache.put(defaultIngredient, new WeakReference<>(defaultIngredient));
+                ingredient = defaultIngredient;
+            }
         }
+        list.add(Collections.singletonList(ingredient));
     }
 
     /**
@@ -1162,14 +1517,17 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
                     ingredients = MapItemStackIngredient.from(r);
                 }
 
-                for (int i = 0; i < ingredients.size(); i++) {
-                    AbstractMapIngredient mappedIngredient = ingredients.get(i);
-                    // attempt to use the cached value if possible, otherwise cache for the next time
-                    WeakReference<AbstractMapIngredient> cached = ingredientRoot.get(mappedIngredient);
-                    if (cached != null && cached.get() != null) {
-                        ingredients.set(i, cached.get());
-                    } else {
-                        ingredientRoot.put(mappedIngredient, new WeakReference<>(mappedIngredient));
+                synchronized (ingredientRoot) {
+                    for (int i = 0; i < ingredients.size(); i++) {
+                        AbstractMapIngredient mappedIngredient = ingredients.get(i);
+                        // attempt to use the cached value if possible, otherwise cache for the next time
+                        WeakReference<AbstractMapIngredient> cached = ingredientRoot.get(mappedIngredient);
+                        AbstractMapIngredient cachedIngredient = cached == null ? null : cached.get();
+                        if (cachedIngredient != null) {
+                            ingredients.set(i, cachedIngredient);
+                        } else {
+                            ingredientRoot.put(mappedIngredient, new WeakReference<>(mappedIngredient));
+                        }
                     }
                 }
                 list.add(ingredients);
@@ -1198,7 +1556,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
             if (hasOreDictedInputs) {
 
                 // add the ore dict inputs
-                for (int i : OreDictionary.getOreIDs(stack)) {
+                for (int i : OreDictUnifier.getOreIds(stack)) {
                     ingredient = new MapOreDictIngredient(i);
                     ls.add(ingredient);
 
@@ -1237,6 +1595,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
     }
 
     public Collection<Recipe> getRecipeList() {
+        compileDeferredRecipes();
         ObjectOpenHashSet<Recipe> recipes = new ObjectOpenHashSet<>();
         return lookup.getRecipes(true).filter(recipes::add).sorted(RECIPE_DURATION_THEN_EU)
                 .collect(Collectors.toList());
@@ -1422,6 +1781,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
      */
     @NotNull
     public Map<GTRecipeCategory, List<Recipe>> getRecipesByCategory() {
+        compileDeferredRecipes();
         return Collections.unmodifiableMap(recipeByCategory);
     }
 
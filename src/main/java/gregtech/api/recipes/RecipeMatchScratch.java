@@ -0,0 +1,121 @@
+package gregtech.api.recipes;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Reusable state for checking if a {@link Recipe} matches inputs, holding the amounts left in each slot and tank.
+ * <p>
+ * Recipe logic which repeatedly checks recipes should own an instance and pass it to
+ * {@link Recipe#matches(boolean, net.minecraftforge.items.IItemHandlerModifiable,
+ * gregtech.api.capability.IMultipleTankHandler, RecipeMatchScratch)}. An instance must not be used by more than one
+ * check at a time.
+ * <p>
+ * After a successful check, {@link #isItemSlotUsed(int)} and {@link #isFluidTankUsed(int)} tell which slots and tanks
+ * held stacks accepted by the recipe. Only those can make the recipe stop matching when their contents decrease.
+ */
+public final class RecipeMatchScratch {
+
+    private static final ThreadLocal<RecipeMatchScratch> SHARED = ThreadLocal.withInitial(RecipeMatchScratch::new);
+
+    private int[] itemAmounts = new int[16];
+    private int[] fluidAmounts = new int[4];
+    private long[] usedItemSlots = new long[1];
+    private long[] usedFluidTanks = new long[1];
+
+    private boolean inUse;
+
+    /**
+     * @return the shared state for the current thread, or a new one if it is already in use
+     */
+    static @NotNull RecipeMatchScratch acquire() {
+        RecipeMatchScratch scratch = SHARED.get();
+        if (scratch.inUse) {
+            scratch = new RecipeMatchScratch();
+        }
+        scratch.inUse = true;
+        return scratch;
+    }
+
+    /**
+     * Release state obtained from {@link #acquire()}
+     */
+    void release() {
+        this.inUse = false;
+    }
+
+    /**
+     * @param size the amount of slots
+     * @return an array to store the amounts left in each slot, with at least {@code size} entries
+     */
+    int @NotNull [] getItemAmounts(int size) {
+        if (itemAmounts.length < size) {
+            this.itemAmounts = new int[Math.max(size, itemAmounts.length * 2)];
+        }
+        return itemAmounts;
+    }
+
+    /**
+     * @param size the amount of tanks
+     * @return an array to store the amounts left in each tank, with at least {@code size} entries
+     */
+    int @NotNull [] getFluidAmounts(int size) {
+        if (fluidAmounts.length < size) {
+            this.fluidAmounts = new int[Math.max(size, fluidAmounts.length * 2)];
+        }
+        return fluidAmounts;
+    }
+
+    /**
+     * @param slot the slot index
+     * @return if the last check found a stack accepted by the recipe in the slot
+     */
+    public boolean isItemSlotUsed(int slot) {
+        return isSet(usedItemSlots, slot);
+    }
+
+    /**
+     * @param tank the tank index
+     * @return if the last check found a fluid accepted by the recipe in the tank
+     */
+    public boolean isFluidTankUsed(int tank) {
+        return isSet(usedFluidTanks, tank);
+    }
+
+    /**
+     * Forget which slots were used, before checking {@code size} slots
+     */
+    void clearUsedItemSlots(int size) {
+        this.usedItemSlots = clear(usedItemSlots, size);
+    }
+
+    /**
+     * Forget which tanks were used, before checking {@code size} tanks
+     */
+    void clearUsedFluidTanks(int size) {
+        this.usedFluidTanks = clear(usedFluidTanks, size);
+    }
+
+    void markItemSlotUsed(int slot) {
+        usedItemSlots[slot >> 6] |= 1L << slot;
+    }
+
+    void markFluidTankUsed(int tank) {
+        usedFluidTanks[tank >> 6] |= 1L << tank;
+    }
+
+    private static boolean isSet(long @NotNull [] bits, int index) {
+        int word = index >> 6;
+        return word < bits.length && (bits[word] & (1L << index)) != 0;
+    }
+
+    private static long @NotNull [] clear(long @NotNull [] bits, int size) {
+        int words = (size + 63) >> 6;
+        if (bits.length < words) {
+            return new long[words];
+        }
+        Arrays.fill(bits, 0L);
+        return bits;
+    }
+}
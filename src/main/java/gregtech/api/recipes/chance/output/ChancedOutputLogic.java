@@ -153,6 +153,46 @@ public interface ChancedOutputLogic {
         return chance > 0 && GTValues.RNG.nextInt(getMaxChancedValue()) <= chance;
     }
 
+    /**
+     * Roll the same chance several times at once.
+     * <p>
+     * Draws the amount of successes from the binomial distribution of the rolls, with the same success chance as
+     * {@link #passesChance(int)}. Small distributions are sampled exactly, by skipping ahead to each success, while
+     * large ones use the normal approximation.
+     *
+     * @param chance the chance to check
+     * @param rolls  the amount of times to roll the chance
+     * @return the amount of successful rolls
+     */
+    static int passedRolls(int chance, int rolls) {
+        if (chance <= 0 || rolls <= 0) return 0;
+        int max = getMaxChancedValue();
+        if (chance >= max - 1) return rolls;
+
+        double passChance = (chance + 1) / (double) max;
+        // sample the rarer outcome, so the exact sampling needs the fewest draws
+        boolean inverted = passChance > 0.5;
+        double p = inverted ? 1 - passChance : passChance;
+
+        int successes;
+        double variance = rolls * p * (1 - p);
+        if (variance >= 25) {
+            double sample = rolls * p + Math.sqrt(variance) * GTValues.RNG.nextGaussian();
+            successes = (int) Math.max(0, Math.min(rolls, Math.round(sample)));
+        } else {
+            // the amount of failures before each success is geometrically distributed
+            double logFailChance = Math.log(1 - p);
+            successes = 0;
+            long roll = 0;
+            while (true) {
+                roll += (long) (Math.log(1 - GTValues.RNG.nextDouble()) / logFailChance) + 1;
+                if (roll > rolls) break;
+                successes++;
+            }
+        }
+        return inverted ? rolls - successes : successes;
+    }
+
     /**
      * @return the upper bound for rolling chances
      */
@@ -0,0 +1,61 @@
+package gregtech.api.recipes.chance.output;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An unmodifiable view of a list of chanced entries, where every entry is repeated a number of times in a row.
+ * <p>
+ * Used for the chanced outputs of parallel recipes, so every parallel operation gets an individual roll without
+ * copying the entries once per operation.
+ *
+ * @param <T> the type of the entries
+ */
+public final class RepeatedEntryList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<T> entries;
+    private final int repeats;
+
+    /**
+     * @param entries the entries to repeat
+     * @param repeats the amount of times to repeat each entry
+     */
+    public RepeatedEntryList(@NotNull List<T> entries, int repeats) {
+        if (repeats < 0) {
+            throw new IllegalArgumentException("Repeats cannot be negative: " + repeats);
+        }
+        this.entries = entries;
+        this.repeats = repeats;
+    }
+
+    /**
+     * @return the distinct entries which are repeated
+     */
+    public @NotNull @Unmodifiable List<T> getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return the amount of times each entry is repeated
+     */
+    public int getRepeats() {
+        return repeats;
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return entries.get(index / repeats);
+    }
+
+    @Override
+    public int size() {
+        return entries.size() * repeats;
+    }
+}
@@ -16,14 +16,18 @@ import gregtech.api.util.OverlayedItemHandler;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.IFluidHandler;
+import net.minecraftforge.fluids.capability.IFluidTankProperties;
 import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.items.IItemHandlerModifiable;
 
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenCustomHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -87,8 +91,11 @@ public abstract class ParallelLogic {
             if (voidItems) {
                 modifiedItemParallelAmount = parallelAmount;
             } else {
-                modifiedItemParallelAmount = limitParallelByItems(recipe, new OverlayedItemHandler(outputs),
-                        parallelAmount);
+                modifiedItemParallelAmount = limitParallelByItemSpace(recipe, outputs, parallelAmount);
+                if (modifiedItemParallelAmount < 0) {
+                    modifiedItemParallelAmount = limitParallelByItems(recipe, new OverlayedItemHandler(outputs),
+                            parallelAmount);
+                }
             }
 
             // If we are not voiding, and cannot fit any items, return 0
@@ -102,8 +109,12 @@ public abstract class ParallelLogic {
             if (voidFluids) {
                 modifiedFluidParallelAmount = parallelAmount;
             } else {
-                modifiedFluidParallelAmount = limitParallelByFluids(recipe, new OverlayedFluidHandler(fluidOutputs),
+                modifiedFluidParallelAmount = limitParallelByFluidSpace(recipe, fluidOutputs,
                         modifiedItemParallelAmount);
+                if (modifiedFluidParallelAmount < 0) {
+                    modifiedFluidParallelAmount = limitParallelByFluids(recipe,
+                            new OverlayedFluidHandler(fluidOutputs), modifiedItemParallelAmount);
+                }
             }
 
             // If we are not voiding, and cannot fit any fluids, return 0
@@ -158,6 +169,98 @@ public abstract class ParallelLogic {
         return multiplier;
     }
 
+    /**
+     * Computes the amount of times the item outputs of a {@link Recipe} can be merged into an inventory directly from
+     * the space each output has in it, instead of simulating the insertion for every attempted multiplier.
+     * <p>
+     * This gives the same result as {@link #limitParallelByItems(Recipe, OverlayedItemHandler, int)} for inventories
+     * whose empty slots share the same slot limit, and whose partially filled slots come before the first empty slot,
+     * as the simulation fills slots in order. Other inventories are left to the simulation.
+     *
+     * @param recipe     the recipe from which we get the outputs
+     * @param outputs    the item output inventory
+     * @param multiplier the maximum possible multiplier
+     * @return the amount of times the outputs can be merged into the inventory, or {@code -1} if the inventory must be
+     *         simulated instead
+     */
+    public static int limitParallelByItemSpace(@NotNull Recipe recipe, @NotNull IItemHandler outputs, int multiplier) {
+        Object2IntMap<ItemStack> recipeOutputs = GTHashMaps.fromItemStackCollection(recipe.getAllItemOutputs());
+        int types = recipeOutputs.size();
+        ItemStack[] outputStacks = new ItemStack[types];
+        long[] amounts = new long[types];
+        int index = 0;
+        for (Object2IntMap.Entry<ItemStack> entry : recipeOutputs.object2IntEntrySet()) {
+            outputStacks[index] = entry.getKey();
+            amounts[index++] = entry.getIntValue();
+        }
+
+        // the room left in partially filled slots holding each output, and the amount of empty slots
+        long[] partialSpace = new long[types];
+        int emptySlots = 0;
+        int emptySlotLimit = -1;
+        for (int slot = 0; slot < outputs.getSlots(); slot++) {
+            ItemStack stack = outputs.getStackInSlot(slot);
+            int slotLimit = outputs.getSlotLimit(slot);
+            if (stack.isEmpty()) {
+                if (emptySlotLimit != -1 && emptySlotLimit != slotLimit) return -1;
+                emptySlotLimit = slotLimit;
+                emptySlots++;
+                continue;
+            }
+            for (int i = 0; i < types; i++) {
+                if (ItemStackHashStrategy.comparingAllButCount().equals(stack, outputStacks[i])) {
+                    int space = Math.min(stack.getMaxStackSize(), slotLimit) - stack.getCount();
+                    if (space > 0) {
+                        // the simulation would fill the earlier empty slots before this one
+                        if (emptySlots > 0) return -1;
+                        partialSpace[i] += space;
+                    }
+                    break;
+                }
+            }
+        }
+
+        long[] emptySlotSpace = new long[types];
+        for (int i = 0; i < types; i++) {
+            emptySlotSpace[i] = Math.min(outputStacks[i].getMaxStackSize(), emptySlotLimit);
+        }
+
+        int minMultiplier = 0;
+        int maxMultiplier = multiplier;
+        while (minMultiplier < maxMultiplier) {
+            int attempt = minMultiplier + (maxMultiplier - minMultiplier + 1) / 2;
+            if (requiredSlots(amounts, partialSpace, emptySlotSpace, attempt, emptySlots, false) <= emptySlots) {
+                minMultiplier = attempt;
+            } else {
+                maxMultiplier = attempt - 1;
+            }
+        }
+        return minMultiplier;
+    }
+
+    /**
+     * @param amounts      the amount of each output
+     * @param partialSpace the room for each output in slots already holding it
+     * @param emptySpace   the room for each output in a single empty slot
+     * @param multiplier   the multiplier of the outputs
+     * @param limit        the amount of empty slots
+     * @param singleSlot   if each output can fill at most one empty slot
+     * @return the amount of empty slots needed to hold the multiplied outputs, or a value above the limit if they do
+     *         not fit
+     */
+    private static long requiredSlots(long @NotNull [] amounts, long @NotNull [] partialSpace,
+                                      long @NotNull [] emptySpace, int multiplier, int limit, boolean singleSlot) {
+        long required = 0;
+        for (int i = 0; i < amounts.length; i++) {
+            long remaining = amounts[i] * multiplier - partialSpace[i];
+            if (remaining <= 0) continue;
+            if (emptySpace[i] <= 0 || (singleSlot && remaining > emptySpace[i])) return limit + 1L;
+            required += (remaining + emptySpace[i] - 1) / emptySpace[i];
+            if (required > limit) return required;
+        }
+        return required;
+    }
+
     /**
      * Used by the Multi Smelter and some parallellizable steam multiblocks
      *
@@ -292,6 +395,95 @@ public abstract class ParallelLogic {
         return multiplier;
     }
 
+    /**
+     * Computes the amount of times the fluid outputs of a {@link Recipe} can be merged into tanks directly from the
+     * space each output has in them, instead of simulating the insertion for every attempted multiplier.
+     * <p>
+     * This gives the same result as {@link #limitParallelByFluids(Recipe, OverlayedFluidHandler, int)} for tanks whose
+     * empty tanks share the same capacity and fill behavior, and accept every output. Other tanks are left to the
+     * simulation.
+     *
+     * @param recipe       the recipe from which we get the fluid outputs
+     * @param fluidOutputs the fluid output tanks
+     * @param multiplier   the maximum possible multiplier
+     * @return the amount of times the outputs can be merged into the tanks, or {@code -1} if the tanks must be
+     *         simulated instead
+     */
+    public static int limitParallelByFluidSpace(@NotNull Recipe recipe, @NotNull IMultipleTankHandler fluidOutputs,
+                                                int multiplier) {
+        List<FluidStack> outputFluids = new ArrayList<>();
+        LongList amountList = new LongArrayList();
+        outputs:
+        for (FluidStack fluidStack : recipe.getFluidOutputs()) {
+            if (fluidStack.amount <= 0) continue;
+            for (int i = 0; i < outputFluids.size(); i++) {
+                if (outputFluids.get(i).isFluidEqual(fluidStack)) {
+                    amountList.set(i, amountList.getLong(i) + fluidStack.amount);
+                    continue outputs;
+                }
+            }
+            outputFluids.add(fluidStack);
+            amountList.add(fluidStack.amount);
+        }
+        int types = outputFluids.size();
+        long[] amounts = amountList.toLongArray();
+
+        // the room left in tanks holding each output, and the amount of empty tanks
+        long[] partialSpace = new long[types];
+        boolean[] distinctTankUsed = new boolean[types];
+        int emptyTanks = 0;
+        int emptyCapacity = -1;
+        boolean emptyAllowSameFluidFill = false;
+        for (IMultipleTankHandler.ITankEntry tank : fluidOutputs.getFluidTanks()) {
+            boolean allowSameFluidFill = tank.allowSameFluidFill();
+            for (IFluidTankProperties property : tank.getTankProperties()) {
+                FluidStack contents = property.getContents();
+                int capacity = property.getCapacity();
+                if (contents == null) {
+                    if (emptyTanks > 0 &&
+                            (emptyCapacity != capacity || emptyAllowSameFluidFill != allowSameFluidFill)) {
+                        return -1;
+                    }
+                    for (FluidStack fluidStack : outputFluids) {
+                        if (!property.canFillFluidType(fluidStack)) return -1;
+                    }
+                    emptyCapacity = capacity;
+                    emptyAllowSameFluidFill = allowSameFluidFill;
+                    emptyTanks++;
+                } else if (contents.amount <= 0) {
+                    return -1;
+                } else {
+                    for (int i = 0; i < types; i++) {
+                        if (outputFluids.get(i).isFluidEqual(contents)) {
+                            partialSpace[i] += Math.max(0, capacity - contents.amount);
+                            if (!allowSameFluidFill) distinctTankUsed[i] = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        long[] emptySpace = new long[types];
+        for (int i = 0; i < types; i++) {
+            // an output already in a distinct tank cannot fill another one
+            emptySpace[i] = !emptyAllowSameFluidFill && distinctTankUsed[i] ? 0 : emptyCapacity;
+        }
+
+        int minMultiplier = 0;
+        int maxMultiplier = multiplier;
+        while (minMultiplier < maxMultiplier) {
+            int attempt = minMultiplier + (maxMultiplier - minMultiplier + 1) / 2;
+            if (requiredSlots(amounts, partialSpace, emptySpace, attempt, emptyTanks, !emptyAllowSameFluidFill) <=
+                    emptyTanks) {
+                minMultiplier = attempt;
+            } else {
+                maxMultiplier = attempt - 1;
+            }
+        }
+        return minMultiplier;
+    }
+
     /**
      * Finds the maximum number of Recipes that can be performed at the same time based on the items in the item input
      * inventory
@@ -0,0 +1,127 @@
+package gregtech.api.recipes.logic;
+
+import gregtech.api.GTValues;
+import gregtech.api.capability.IMultipleTankHandler;
+import gregtech.api.recipes.Recipe;
+import gregtech.api.recipes.RecipeMap;
+import gregtech.api.recipes.RecipeMatchScratch;
+import gregtech.api.recipes.map.RecipeLookupKey;
+import gregtech.api.util.GTUtility;
+
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.items.IItemHandlerModifiable;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shares recipe search results between machines in the same world, for the duration of a single tick.
+ * <p>
+ * Results are keyed by the Recipe Map, the voltage tier and the types of the inputs, ignoring their amounts, so
+ * machines fed by the same pipe share a search even when their stack sizes differ. A shared recipe is checked
+ * against the inputs of every machine reusing it, and searches which found no recipe are not shared.
+ */
+@EventBusSubscriber(modid = GTValues.MODID)
+public final class TickRecipeSearchCache {
+
+    private static final Map<World, TickRecipeSearchCache> cachesPerWorld = new HashMap<>();
+
+    private static long hits;
+    private static long misses;
+
+    private final Map<RecipeMap<?>, Object2ObjectOpenHashMap<RecipeLookupKey, Recipe>> results =
+            new Reference2ObjectOpenHashMap<>();
+    private final RecipeLookupKey key = new RecipeLookupKey();
+
+    private TickRecipeSearchCache() {}
+
+    /**
+     * Find a recipe, reusing a recipe found by another machine this tick if it matches the inputs.
+     *
+     * @param world       the world of the machine
+     * @param map         the Recipe Map to search
+     * @param voltage     the maximum voltage of the recipe
+     * @param inputs      the item inputs
+     * @param fluidInputs the fluid inputs
+     * @param scratch     the state used to check a shared recipe against the inputs
+     * @return the recipe found, or null if there is none
+     */
+    public static @Nullable Recipe findRecipe(@NotNull World world, @NotNull RecipeMap<?> map, long voltage,
+                                              @NotNull IItemHandlerModifiable inputs,
+                                              @NotNull IMultipleTankHandler fluidInputs,
+                                              @NotNull RecipeMatchScratch scratch) {
+        TickRecipeSearchCache cache = cachesPerWorld.computeIfAbsent(world, k -> new TickRecipeSearchCache());
+        RecipeLookupKey key = cache.key;
+        key.reset(GTUtility.getTierByVoltage(voltage), false);
+        for (int i = 0; i < inputs.getSlots(); i++) {
+            key.addItemType(inputs.getStackInSlot(i));
+        }
+        for (int i = 0; i < fluidInputs.getTanks(); i++) {
+            key.addFluidType(fluidInputs.getTankAt(i).getFluid());
+        }
+
+        Object2ObjectOpenHashMap<RecipeLookupKey, Recipe> mapResults = cache.results.get(map);
+        if (mapResults != null) {
+            Recipe shared = mapResults.get(key);
+            if (shared != null && shared.getEUt() <= voltage && shared.matches(false, inputs, fluidInputs, scratch)) {
+                hits++;
+                return shared;
+            }
+        }
+
+        misses++;
+        Recipe recipe = map.findRecipe(voltage, inputs, fluidInputs);
+        if (recipe != null && !key.isEmpty()) {
+            cache.results.computeIfAbsent(map, k -> new Object2ObjectOpenHashMap<>()).put(key.copy(), recipe);
+        }
+        return recipe;
+    }
+
+    /**
+     * @return the amount of searches which reused a recipe found by another machine
+     */
+    public static long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the amount of searches which searched the Recipe Map
+     */
+    public static long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Reset the hit and miss counters
+     */
+    public static void resetStatistics() {
+        hits = 0;
+        misses = 0;
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        if (!event.getWorld().isRemote) {
+            cachesPerWorld.remove(event.getWorld());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldTick(TickEvent.WorldTickEvent event) {
+        if (!event.world.isRemote && event.phase == TickEvent.Phase.START) {
+            TickRecipeSearchCache cache = cachesPerWorld.get(event.world);
+            if (cache != null && !cache.results.isEmpty()) {
+                cache.results.clear();
+            }
+        }
+    }
+}
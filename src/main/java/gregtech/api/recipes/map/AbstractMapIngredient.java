@@ -11,6 +11,13 @@ public abstract class AbstractMapIngredient {
         this.objClass = getClass();
     }
 
+    /**
+     * @param objClass the class this ingredient is compared as
+     */
+    protected AbstractMapIngredient(Class<? extends AbstractMapIngredient> objClass) {
+        this.objClass = objClass;
+    }
+
     protected abstract int hash();
 
     @Override
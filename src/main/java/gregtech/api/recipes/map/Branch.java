@@ -4,6 +4,7 @@ import gregtech.api.recipes.Recipe;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
 import java.util.stream.Stream;
@@ -58,4 +59,20 @@ public class Branch {
         }
         return specialNodes;
     }
+
+    /**
+     * @return the nodes, without creating them if absent
+     */
+    @Nullable
+    Map<AbstractMapIngredient, Either<Recipe, Branch>> getNodesIfPresent() {
+        return nodes;
+    }
+
+    /**
+     * @return the special nodes, without creating them if absent
+     */
+    @Nullable
+    Map<AbstractMapIngredient, Either<Recipe, Branch>> getSpecialNodesIfPresent() {
+        return specialNodes;
+    }
 }
@@ -0,0 +1,351 @@
+package gregtech.api.recipes.map;
+
+import gregtech.api.recipes.Recipe;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A frozen, compact form of a recipe lookup {@link Branch} tree.
+ * <p>
+ * Every ingredient of the tree is interned to an int id, and every branch is flattened into an open addressing
+ * table of ingredient ids to children, packed together into shared arrays. Search ingredients are resolved to the
+ * ids of all tree ingredients they are equal to once per search, so walking the tree only compares ints.
+ * <p>
+ * The compiled lookup does not follow changes to the tree it was created from, and must be discarded when the
+ * tree is modified.
+ */
+public final class CompiledRecipeLookup {
+
+    private static final int EMPTY = -1;
+    /** The root node is never the child of another node, so it can be used to mark missing children */
+    private static final int MISSING = 0;
+    private static final int ROOT = 0;
+
+    private static final ThreadLocal<SearchBuffer> BUFFER = ThreadLocal.withInitial(SearchBuffer::new);
+
+    private final AbstractMapIngredient[] ingredients;
+    private final Int2ObjectOpenHashMap<int[]> idsByHash;
+
+    private final int[] nodeOffsets;
+    private final int[] nodeMasks;
+    private final int[] keys;
+    /** values >= 1 are child nodes, values < 0 are recipes, encoded as {@code -(index + 1)} */
+    private final int[] values;
+    private final Recipe[] recipes;
+
+    private CompiledRecipeLookup(@NotNull AbstractMapIngredient[] ingredients,
+                                 @NotNull Int2ObjectOpenHashMap<int[]> idsByHash, int @NotNull [] nodeOffsets,
+                                 int @NotNull [] nodeMasks, int @NotNull [] keys, int @NotNull [] values,
+                                 @NotNull Recipe[] recipes) {
+        this.ingredients = ingredients;
+        this.idsByHash = idsByHash;
+        this.nodeOffsets = nodeOffsets;
+        this.nodeMasks = nodeMasks;
+        this.keys = keys;
+        this.values = values;
+        this.recipes = recipes;
+    }
+
+    /**
+     * Compile a lookup tree
+     *
+     * @param root the root branch of the tree
+     * @return the compiled lookup
+     */
+    public static @NotNull CompiledRecipeLookup compile(@NotNull Branch root) {
+        Reference2IntOpenHashMap<AbstractMapIngredient> ingredientIds = new Reference2IntOpenHashMap<>();
+        ingredientIds.defaultReturnValue(EMPTY);
+        List<AbstractMapIngredient> ingredients = new ObjectArrayList<>();
+        Reference2IntOpenHashMap<Recipe> recipeIds = new Reference2IntOpenHashMap<>();
+        recipeIds.defaultReturnValue(EMPTY);
+        List<Recipe> recipes = new ObjectArrayList<>();
+
+        List<Branch> branches = new ObjectArrayList<>();
+        branches.add(root);
+        IntArrayList nodeOffsets = new IntArrayList();
+        IntArrayList nodeMasks = new IntArrayList();
+        IntArrayList keys = new IntArrayList();
+        IntArrayList values = new IntArrayList();
+
+        // breadth first, so the index of a branch is assigned when it is first encountered
+        for (int node = 0; node < branches.size(); node++) {
+            Branch branch = branches.get(node);
+            Map<AbstractMapIngredient, Either<Recipe, Branch>> nodes = branch.getNodesIfPresent();
+            Map<AbstractMapIngredient, Either<Recipe, Branch>> specialNodes = branch.getSpecialNodesIfPresent();
+            int size = (nodes == null ? 0 : nodes.size()) + (specialNodes == null ? 0 : specialNodes.size());
+
+            // keep the load factor at most 0.5, so probe sequences stay short
+            int capacity = Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1;
+            int offset = keys.size();
+            nodeOffsets.add(offset);
+            nodeMasks.add(capacity - 1);
+            for (int i = 0; i < capacity; i++) {
+                keys.add(EMPTY);
+                values.add(MISSING);
+            }
+
+            for (int pass = 0; pass < 2; pass++) {
+                Map<AbstractMapIngredient, Either<Recipe, Branch>> map = pass == 0 ? nodes : specialNodes;
+                if (map == null) continue;
+                for (Map.Entry<AbstractMapIngredient, Either<Recipe, Branch>> entry : map.entrySet()) {
+                    int id = ingredientIds.getInt(entry.getKey());
+                    if (id == EMPTY) {
+                        id = ingredients.size();
+                        ingredientIds.put(entry.getKey(), id);
+                        ingredients.add(entry.getKey());
+                    }
+
+                    int value;
+                    Either<Recipe, Branch> either = entry.getValue();
+                    if (either.isLeft()) {
+                        int recipeId = recipeIds.getInt(either.getLeft());
+                        if (recipeId == EMPTY) {
+                            recipeId = recipes.size();
+                            recipeIds.put(either.getLeft(), recipeId);
+                            recipes.add(either.getLeft());
+                        }
+                        value = -(recipeId + 1);
+                    } else {
+                        value = branches.size();
+                        branches.add(either.getRight());
+                    }
+
+                    int pos = HashCommon.mix(id) & (capacity - 1);
+                    while (keys.getInt(offset + pos) != EMPTY) {
+                        pos = (pos + 1) & (capacity - 1);
+                    }
+                    keys.set(offset + pos, id);
+                    values.set(offset + pos, value);
+                }
+            }
+        }
+
+        Int2ObjectOpenHashMap<int[]> idsByHash = new Int2ObjectOpenHashMap<>();
+        for (int id = 0; id < ingredients.size(); id++) {
+            int hash = ingredients.get(id).hashCode();
+            int[] ids = idsByHash.get(hash);
+            if (ids == null) {
+                ids = new int[] { id };
+            } else {
+                ids = Arrays.copyOf(ids, ids.length + 1);
+                ids[ids.length - 1] = id;
+            }
+            idsByHash.put(hash, ids);
+        }
+
+        return new CompiledRecipeLookup(ingredients.toArray(new AbstractMapIngredient[0]), idsByHash,
+                nodeOffsets.toIntArray(), nodeMasks.toIntArray(), keys.toIntArray(), values.toIntArray(),
+                recipes.toArray(new Recipe[0]));
+    }
+
+    /**
+     * Finds a recipe
+     *
+     * @param ingredients the ingredients to search with
+     * @param canHandle   if the found recipe is valid
+     * @return the recipe found
+     */
+    public @Nullable Recipe find(@NotNull List<List<AbstractMapIngredient>> ingredients,
+                                 @NotNull Predicate<Recipe> canHandle) {
+        SearchBuffer buffer = SearchBuffer.acquire();
+        try {
+            resolve(ingredients, buffer);
+            int size = ingredients.size();
+            // Try each ingredient as a starting point, adding it to the skip-list.
+            // The skip-list is a packed long, where each 1 bit represents an index to skip
+            for (int i = 0; i < size; i++) {
+                Recipe r = find(buffer.ids, buffer.offsets, size, ROOT, canHandle, i, 0, 1L << i);
+                if (r != null) {
+                    return r;
+                }
+            }
+            return null;
+        } finally {
+            buffer.inUse = false;
+        }
+    }
+
+    /**
+     * Exhaustively gathers all recipes that can be crafted with the given ingredients.
+     *
+     * @param ingredients      the ingredients to search with
+     * @param collidingRecipes the set to store the recipes in
+     */
+    public void findCollisions(@NotNull List<List<AbstractMapIngredient>> ingredients,
+                               @NotNull Set<Recipe> collidingRecipes) {
+        SearchBuffer buffer = SearchBuffer.acquire();
+        try {
+            resolve(ingredients, buffer);
+            int size = ingredients.size();
+            for (int i = 0; i < size; i++) {
+                findCollisions(buffer.ids, buffer.offsets, size, ROOT, i, 0, 1L << i, collidingRecipes);
+            }
+        } finally {
+            buffer.inUse = false;
+        }
+    }
+
+    /**
+     * @return the amount of interned ingredients
+     */
+    public int getIngredientCount() {
+        return ingredients.length;
+    }
+
+    /**
+     * @return the amount of nodes
+     */
+    public int getNodeCount() {
+        return nodeOffsets.length;
+    }
+
+    /**
+     * @return the amount of recipes
+     */
+    public int getRecipeCount() {
+        return recipes.length;
+    }
+
+    /**
+     * Resolve each group of search ingredients to the ids of all interned ingredients equal to them.
+     */
+    private void resolve(@NotNull List<List<AbstractMapIngredient>> searchIngredients,
+                         @NotNull SearchBuffer buffer) {
+        int size = searchIngredients.size();
+        if (buffer.offsets.length < size + 1) {
+            buffer.offsets = new int[size + 1];
+        }
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            buffer.offsets[i] = count;
+            List<AbstractMapIngredient> group = searchIngredients.get(i);
+            for (int j = 0; j < group.size(); j++) {
+                AbstractMapIngredient ingredient = group.get(j);
+                int[] candidates = idsByHash.get(ingredient.hashCode());
+                if (candidates == null) continue;
+                for (int id : candidates) {
+                    // compare in the same direction as hash map lookups in the tree
+                    if (ingredient.equals(ingredients[id])) {
+                        if (count == buffer.ids.length) {
+                            buffer.ids = Arrays.copyOf(buffer.ids, count * 2);
+                        }
+                        buffer.ids[count++] = id;
+                    }
+                }
+            }
+        }
+        buffer.offsets[size] = count;
+    }
+
+    /**
+     * @return the child for the ingredient, or {@link #MISSING}
+     */
+    private int getChild(int node, int id) {
+        int offset = nodeOffsets[node];
+        int mask = nodeMasks[node];
+        int pos = HashCommon.mix(id) & mask;
+        int key;
+        while ((key = keys[offset + pos]) != EMPTY) {
+            if (key == id) {
+                return values[offset + pos];
+            }
+            pos = (pos + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    private @Nullable Recipe find(int @NotNull [] ids, int @NotNull [] offsets, int size, int node,
+                                  @NotNull Predicate<Recipe> canHandle, int index, int count, long skip) {
+        // exhausted all the ingredients, and didn't find anything
+        if (count == size) return null;
+
+        for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+            int child = getChild(node, ids[i]);
+            if (child == MISSING) continue;
+
+            Recipe r;
+            if (child < 0) {
+                Recipe potentialRecipe = recipes[-child - 1];
+                r = canHandle.test(potentialRecipe) ? potentialRecipe : null;
+            } else {
+                r = dive(ids, offsets, size, child, canHandle, index, count, skip);
+            }
+            if (r != null) {
+                return r;
+            }
+        }
+        return null;
+    }
+
+    private @Nullable Recipe dive(int @NotNull [] ids, int @NotNull [] offsets, int size, int node,
+                                  @NotNull Predicate<Recipe> canHandle, int currentIndex, int count, long skip) {
+        // We loop around the ingredients if we reach the end.
+        // only end when all ingredients are exhausted, or a recipe is found
+        int i = (currentIndex + 1) % size;
+        while (i != currentIndex) {
+            // Have we already used this ingredient? If so, skip this one.
+            if ((skip & (1L << i)) == 0) {
+                Recipe found = find(ids, offsets, size, node, canHandle, i, count + 1, skip | (1L << i));
+                if (found != null) {
+                    return found;
+                }
+            }
+            i = (i + 1) % size;
+        }
+        return null;
+    }
+
+    private void findCollisions(int @NotNull [] ids, int @NotNull [] offsets, int size, int node, int index,
+                                int count, long skip, @NotNull Set<Recipe> collidingRecipes) {
+        if (count == size) return;
+
+        for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+            int child = getChild(node, ids[i]);
+            if (child == MISSING) continue;
+
+            if (child < 0) {
+                collidingRecipes.add(recipes[-child - 1]);
+            } else {
+                int j = (index + 1) % size;
+                while (j != index) {
+                    if ((skip & (1L << j)) == 0) {
+                        findCollisions(ids, offsets, size, child, j, count + 1, skip | (1L << j),
+                                collidingRecipes);
+                    }
+                    j = (j + 1) % size;
+                }
+            }
+        }
+    }
+
+    private static final class SearchBuffer {
+
+        private int[] ids = new int[16];
+        private int[] offsets = new int[9];
+        private boolean inUse;
+
+        /**
+         * @return the buffer for the current thread, or a new one if it is already in use
+         */
+        private static @NotNull SearchBuffer acquire() {
+            SearchBuffer buffer = BUFFER.get();
+            if (buffer.inUse) {
+                buffer = new SearchBuffer();
+            }
+            buffer.inUse = true;
+            return buffer;
+        }
+    }
+}
@@ -41,6 +41,21 @@ public abstract class Either<L, R> {
             return java.util.Optional.of(value);
         }
 
+        @Override
+        public boolean isLeft() {
+            return true;
+        }
+
+        @Override
+        public L getLeft() {
+            return value;
+        }
+
+        @Override
+        public R getRight() {
+            return null;
+        }
+
         @Override
         public java.util.Optional<R> right() {
             return java.util.Optional.empty();
@@ -104,6 +119,21 @@ public abstract class Either<L, R> {
             return java.util.Optional.empty();
         }
 
+        @Override
+        public boolean isLeft() {
+            return false;
+        }
+
+        @Override
+        public L getLeft() {
+            return null;
+        }
+
+        @Override
+        public R getRight() {
+            return value;
+        }
+
         @Override
         public java.util.Optional<R> right() {
             return java.util.Optional.of(value);
@@ -147,6 +177,25 @@ public abstract class Either<L, R> {
 
     public abstract java.util.Optional<R> right();
 
+    /**
+     * @return if this is a left value
+     */
+    public abstract boolean isLeft();
+
+    /**
+     * Allocation-free alternative to {@link #left()}.
+     *
+     * @return the left value, or null if this is a right value
+     */
+    public abstract L getLeft();
+
+    /**
+     * Allocation-free alternative to {@link #right()}.
+     *
+     * @return the right value, or null if this is a left value
+     */
+    public abstract R getRight();
+
     public <T> Either<T, R> mapLeft(final Function<? super L, ? extends T> l) {
         return map(t -> left(l.apply(t)), Either::right);
     }
@@ -24,11 +24,29 @@ public class MapFluidIngredient extends AbstractMapIngredient {
         this.tag = fluidStack.tag;
     }
 
+    /**
+     * Constructor for {@link ScratchMapFluidIngredient}, which holds its fluid itself
+     */
+    MapFluidIngredient() {
+        super(MapFluidIngredient.class);
+        this.fluid = null;
+        this.tag = null;
+    }
+
+    protected Fluid getFluid() {
+        return fluid;
+    }
+
+    protected NBTTagCompound getTag() {
+        return tag;
+    }
+
     @Override
     protected int hash() {
         // the Fluid registered to the fluidName on game load might not be the same Fluid after loading the world, but
         // will still have the same fluidName.
-        int hash = 31 + fluid.getName().hashCode();
+        int hash = 31 + getFluid().getName().hashCode();
+        NBTTagCompound tag = getTag();
         if (tag != null) {
             return 31 * hash + tag.hashCode();
         }
@@ -41,8 +59,8 @@ public class MapFluidIngredient extends AbstractMapIngredient {
             MapFluidIngredient other = (MapFluidIngredient) o;
             // the Fluid registered to the fluidName on game load might not be the same Fluid after loading the world,
             // but will still have the same fluidName.
-            if (this.fluid.getName().equals(other.fluid.getName())) {
-                return Objects.equals(tag, other.tag);
+            if (this.getFluid().getName().equals(other.getFluid().getName())) {
+                return Objects.equals(getTag(), other.getTag());
             }
         }
         return false;
@@ -51,6 +69,6 @@ public class MapFluidIngredient extends AbstractMapIngredient {
     @Override
     public String toString() {
         return "MapFluidIngredient{" +
-                "{fluid=" + fluid.getName() + "} {tag=" + tag + "}";
+                "{fluid=" + getFluid().getName() + "} {tag=" + getTag() + "}";
     }
 }
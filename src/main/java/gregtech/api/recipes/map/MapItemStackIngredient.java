@@ -7,6 +7,7 @@ import net.minecraft.nbt.NBTTagCompound;
 
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -30,6 +31,25 @@ public class MapItemStackIngredient extends AbstractMapIngredient {
         this.gtRecipeInput = gtRecipeInput;
     }
 
+    /**
+     * Reuse this ingredient for a different stack. Only valid for ingredients used in recipe searches, which are
+     * never inserted into a lookup tree.
+     */
+    void reuse(@NotNull ItemStack stack, int meta, @Nullable NBTTagCompound tag) {
+        this.stack = stack;
+        this.meta = meta;
+        this.tag = tag;
+        invalidate();
+    }
+
+    /**
+     * Drop the references to the stack this ingredient was last reused for
+     */
+    void clear() {
+        this.stack = ItemStack.EMPTY;
+        this.tag = null;
+    }
+
     @NotNull
     public static List<AbstractMapIngredient> from(@NotNull GTRecipeInput r) {
         ObjectArrayList<AbstractMapIngredient> list = new ObjectArrayList<>();
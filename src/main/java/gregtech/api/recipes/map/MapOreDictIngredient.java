@@ -8,6 +8,15 @@ public class MapOreDictIngredient extends AbstractMapIngredient {
         this.ore = ore;
     }
 
+    /**
+     * Reuse this ingredient for a different ore dictionary entry. Only valid for ingredients used in recipe
+     * searches, which are never inserted into a lookup tree.
+     */
+    void reuse(int ore) {
+        this.ore = ore;
+        invalidate();
+    }
+
     @Override
     protected int hash() {
         return ore;
@@ -27,6 +27,22 @@ public class MapOreDictNBTIngredient extends MapOreDictIngredient {
         this.nbtTagCompound = nbtTagCompound;
     }
 
+    /**
+     * Reuse this ingredient for a different stack. Only valid for ingredients used in recipe searches, which are
+     * never inserted into a lookup tree.
+     */
+    void reuse(int ore, @Nullable NBTTagCompound nbtTagCompound) {
+        reuse(ore);
+        this.nbtTagCompound = nbtTagCompound;
+    }
+
+    /**
+     * Drop the reference to the tag this ingredient was last reused for
+     */
+    void clear() {
+        this.nbtTagCompound = null;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -0,0 +1,136 @@
+package gregtech.api.recipes.map;
+
+import gregtech.api.recipes.Recipe;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A size-bounded, least recently used cache of recipe search results.
+ * <p>
+ * Results where no recipe was found are cached as well, as machines with unusable inputs repeat the same search.
+ * The cache must be invalidated whenever the recipes it was built from change.
+ */
+public final class RecipeLookupCache {
+
+    private final int capacity;
+    private final Object2ObjectLinkedOpenHashMap<RecipeLookupKey, Recipe> cache;
+
+    private int generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param capacity the maximum amount of cached results
+     */
+    public RecipeLookupCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Recipe lookup cache capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+        this.cache = new Object2ObjectLinkedOpenHashMap<>(capacity);
+    }
+
+    /**
+     * @param key the key to look up
+     * @return the cached recipe, or null if nothing is cached for the key or the search found no recipe
+     * @see #contains(RecipeLookupKey)
+     */
+    public synchronized @Nullable Recipe get(@NotNull RecipeLookupKey key) {
+        Recipe result = cache.getAndMoveToLast(key);
+        if (result != null || cache.containsKey(key)) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return result;
+    }
+
+    /**
+     * @param key the key to look up
+     * @return if a search result is cached for the key, telling apart a search which found no recipe from a
+     *         result which is not cached when {@link #get(RecipeLookupKey)} returned null
+     */
+    public synchronized boolean contains(@NotNull RecipeLookupKey key) {
+        return cache.containsKey(key);
+    }
+
+    /**
+     * Caches a search result, evicting the least recently used result if full.
+     *
+     * @param key        the key to cache the result for. It is copied before storing.
+     * @param recipe     the recipe found, or null if no recipe was found
+     * @param generation the generation of the cache at the start of the search
+     */
+    public synchronized void put(@NotNull RecipeLookupKey key, @Nullable Recipe recipe, int generation) {
+        // the recipes changed during the search, so the result may be stale
+        if (this.generation != generation) return;
+
+        if (cache.size() >= capacity) {
+            cache.removeFirst();
+            evictions++;
+        }
+        cache.putAndMoveToLast(key.copy(), recipe);
+    }
+
+    /**
+     * @return the current generation of the cache, used to detect invalidation during a search
+     */
+    public synchronized int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Remove all cached results
+     */
+    public synchronized void invalidate() {
+        this.generation++;
+        cache.clear();
+    }
+
+    /**
+     * Reset the hit, miss and eviction counters
+     */
+    public synchronized void resetStatistics() {
+        this.hits = 0;
+        this.misses = 0;
+        this.evictions = 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized int getSize() {
+        return cache.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return the ratio of lookups which were served from the cache, from 0 to 1
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return "RecipeLookupCache{size=" + getSize() + "/" + capacity + ", hits=" + getHits() + ", misses=" +
+                getMisses() + ", evictions=" + getEvictions() + '}';
+    }
+}
@@ -0,0 +1,289 @@
+package gregtech.api.recipes.map;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.fluids.FluidStack;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An order-insensitive fingerprint of the inputs used for a recipe search.
+ * <p>
+ * Equal item and fluid types are merged together with their amounts summed, so two inventories holding the same
+ * contents in different slots produce equal keys. The search voltage is part of the key, as it changes which
+ * recipes are considered valid.
+ * <p>
+ * Keys can also be built from the types of the inputs alone, with {@link #addItemType(ItemStack)} and
+ * {@link #addFluidType(FluidStack)}.
+ * <p>
+ * Keys built for lookups reference the NBT of the searched stacks directly. Use {@link #copy()} to obtain a key
+ * which is safe to store.
+ */
+public final class RecipeLookupKey {
+
+    private Item[] items;
+    private int[] metas;
+    private NBTTagCompound[] itemTags;
+    private long[] itemCounts;
+    private int itemSize;
+
+    private String[] fluids;
+    private NBTTagCompound[] fluidTags;
+    private long[] fluidAmounts;
+    private int fluidSize;
+
+    private long voltage;
+    private boolean exactVoltage;
+
+    private int hash;
+
+    public RecipeLookupKey() {
+        this(4, 2);
+    }
+
+    private RecipeLookupKey(int itemCapacity, int fluidCapacity) {
+        this.items = new Item[itemCapacity];
+        this.metas = new int[itemCapacity];
+        this.itemTags = new NBTTagCompound[itemCapacity];
+        this.itemCounts = new long[itemCapacity];
+        this.fluids = new String[fluidCapacity];
+        this.fluidTags = new NBTTagCompound[fluidCapacity];
+        this.fluidAmounts = new long[fluidCapacity];
+    }
+
+    /**
+     * @param items        the item inputs
+     * @param fluids       the fluid inputs
+     * @param voltage      the voltage of the search
+     * @param exactVoltage if the search requires exact voltage
+     * @return a new key for the inputs
+     */
+    public static @NotNull RecipeLookupKey of(@NotNull List<ItemStack> items, @NotNull List<FluidStack> fluids,
+                                              long voltage, boolean exactVoltage) {
+        RecipeLookupKey key = new RecipeLookupKey(Math.max(1, items.size()), Math.max(1, fluids.size()));
+        key.reset(voltage, exactVoltage);
+        for (int i = 0; i < items.size(); i++) {
+            key.addItem(items.get(i));
+        }
+        for (int i = 0; i < fluids.size(); i++) {
+            key.addFluid(fluids.get(i));
+        }
+        return key;
+    }
+
+    /**
+     * Clear the contents of this key so it can be reused
+     *
+     * @param voltage      the voltage of the search
+     * @param exactVoltage if the search requires exact voltage
+     */
+    public void reset(long voltage, boolean exactVoltage) {
+        Arrays.fill(this.itemTags, 0, this.itemSize, null);
+        Arrays.fill(this.items, 0, this.itemSize, null);
+        Arrays.fill(this.fluidTags, 0, this.fluidSize, null);
+        Arrays.fill(this.fluids, 0, this.fluidSize, null);
+        this.itemSize = 0;
+        this.fluidSize = 0;
+        this.voltage = voltage;
+        this.exactVoltage = exactVoltage;
+        this.hash = 0;
+    }
+
+    /**
+     * @param stack the stack to add, empty stacks are ignored
+     */
+    public void addItem(@NotNull ItemStack stack) {
+        addItem(stack, stack.getCount());
+    }
+
+    /**
+     * Add the type of a stack, ignoring its amount
+     *
+     * @param stack the stack to add, empty stacks are ignored
+     */
+    public void addItemType(@NotNull ItemStack stack) {
+        addItem(stack, 0);
+    }
+
+    /**
+     * Add an amount of the type of a stack
+     *
+     * @param stack the stack to add, empty stacks are ignored
+     * @param count the amount to add
+     */
+    public void addItem(@NotNull ItemStack stack, int count) {
+        if (stack.isEmpty()) return;
+        this.hash = 0;
+        Item item = stack.getItem();
+        int meta = stack.getMetadata();
+        NBTTagCompound tag = stack.getTagCompound();
+        for (int i = 0; i < itemSize; i++) {
+            if (items[i] == item && metas[i] == meta && Objects.equals(itemTags[i], tag)) {
+                itemCounts[i] += count;
+                return;
+            }
+        }
+
+        if (itemSize == items.length) {
+            int newSize = itemSize * 2;
+            this.items = Arrays.copyOf(items, newSize);
+            this.metas = Arrays.copyOf(metas, newSize);
+            this.itemTags = Arrays.copyOf(itemTags, newSize);
+            this.itemCounts = Arrays.copyOf(itemCounts, newSize);
+        }
+        items[itemSize] = item;
+        metas[itemSize] = meta;
+        itemTags[itemSize] = tag;
+        itemCounts[itemSize] = count;
+        itemSize++;
+    }
+
+    /**
+     * @param stack the stack to add, empty stacks are ignored
+     */
+    public void addFluid(@Nullable FluidStack stack) {
+        if (stack == null) return;
+        addFluid(stack, stack.amount);
+    }
+
+    /**
+     * Add the type of a stack, ignoring its amount
+     *
+     * @param stack the stack to add, empty stacks are ignored
+     */
+    public void addFluidType(@Nullable FluidStack stack) {
+        if (stack == null) return;
+        addFluid(stack, 0);
+    }
+
+    private void addFluid(@NotNull FluidStack stack, int amount) {
+        if (stack.amount == 0) return;
+        this.hash = 0;
+        // the Fluid registered to the fluidName on game load might not be the same Fluid after loading the world,
+        // but will still have the same fluidName.
+        String fluid = stack.getFluid().getName();
+        for (int i = 0; i < fluidSize; i++) {
+            if (fluids[i].equals(fluid) && Objects.equals(fluidTags[i], stack.tag)) {
+                fluidAmounts[i] += amount;
+                return;
+            }
+        }
+
+        if (fluidSize == fluids.length) {
+            int newSize = fluidSize * 2;
+            this.fluids = Arrays.copyOf(fluids, newSize);
+            this.fluidTags = Arrays.copyOf(fluidTags, newSize);
+            this.fluidAmounts = Arrays.copyOf(fluidAmounts, newSize);
+        }
+        fluids[fluidSize] = fluid;
+        fluidTags[fluidSize] = stack.tag;
+        fluidAmounts[fluidSize] = amount;
+        fluidSize++;
+    }
+
+    /**
+     * @return if the key has no inputs
+     */
+    public boolean isEmpty() {
+        return itemSize == 0 && fluidSize == 0;
+    }
+
+    /**
+     * @return a copy of this key, which does not share any mutable state with the searched inputs
+     */
+    public @NotNull RecipeLookupKey copy() {
+        RecipeLookupKey copy = new RecipeLookupKey(Math.max(1, itemSize), Math.max(1, fluidSize));
+        copy.itemSize = this.itemSize;
+        copy.fluidSize = this.fluidSize;
+        System.arraycopy(this.items, 0, copy.items, 0, itemSize);
+        System.arraycopy(this.metas, 0, copy.metas, 0, itemSize);
+        System.arraycopy(this.itemCounts, 0, copy.itemCounts, 0, itemSize);
+        for (int i = 0; i < itemSize; i++) {
+            copy.itemTags[i] = this.itemTags[i] == null ? null : this.itemTags[i].copy();
+        }
+        System.arraycopy(this.fluids, 0, copy.fluids, 0, fluidSize);
+        System.arraycopy(this.fluidAmounts, 0, copy.fluidAmounts, 0, fluidSize);
+        for (int i = 0; i < fluidSize; i++) {
+            copy.fluidTags[i] = this.fluidTags[i] == null ? null : this.fluidTags[i].copy();
+        }
+        copy.voltage = this.voltage;
+        copy.exactVoltage = this.exactVoltage;
+        copy.hash = this.hash;
+        return copy;
+    }
+
+    private int indexOfItem(@NotNull RecipeLookupKey other, int otherIndex) {
+        for (int i = 0; i < itemSize; i++) {
+            if (items[i] == other.items[otherIndex] && metas[i] == other.metas[otherIndex] &&
+                    Objects.equals(itemTags[i], other.itemTags[otherIndex])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOfFluid(@NotNull RecipeLookupKey other, int otherIndex) {
+        for (int i = 0; i < fluidSize; i++) {
+            if (fluids[i].equals(other.fluids[otherIndex]) &&
+                    Objects.equals(fluidTags[i], other.fluidTags[otherIndex])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RecipeLookupKey other)) return false;
+        if (this.voltage != other.voltage || this.exactVoltage != other.exactVoltage) return false;
+        if (this.itemSize != other.itemSize || this.fluidSize != other.fluidSize) return false;
+        if (this.hashCode() != other.hashCode()) return false;
+
+        // types are unique within a key, so matching every entry of the other key is enough
+        for (int i = 0; i < other.itemSize; i++) {
+            int index = indexOfItem(other, i);
+            if (index == -1 || itemCounts[index] != other.itemCounts[i]) return false;
+        }
+        for (int i = 0; i < other.fluidSize; i++) {
+            int index = indexOfFluid(other, i);
+            if (index == -1 || fluidAmounts[index] != other.fluidAmounts[i]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        if (hash == 0) {
+            // summing mixed entry hashes keeps the hash independent of input order
+            int h = 0;
+            for (int i = 0; i < itemSize; i++) {
+                int entry = 31 * items[i].hashCode() + metas[i];
+                entry = 31 * entry + (itemTags[i] == null ? 0 : itemTags[i].hashCode());
+                entry = 31 * entry + Long.hashCode(itemCounts[i]);
+                h += HashCommon.mix(entry);
+            }
+            for (int i = 0; i < fluidSize; i++) {
+                int entry = 31 * fluids[i].hashCode() + (fluidTags[i] == null ? 0 : fluidTags[i].hashCode());
+                entry = 31 * entry + Long.hashCode(fluidAmounts[i]);
+                h += HashCommon.mix(~entry);
+            }
+            h = 31 * h + Long.hashCode(voltage);
+            h = 31 * h + (exactVoltage ? 1 : 0);
+            this.hash = h == 0 ? 1 : h;
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "RecipeLookupKey{items=" + itemSize + ", fluids=" + fluidSize + ", voltage=" + voltage + '}';
+    }
+}
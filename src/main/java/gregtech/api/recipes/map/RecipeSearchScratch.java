@@ -0,0 +1,296 @@
+package gregtech.api.recipes.map;
+
+import gregtech.api.capability.IMultipleTankHandler;
+import gregtech.api.capability.impl.ItemHandlerList;
+import gregtech.api.recipes.Recipe;
+import gregtech.api.unification.OreDictUnifier;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.items.IItemHandlerModifiable;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Reusable per-thread state for searching recipes directly from item and fluid handlers.
+ * <p>
+ * All buffers and map ingredients are kept between searches, so a search which does not find a recipe does not
+ * leave any garbage behind. Must be {@link #release() released} after every {@link #acquire() acquisition}.
+ */
+@ApiStatus.Internal
+public final class RecipeSearchScratch implements Predicate<Recipe> {
+
+    private static final ThreadLocal<RecipeSearchScratch> SCRATCH = ThreadLocal.withInitial(RecipeSearchScratch::new);
+
+    private final RecipeLookupKey key = new RecipeLookupKey();
+
+    private ItemStack[] items = new ItemStack[16];
+    private int itemCount;
+    private FluidStack[] fluids = new FluidStack[4];
+    private int fluidCount;
+
+    private final List<List<AbstractMapIngredient>> ingredients = new ObjectArrayList<>();
+    private final List<ObjectArrayList<AbstractMapIngredient>> ingredientLists = new ObjectArrayList<>();
+    private final List<MapItemStackIngredient> itemIngredients = new ObjectArrayList<>();
+    private final List<MapItemStackNBTIngredient> itemNBTIngredients = new ObjectArrayList<>();
+    private final List<MapOreDictIngredient> oreIngredients = new ObjectArrayList<>();
+    private final List<MapOreDictNBTIngredient> oreNBTIngredients = new ObjectArrayList<>();
+    private final List<ScratchMapFluidIngredient> fluidIngredients = new ObjectArrayList<>();
+    private int usedIngredientLists;
+    private int usedItemIngredients;
+    private int usedItemNBTIngredients;
+    private int usedOreIngredients;
+    private int usedOreNBTIngredients;
+    private int usedFluidIngredients;
+
+    private long voltage;
+    private IItemHandlerModifiable itemInputs;
+    private IMultipleTankHandler fluidInputs;
+
+    private boolean inUse;
+
+    private RecipeSearchScratch() {}
+
+    /**
+     * @return the scratch state for the current thread, or a new one if it is already in use
+     */
+    public static @NotNull RecipeSearchScratch acquire() {
+        RecipeSearchScratch scratch = SCRATCH.get();
+        if (scratch.inUse) {
+            scratch = new RecipeSearchScratch();
+        }
+        scratch.inUse = true;
+        return scratch;
+    }
+
+    /**
+     * Release the scratch state, dropping all references to the searched inputs.
+     */
+    public void release() {
+        Arrays.fill(items, 0, itemCount, null);
+        Arrays.fill(fluids, 0, fluidCount, null);
+        this.itemCount = 0;
+        this.fluidCount = 0;
+        this.key.reset(0, false);
+        clearIngredients();
+        this.itemInputs = null;
+        this.fluidInputs = null;
+        this.inUse = false;
+    }
+
+    /**
+     * Collect the unique inputs of the handlers, and prepare the recipe validity check.
+     *
+     * @param voltage     the voltage of the search
+     * @param itemInputs  the item inputs
+     * @param fluidInputs the fluid inputs
+     */
+    public void collect(long voltage, @NotNull IItemHandlerModifiable itemInputs,
+                        @NotNull IMultipleTankHandler fluidInputs) {
+        this.voltage = voltage;
+        this.itemInputs = itemInputs;
+        this.fluidInputs = fluidInputs;
+        this.key.reset(voltage, false);
+
+        // combined inventories keep the amount of each item type, so their slots do not need to be collected
+        Object2IntMap<ItemStack> itemCounts = itemInputs instanceof ItemHandlerList list ? list.getItemCounts() :
+                null;
+        if (itemCounts != null) {
+            for (Object2IntMap.Entry<ItemStack> entry : itemCounts.object2IntEntrySet()) {
+                key.addItem(entry.getKey(), entry.getIntValue());
+                addItem(entry.getKey());
+            }
+        } else {
+            main:
+            for (int i = 0; i < itemInputs.getSlots(); i++) {
+                ItemStack stack = itemInputs.getStackInSlot(i);
+                if (stack.isEmpty()) continue;
+                key.addItem(stack);
+
+                // This uses a strict comparison, so it will not pack the same item with different NBT tags
+                for (int j = 0; j < itemCount; j++) {
+                    if (stack.isItemEqual(items[j]) && ItemStack.areItemStackTagsEqual(stack, items[j])) {
+                        continue main;
+                    }
+                }
+                addItem(stack);
+            }
+        }
+
+        for (int i = 0; i < fluidInputs.getTanks(); i++) {
+            FluidStack stack = fluidInputs.getTankAt(i).getFluid();
+            if (stack == null || stack.amount == 0) continue;
+            key.addFluid(stack);
+
+            if (fluidCount == fluids.length) {
+                this.fluids = Arrays.copyOf(fluids, fluidCount * 2);
+            }
+            fluids[fluidCount++] = stack;
+        }
+    }
+
+    /**
+     * @return the lookup key of the collected inputs
+     */
+    public @NotNull RecipeLookupKey getKey() {
+        return key;
+    }
+
+    /**
+     * @return if no inputs were collected
+     */
+    public boolean isEmpty() {
+        return itemCount == 0 && fluidCount == 0;
+    }
+
+    /**
+     * Convert the collected inputs into map ingredients for searching the lookup tree.
+     *
+     * @param oreDict if ore dictionary ingredients should be created
+     * @param nbt     if nbt matching ingredients should be created
+     * @return the ingredients, or null if there are no ingredients to search with
+     */
+    public @Nullable List<List<AbstractMapIngredient>> buildIngredients(boolean oreDict, boolean nbt) {
+        clearIngredients();
+        for (int i = 0; i < itemCount; i++) {
+            ItemStack stack = items[i];
+            int meta = stack.getMetadata();
+            NBTTagCompound tag = stack.getTagCompound();
+            List<AbstractMapIngredient> list = nextIngredientList();
+
+            // add the regular input
+            list.add(nextItemIngredient(stack, meta, tag));
+
+            if (oreDict) {
+                // add the ore dict inputs
+                for (int ore : OreDictUnifier.getOreIds(stack)) {
+                    list.add(nextOreIngredient(ore));
+                    if (nbt) {
+                        // add the nbt inputs for the oredict inputs
+                        list.add(nextOreNBTIngredient(ore, tag));
+                    }
+                }
+            }
+            if (nbt) {
+                // add the nbt input for the regular input
+                list.add(nextItemNBTIngredient(stack, meta, tag));
+            }
+            ingredients.add(list);
+        }
+        for (int i = 0; i < fluidCount; i++) {
+            List<AbstractMapIngredient> list = nextIngredientList();
+            list.add(nextFluidIngredient(fluids[i]));
+            ingredients.add(list);
+        }
+        return ingredients.isEmpty() ? null : ingredients;
+    }
+
+    /**
+     * @param recipe the recipe to check
+     * @return if the recipe is valid for the collected inputs
+     */
+    @Override
+    public boolean test(@NotNull Recipe recipe) {
+        if (recipe.getEUt() > voltage) {
+            // there is not enough voltage to consider the recipe valid
+            return false;
+        }
+        return recipe.matches(false, itemInputs, fluidInputs);
+    }
+
+    private void addItem(@NotNull ItemStack stack) {
+        if (itemCount == items.length) {
+            this.items = Arrays.copyOf(items, itemCount * 2);
+        }
+        items[itemCount++] = stack;
+    }
+
+    private void clearIngredients() {
+        ingredients.clear();
+        for (int i = 0; i < ingredientLists.size(); i++) {
+            ingredientLists.get(i).clear();
+        }
+        // the pooled ingredients must not keep the stacks and tags of the last search alive
+        for (int i = 0; i < usedItemIngredients; i++) {
+            itemIngredients.get(i).clear();
+        }
+        for (int i = 0; i < usedItemNBTIngredients; i++) {
+            itemNBTIngredients.get(i).clear();
+        }
+        for (int i = 0; i < usedOreNBTIngredients; i++) {
+            oreNBTIngredients.get(i).clear();
+        }
+        for (int i = 0; i < usedFluidIngredients; i++) {
+            fluidIngredients.get(i).clear();
+        }
+        this.usedIngredientLists = 0;
+        this.usedItemIngredients = 0;
+        this.usedItemNBTIngredients = 0;
+        this.usedOreIngredients = 0;
+        this.usedOreNBTIngredients = 0;
+        this.usedFluidIngredients = 0;
+    }
+
+    private @NotNull List<AbstractMapIngredient> nextIngredientList() {
+        if (usedIngredientLists == ingredientLists.size()) {
+            ingredientLists.add(new ObjectArrayList<>(4));
+        }
+        return ingredientLists.get(usedIngredientLists++);
+    }
+
+    private @NotNull AbstractMapIngredient nextItemIngredient(@NotNull ItemStack stack, int meta,
+                                                              @Nullable NBTTagCompound tag) {
+        if (usedItemIngredients == itemIngredients.size()) {
+            itemIngredients.add(new MapItemStackIngredient(stack, meta, tag));
+        }
+        MapItemStackIngredient ingredient = itemIngredients.get(usedItemIngredients++);
+        ingredient.reuse(stack, meta, tag);
+        return ingredient;
+    }
+
+    private @NotNull AbstractMapIngredient nextItemNBTIngredient(@NotNull ItemStack stack, int meta,
+                                                                 @Nullable NBTTagCompound tag) {
+        if (usedItemNBTIngredients == itemNBTIngredients.size()) {
+            itemNBTIngredients.add(new MapItemStackNBTIngredient(stack, meta, tag));
+        }
+        MapItemStackNBTIngredient ingredient = itemNBTIngredients.get(usedItemNBTIngredients++);
+        ingredient.reuse(stack, meta, tag);
+        return ingredient;
+    }
+
+    private @NotNull AbstractMapIngredient nextOreIngredient(int ore) {
+        if (usedOreIngredients == oreIngredients.size()) {
+            oreIngredients.add(new MapOreDictIngredient(ore));
+        }
+        MapOreDictIngredient ingredient = oreIngredients.get(usedOreIngredients++);
+        ingredient.reuse(ore);
+        return ingredient;
+    }
+
+    private @NotNull AbstractMapIngredient nextOreNBTIngredient(int ore, @Nullable NBTTagCompound tag) {
+        if (usedOreNBTIngredients == oreNBTIngredients.size()) {
+            oreNBTIngredients.add(new MapOreDictNBTIngredient(ore, tag));
+        }
+        MapOreDictNBTIngredient ingredient = oreNBTIngredients.get(usedOreNBTIngredients++);
+        ingredient.reuse(ore, tag);
+        return ingredient;
+    }
+
+    private @NotNull AbstractMapIngredient nextFluidIngredient(@NotNull FluidStack stack) {
+        if (usedFluidIngredients == fluidIngredients.size()) {
+            fluidIngredients.add(new ScratchMapFluidIngredient());
+        }
+        ScratchMapFluidIngredient ingredient = fluidIngredients.get(usedFluidIngredients++);
+        ingredient.reuse(stack);
+        return ingredient;
+    }
+}
@@ -0,0 +1,41 @@
+package gregtech.api.recipes.map;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.fluids.Fluid;
+import net.minecraftforge.fluids.FluidStack;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A fluid ingredient reused across recipe searches. It is equal to a {@link MapFluidIngredient} of the same fluid,
+ * but is never inserted into a lookup tree, which only holds immutable ingredients.
+ */
+final class ScratchMapFluidIngredient extends MapFluidIngredient {
+
+    private Fluid currentFluid;
+    private NBTTagCompound currentTag;
+
+    void reuse(@NotNull FluidStack fluidStack) {
+        this.currentFluid = fluidStack.getFluid();
+        this.currentTag = fluidStack.tag;
+        invalidate();
+    }
+
+    /**
+     * Drop the references to the stack this ingredient was last reused for
+     */
+    void clear() {
+        this.currentFluid = null;
+        this.currentTag = null;
+    }
+
+    @Override
+    protected Fluid getFluid() {
+        return currentFluid;
+    }
+
+    @Override
+    protected NBTTagCompound getTag() {
+        return currentTag;
+    }
+}
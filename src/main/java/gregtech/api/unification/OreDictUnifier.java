@@ -2,6 +2,7 @@ package gregtech.api.unification;
 
 import gregtech.api.GTValues;
 import gregtech.api.GregTechAPI;
+import gregtech.api.recipes.RecipeMap;
 import gregtech.api.unification.material.Material;
 import gregtech.api.unification.material.properties.PropertyKey;
 import gregtech.api.unification.material.registry.MaterialRegistry;
@@ -20,8 +21,10 @@ import net.minecraftforge.oredict.OreDictionary.OreRegisterEvent;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -39,6 +42,9 @@ public class OreDictUnifier {
     private static final Map<UnificationEntry, ArrayList<ItemAndMetadata>> stackUnificationItems = new Object2ObjectOpenHashMap<>();
     private static final Map<Item, ItemVariantMap.Mutable<Set<String>>> stackOreDictName = new Object2ObjectOpenHashMap<>();
     private static final Map<String, List<ItemStack>> oreDictNameStacks = new Object2ObjectOpenHashMap<>();
+    private static final Map<Item, Int2ObjectOpenHashMap<int[]>> stackOreIds = new Reference2ObjectOpenHashMap<>();
+    private static final int[] EMPTY_ORE_IDS = new int[0];
+    private static boolean oreIdsIndexed;
 
     @Nullable
     private static Comparator<ItemAndMetadata> stackComparator;
@@ -83,6 +89,7 @@ public class OreDictUnifier {
             }
         }
         MinecraftForge.EVENT_BUS.register(OreDictUnifier.class);
+        oreIdsIndexed = true;
     }
 
     @SubscribeEvent
@@ -97,6 +104,9 @@ public class OreDictUnifier {
             entry.put(event.getOre(), set);
         }
         set.add(oreName);
+        indexOreId(event.getOre(), OreDictionary.getOreID(oreName));
+        // the item may now match ore dictionary ingredients it did not match before
+        RecipeMap.invalidateLookupCaches();
         List<ItemStack> itemStackListForOreDictName = oreDictNameStacks.computeIfAbsent(oreName,
                 k -> new ArrayList<>());
         addAndSort(itemStackListForOreDictName, event.getOre().copy(), getItemStackComparator());
@@ -159,6 +169,50 @@ public class OreDictUnifier {
         }
     }
 
+    /**
+     * Get the ore dictionary IDs of a stack, equivalent to {@link OreDictionary#getOreIDs(ItemStack)} without
+     * allocating.
+     *
+     * @param itemStack the stack
+     * @return the sorted ore dictionary IDs of the stack. The array is shared and must not be modified.
+     */
+    public static int @NotNull [] getOreIds(@NotNull ItemStack itemStack) {
+        if (itemStack.isEmpty()) return EMPTY_ORE_IDS;
+        // registrations are only indexed once the unifier is initialized
+        if (!oreIdsIndexed) return OreDictionary.getOreIDs(itemStack);
+        Int2ObjectOpenHashMap<int[]> entry = stackOreIds.get(itemStack.getItem());
+        if (entry == null) return EMPTY_ORE_IDS;
+        int[] ids = entry.get(itemStack.getItemDamage());
+        if (ids == null) ids = entry.get(GTValues.W);
+        return ids == null ? EMPTY_ORE_IDS : ids;
+    }
+
+    private static void indexOreId(@NotNull ItemStack itemStack, int oreId) {
+        Int2ObjectOpenHashMap<int[]> entry = stackOreIds.computeIfAbsent(itemStack.getItem(),
+                item -> new Int2ObjectOpenHashMap<>());
+        int meta = itemStack.getItemDamage();
+        if (meta == GTValues.W) {
+            // wildcard registrations apply to every variant, so they are merged into each of them
+            entry.replaceAll((variant, ids) -> addOreId(ids, oreId));
+            if (!entry.containsKey(GTValues.W)) entry.put(GTValues.W, new int[] { oreId });
+        } else {
+            int[] ids = entry.get(meta);
+            if (ids == null) ids = entry.get(GTValues.W);
+            entry.put(meta, addOreId(ids == null ? EMPTY_ORE_IDS : ids, oreId));
+        }
+    }
+
+    private static int @NotNull [] addOreId(int @NotNull [] ids, int oreId) {
+        int index = Arrays.binarySearch(ids, oreId);
+        if (index >= 0) return ids;
+        index = -index - 1;
+        int[] result = new int[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, index);
+        result[index] = oreId;
+        System.arraycopy(ids, index, result, index + 1, ids.length - index);
+        return result;
+    }
+
     @NotNull
     public static Set<String> getOreDictionaryNames(@NotNull ItemStack itemStack) {
         if (itemStack.isEmpty()) return Collections.emptySet();
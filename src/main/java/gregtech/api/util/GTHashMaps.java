@@ -1,5 +1,7 @@
 package gregtech.api.util;
 
+import gregtech.api.capability.impl.ItemHandlerList;
+
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.IFluidHandler;
@@ -40,6 +42,15 @@ public final class GTHashMaps {
     public static Object2IntMap<ItemStack> fromItemHandler(@NotNull IItemHandler inputs, boolean linked) {
         final Object2IntMap<ItemStack> map = createItemStackMap(linked);
 
+        // Combined inventories keep their counts between changes, so their slots do not need to be counted again
+        if (inputs instanceof ItemHandlerList list) {
+            Object2IntMap<ItemStack> counts = list.getItemCounts();
+            if (counts != null) {
+                map.putAll(counts);
+                return map;
+            }
+        }
+
         // Create a single stack of the combined count for each item
 
         for (int i = 0; i < inputs.getSlots(); i++) {
@@ -0,0 +1,178 @@
+package gregtech.api.util;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the time spent ticking MetaTileEntities, their traits and covers, and searching for recipes.
+ * <p>
+ * Timings are only recorded and read on the server thread, so they are kept without any locking.
+ */
+public final class TickProfiler {
+
+    public static final String MACHINES = "Machines";
+    public static final String TRAITS = "Traits";
+    public static final String COVERS = "Covers";
+    public static final String RECIPE_SEARCHES = "Recipe searches";
+
+    private static final Map<String, Object2ObjectOpenHashMap<Object, Timings>> timingsByCategory =
+            new Object2ObjectLinkedOpenHashMap<>();
+    private static final Int2ObjectMap<Long2LongOpenHashMap> timeByPosition = new Int2ObjectOpenHashMap<>();
+    private static final Int2ObjectMap<Long2ObjectOpenHashMap<Object>> typeByPosition = new Int2ObjectOpenHashMap<>();
+
+    private static boolean enabled;
+    private static long startTime;
+    private static long profiledTime;
+
+    private TickProfiler() {}
+
+    /**
+     * @return if timings are being recorded
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Discard all recorded timings and start recording
+     */
+    public static void start() {
+        timingsByCategory.clear();
+        timeByPosition.clear();
+        typeByPosition.clear();
+        profiledTime = 0;
+        startTime = System.nanoTime();
+        enabled = true;
+    }
+
+    /**
+     * Stop recording, keeping the recorded timings
+     */
+    public static void stop() {
+        if (!enabled) return;
+        profiledTime += System.nanoTime() - startTime;
+        enabled = false;
+    }
+
+    /**
+     * Record a timing
+     *
+     * @param category the category of the timing
+     * @param key      what was timed, such as a class or a name
+     * @param nanos    the time taken in nanoseconds
+     */
+    public static void record(@NotNull String category, @NotNull Object key, long nanos) {
+        timingsByCategory.computeIfAbsent(category, k -> new Object2ObjectOpenHashMap<>())
+                .computeIfAbsent(key, k -> new Timings()).add(nanos);
+    }
+
+    /**
+     * Record the timing of a whole MetaTileEntity tick
+     *
+     * @param world the world of the MetaTileEntity
+     * @param pos   the position of the MetaTileEntity
+     * @param type  the class of the MetaTileEntity
+     * @param nanos the time taken in nanoseconds
+     */
+    public static void recordMachine(@NotNull World world, @NotNull BlockPos pos, @NotNull Class<?> type,
+                                     long nanos) {
+        record(MACHINES, type, nanos);
+        int dimension = world.provider.getDimension();
+        long position = pos.toLong();
+        timeByPosition.computeIfAbsent(dimension, k -> new Long2LongOpenHashMap()).addTo(position, nanos);
+        typeByPosition.computeIfAbsent(dimension, k -> new Long2ObjectOpenHashMap<>()).put(position, type);
+    }
+
+    /**
+     * @param top the amount of entries to list per category
+     * @return a report of the recorded timings, or an empty list if nothing was recorded
+     */
+    public static @NotNull List<String> dump(int top) {
+        List<String> lines = new ArrayList<>();
+        if (timingsByCategory.isEmpty()) return lines;
+
+        long elapsed = enabled ? profiledTime + System.nanoTime() - startTime : profiledTime;
+        lines.add(String.format("Profiled for %.1f s", elapsed / 1.0E9));
+        for (Map.Entry<String, Object2ObjectOpenHashMap<Object, Timings>> category : timingsByCategory.entrySet()) {
+            lines.add(category.getKey() + ":");
+            List<Map.Entry<Object, Timings>> entries = new ArrayList<>(category.getValue().entrySet());
+            entries.sort(Comparator.comparingLong((Map.Entry<Object, Timings> e) -> e.getValue().total).reversed());
+            for (int i = 0; i < Math.min(top, entries.size()); i++) {
+                Timings timings = entries.get(i).getValue();
+                lines.add(String.format("  %s: %d calls, %.2f ms total, %.1f us mean, p99 < %.1f us, max %.1f us",
+                        getName(entries.get(i).getKey()), timings.count, timings.total / 1.0E6,
+                        timings.total / 1.0E3 / timings.count, timings.getPercentile(0.99) / 1.0E3,
+                        timings.max / 1.0E3));
+            }
+        }
+
+        List<long[]> positions = new ArrayList<>();
+        for (Int2ObjectMap.Entry<Long2LongOpenHashMap> dimension : timeByPosition.int2ObjectEntrySet()) {
+            for (Long2LongMap.Entry entry : dimension.getValue().long2LongEntrySet()) {
+                positions.add(new long[] { dimension.getIntKey(), entry.getLongKey(), entry.getLongValue() });
+            }
+        }
+        positions.sort(Comparator.comparingLong((long[] p) -> p[2]).reversed());
+        lines.add("Positions:");
+        for (int i = 0; i < Math.min(top, positions.size()); i++) {
+            long[] position = positions.get(i);
+            BlockPos pos = BlockPos.fromLong(position[1]);
+            Object type = typeByPosition.get((int) position[0]).get(position[1]);
+            lines.add(String.format("  DIM %d (%d, %d, %d) %s: %.2f ms total", position[0], pos.getX(), pos.getY(),
+                    pos.getZ(), getName(type), position[2] / 1.0E6));
+        }
+        return lines;
+    }
+
+    private static @NotNull String getName(Object key) {
+        return key instanceof Class<?>clazz ? clazz.getSimpleName() : String.valueOf(key);
+    }
+
+    /**
+     * The timings of a single key, with a histogram of power of two buckets
+     */
+    private static final class Timings {
+
+        private final long[] buckets = new long[Long.SIZE];
+        private long count;
+        private long total;
+        private long max;
+
+        private void add(long nanos) {
+            nanos = Math.max(0, nanos);
+            buckets[Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos | 1)]++;
+            count++;
+            total += nanos;
+            max = Math.max(max, nanos);
+        }
+
+        /**
+         * @return an upper bound of the timing at the percentile
+         */
+        private long getPercentile(double percentile) {
+            long threshold = (long) Math.ceil(count * percentile);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= threshold) {
+                    return Math.min(max, i >= Long.SIZE - 2 ? Long.MAX_VALUE : (2L << i) - 1);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package gregtech.api.util;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Removes tile entities from the tick list of their world while they have nothing to do, and adds them back when
+ * they are woken up.
+ * <p>
+ * Changes to the tick list are deferred to the boundaries of the world tick, as the list cannot be modified while
+ * the world is ticking its tile entities. A tile entity woken up during a tick resumes ticking on the next one. The
+ * owner of a handler has to forward world ticks and unloads to {@link #onWorldTick(World, TickEvent.Phase)} and
+ * {@link #onWorldUnload(World)}.
+ *
+ * @param <T> the type of the tile entities
+ */
+public abstract class TileEntitySleepHandler<T extends TileEntity> {
+
+    private final Map<World, SleepState<T>> statesPerWorld = new HashMap<>();
+
+    /**
+     * @param tile the tile entity
+     * @return if the tile entity is not ticking
+     */
+    protected abstract boolean isAsleep(@NotNull T tile);
+
+    /**
+     * @param tile   the tile entity
+     * @param asleep if the tile entity is no longer ticking
+     */
+    protected abstract void setAsleep(@NotNull T tile, boolean asleep);
+
+    /**
+     * @param tile the tile entity
+     * @return if the tile entity is ticked through the tick list of its world, and has to be added back to it
+     */
+    protected boolean isTickedByWorld(@NotNull T tile) {
+        return true;
+    }
+
+    /**
+     * Called when a tile entity which is still in the world resumes ticking
+     *
+     * @param tile the tile entity
+     */
+    protected void onWakeUp(@NotNull T tile) {}
+
+    /**
+     * Request a tile entity to stop ticking at the end of the current tick
+     *
+     * @param tile the tile entity
+     */
+    public void requestSleep(@NotNull T tile) {
+        World world = tile.getWorld();
+        if (world == null || world.isRemote) return;
+        statesPerWorld.computeIfAbsent(world, k -> new SleepState<>()).pendingSleep.add(tile);
+    }
+
+    /**
+     * Make a tile entity tick again, if it is asleep or about to fall asleep
+     *
+     * @param tile the tile entity
+     */
+    public void wakeUp(@NotNull T tile) {
+        World world = tile.getWorld();
+        if (world == null || world.isRemote) return;
+        SleepState<T> state = statesPerWorld.get(world);
+        if (state == null) return;
+        if (!state.pendingSleep.remove(tile) && isAsleep(tile)) {
+            state.pendingWake.add(tile);
+        }
+    }
+
+    /**
+     * Forget a tile entity which is being removed from the world
+     *
+     * @param tile the tile entity
+     */
+    public void forget(@NotNull T tile) {
+        World world = tile.getWorld();
+        if (world == null) return;
+        SleepState<T> state = statesPerWorld.get(world);
+        if (state == null) return;
+        state.pendingSleep.remove(tile);
+        state.pendingWake.remove(tile);
+        state.asleep.remove(tile);
+        setAsleep(tile, false);
+    }
+
+    /**
+     * @param world the world
+     * @return the amount of tile entities in the world which are not ticking
+     */
+    public int getSleepingCount(@NotNull World world) {
+        SleepState<T> state = statesPerWorld.get(world);
+        return state == null ? 0 : state.asleep.size();
+    }
+
+    public void onWorldUnload(@NotNull World world) {
+        statesPerWorld.remove(world);
+    }
+
+    public void onWorldTick(@NotNull World world, @NotNull TickEvent.Phase phase) {
+        if (world.isRemote) return;
+        SleepState<T> state = statesPerWorld.get(world);
+        if (state == null) return;
+        if (phase == TickEvent.Phase.END) {
+            applySleeps(world, state);
+        }
+        applyWakes(world, state);
+    }
+
+    private void applyWakes(@NotNull World world, @NotNull SleepState<T> state) {
+        for (T tile : state.pendingWake) {
+            state.asleep.remove(tile);
+            setAsleep(tile, false);
+            if (!tile.isInvalid() && world.isBlockLoaded(tile.getPos()) &&
+                    world.getTileEntity(tile.getPos()) == tile) {
+                if (isTickedByWorld(tile)) {
+                    world.tickableTileEntities.add(tile);
+                }
+                onWakeUp(tile);
+            }
+        }
+        state.pendingWake.clear();
+    }
+
+    private void applySleeps(@NotNull World world, @NotNull SleepState<T> state) {
+        if (state.pendingSleep.isEmpty()) return;
+        world.tickableTileEntities.removeAll(state.pendingSleep);
+        for (T tile : state.pendingSleep) {
+            setAsleep(tile, true);
+            state.asleep.add(tile);
+        }
+        state.pendingSleep.clear();
+    }
+
+    private static final class SleepState<T> {
+
+        private final ReferenceOpenHashSet<T> pendingSleep = new ReferenceOpenHashSet<>();
+        private final ReferenceLinkedOpenHashSet<T> pendingWake = new ReferenceLinkedOpenHashSet<>();
+        private final ReferenceOpenHashSet<T> asleep = new ReferenceOpenHashSet<>();
+    }
+}
@@ -9,6 +9,7 @@ import gregtech.api.items.toolitem.IGTTool;
 import gregtech.api.metatileentity.registry.MTERegistry;
 import gregtech.api.recipes.GTRecipeInputCache;
 import gregtech.api.recipes.ModHandler;
+import gregtech.api.recipes.RecipeMap;
 import gregtech.api.recipes.ingredients.GTRecipeOreInput;
 import gregtech.api.recipes.properties.impl.FusionEUToStartProperty;
 import gregtech.api.unification.material.Material;
@@ -364,7 +365,9 @@ public class CommonProxy {
 
         GTLog.logger.info("Registering recipes...");
 
+        RecipeMap.beginDeferredCompilation();
         GTRecipeManager.load();
+        RecipeMap.finishDeferredCompilation();
     }
 
     // this is called almost last, to make sure all mods registered their ore dictionary
@@ -373,7 +376,9 @@ public class CommonProxy {
     @SubscribeEvent(priority = EventPriority.LOW)
     public static void runEarlyMaterialHandlers(RegistryEvent.Register<IRecipe> event) {
         GTLog.logger.info("Running early material handlers...");
+        RecipeMap.beginDeferredCompilation();
         OrePrefix.runMaterialHandlers();
+        RecipeMap.finishDeferredCompilation();
     }
 
     // this is called last, so all mods finished registering their stuff, as example, CraftTweaker
@@ -381,8 +386,10 @@ public class CommonProxy {
     @SubscribeEvent(priority = EventPriority.LOWEST)
     public static void registerRecipesLowest(RegistryEvent.Register<IRecipe> event) {
         GTLog.logger.info("Running late material handlers...");
+        RecipeMap.beginDeferredCompilation();
         OrePrefix.runMaterialHandlers();
         GTRecipeManager.loadLatest();
+        RecipeMap.finishDeferredCompilation();
 
         // On initial load we need to postpone cache flushing until FMLPostInitializationEvent
         // to account for post-init recipe registration
@@ -442,6 +449,7 @@ public class CommonProxy {
 
     public void onLoadComplete() {
         GTRecipeInputCache.disableCache();
+        RecipeMap.compileLookups();
 
         // If JEI and GS is not loaded, refresh ore dict ingredients
         // Not needed if JEI is loaded, as done in the JEI plugin (and this runs after that)
@@ -44,6 +44,10 @@ public class ConfigHolder {
 
     public static class MachineOptions {
 
+        @Config.Comment("Config options for GT Pipes")
+        @Config.Name("Pipe Options")
+        public PipeOptions pipes = new PipeOptions();
+
         @Config.Comment({ "Whether insufficient energy supply should reset Machine recipe progress to zero.",
                 "If true, progress will reset.", "If false, progress will decrease to zero with 2x speed",
                 "Default: false" })
@@ -160,6 +164,37 @@ public class ConfigHolder {
                 "This does NOT apply to the World Accelerator, but to external effects like Time in a Bottle.",
                 "Default: true" })
         public boolean allowTickAcceleration = true;
+
+        @Config.Comment({ "Whether idle machines should stop ticking until something wakes them up.",
+                "Machines wake up when their inventories, energy, covers, neighbors or redstone inputs change.",
+                "Default: false" })
+        public boolean sleepIdleMachines = false;
+
+        @Config.Comment({ "The maximum amount of ticks of recipe energy electric machines draw at once.",
+                "Energy drawn ahead is refunded if the recipe is interrupted, as far as the energy storage allows.",
+                "Set to 1 to draw energy every tick.",
+                "Default: 1" })
+        @Config.RangeInt(min = 1, max = 1200)
+        public int recipeEnergyDrawAheadTicks = 1;
+
+        @Config.Comment({ "Whether machines should be ticked by GregTech instead of the tick list of their world.",
+                "Machines are ticked at the end of the world tick, grouped by their type.",
+                "Default: false" })
+        public boolean centralizedMachineTicking = false;
+
+        @Config.Comment({ "Whether fluid pipe networks should move fluids from the pipes they are inserted into " +
+                "directly to their destinations, instead of from pipe to pipe.",
+                "Throughput limits and pipe damage are kept, but fluids do not stay in the pipes between them.",
+                "Default: false" })
+        public boolean networkFluidFlow = false;
+
+        public static class PipeOptions {
+
+            @Config.Comment({
+                    "Whether empty fluid pipes without ticking covers should stop ticking until they are filled.",
+                    "Default: false" })
+            public boolean sleepEmptyFluidPipes = false;
+        }
     }
 
     public static class WorldGenOptions {
@@ -281,6 +316,29 @@ public class ConfigHolder {
                 "Whether to nerf the output amounts of the first circuit in a set to 1 (from 2) and SoC to 2 (from 4).",
                 "Default: false" })
         public boolean harderCircuitRecipes = false;
+
+        @Config.Comment({ "The maximum amount of recipe search results to cache per Recipe Map.",
+                "Repeated searches with identical inputs, including ones which found no recipe, use the cache.",
+                "Set to 0 to disable the cache.",
+                "Default: 0" })
+        @Config.RangeInt(min = 0)
+        public int recipeLookupCacheSize = 0;
+
+        @Config.Comment({ "Whether machines in the same world share recipe search results within a tick.",
+                "Machines with the same Recipe Map, voltage tier and input types reuse a recipe found by another.",
+                "Default: false" })
+        public boolean sharedRecipeSearch = false;
+
+        @Config.Comment({ "Whether to compile the recipe lookup trees into a compact form once all recipes are loaded.",
+                "This speeds up recipe searches, at the cost of slightly longer loading and additional memory.",
+                "Default: false" })
+        public boolean compiledRecipeLookup = false;
+
+        @Config.Comment({ "Whether to compile the recipes registered by GregTech during startup in parallel.",
+                "Recipe Maps are compiled concurrently, on a pool sized to the available processors.",
+                "The resulting recipe lookup is identical to compiling them one at a time.",
+                "Default: false" })
+        public boolean parallelRecipeCompilation = false;
     }
 
     public static class CompatibilityOptions {
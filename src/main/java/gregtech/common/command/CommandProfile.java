@@ -0,0 +1,75 @@
+package gregtech.common.command;
+
+import gregtech.api.util.GTLog;
+import gregtech.api.util.TickProfiler;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.util.text.TextComponentTranslation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+public class CommandProfile extends CommandBase {
+
+    private static final int DEFAULT_TOP = 10;
+
+    @NotNull
+    @Override
+    public String getName() {
+        return "profile";
+    }
+
+    @NotNull
+    @Override
+    public String getUsage(@NotNull ICommandSender sender) {
+        return "gregtech.command.profile.usage";
+    }
+
+    @Override
+    public void execute(@NotNull MinecraftServer server, @NotNull ICommandSender sender,
+                        @NotNull String[] args) throws CommandException {
+        if (args.length == 0) throw new WrongUsageException(getUsage(sender));
+        switch (args[0]) {
+            case "start" -> {
+                TickProfiler.start();
+                sender.sendMessage(new TextComponentTranslation("gregtech.command.profile.start"));
+            }
+            case "stop" -> {
+                TickProfiler.stop();
+                sender.sendMessage(new TextComponentTranslation("gregtech.command.profile.stop"));
+            }
+            case "dump" -> {
+                int top = args.length > 1 ? parseInt(args[1], 1) : DEFAULT_TOP;
+                List<String> lines = TickProfiler.dump(top);
+                if (lines.isEmpty()) {
+                    sender.sendMessage(new TextComponentTranslation("gregtech.command.profile.empty"));
+                    return;
+                }
+                for (String line : lines) {
+                    sender.sendMessage(new TextComponentString(line));
+                    GTLog.logger.info(line);
+                }
+            }
+            default -> throw new WrongUsageException(getUsage(sender));
+        }
+    }
+
+    @NotNull
+    @Override
+    public List<String> getTabCompletions(@NotNull MinecraftServer server, @NotNull ICommandSender sender,
+                                          @NotNull String[] args, @Nullable BlockPos targetPos) {
+        if (args.length == 1) {
+            return getListOfStringsMatchingLastWord(args, "start", "stop", "dump");
+        }
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,81 @@
+package gregtech.common.command;
+
+import gregtech.api.recipes.RecipeMap;
+import gregtech.api.recipes.logic.TickRecipeSearchCache;
+import gregtech.api.recipes.map.RecipeLookupCache;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.util.text.TextComponentTranslation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+public class CommandRecipeCache extends CommandBase {
+
+    @NotNull
+    @Override
+    public String getName() {
+        return "recipecache";
+    }
+
+    @NotNull
+    @Override
+    public String getUsage(@NotNull ICommandSender sender) {
+        return "gregtech.command.recipecache.usage";
+    }
+
+    @Override
+    public void execute(@NotNull MinecraftServer server, @NotNull ICommandSender sender, @NotNull String[] args) {
+        boolean reset = args.length > 0 && args[0].equals("reset");
+        int shown = 0;
+        for (RecipeMap<?> recipeMap : RecipeMap.getRecipeMaps()) {
+            RecipeLookupCache cache = recipeMap.getLookupCache();
+            if (cache == null) continue;
+            if (reset) {
+                cache.resetStatistics();
+                continue;
+            }
+            if (cache.getHits() + cache.getMisses() == 0) continue;
+
+            sender.sendMessage(new TextComponentString(String.format("%s: %d/%d entries, %d hits, %d misses " +
+                    "(%.1f%%), %d evictions", recipeMap.unlocalizedName, cache.getSize(), cache.getCapacity(),
+                    cache.getHits(), cache.getMisses(), cache.getHitRate() * 100, cache.getEvictions())));
+            shown++;
+        }
+
+        if (reset) {
+            TickRecipeSearchCache.resetStatistics();
+        } else {
+            long hits = TickRecipeSearchCache.getHits();
+            long misses = TickRecipeSearchCache.getMisses();
+            if (hits + misses > 0) {
+                sender.sendMessage(new TextComponentString(String.format("Shared within a tick: %d hits, %d " +
+                        "misses (%.1f%%)", hits, misses, hits * 100.0 / (hits + misses))));
+                shown++;
+            }
+        }
+
+        if (reset) {
+            sender.sendMessage(new TextComponentTranslation("gregtech.command.recipecache.reset"));
+        } else if (shown == 0) {
+            sender.sendMessage(new TextComponentTranslation("gregtech.command.recipecache.empty"));
+        }
+    }
+
+    @NotNull
+    @Override
+    public List<String> getTabCompletions(@NotNull MinecraftServer server, @NotNull ICommandSender sender,
+                                          @NotNull String[] args, @Nullable BlockPos targetPos) {
+        if (args.length == 1) {
+            return getListOfStringsMatchingLastWord(args, "reset");
+        }
+        return Collections.emptyList();
+    }
+}
@@ -469,6 +469,12 @@ public class MetaTileEntityFusionReactor extends RecipeMapMultiblockController
             }
         }
 
+        @Override
+        public boolean isIdle() {
+            // heat keeps draining while idle
+            return heat == 0 && super.isIdle();
+        }
+
         @Override
         public boolean checkRecipe(@NotNull Recipe recipe) {
             if (!super.checkRecipe(recipe))
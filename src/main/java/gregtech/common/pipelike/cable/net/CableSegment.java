@@ -0,0 +1,231 @@
+package gregtech.common.pipelike.cable.net;
+
+import gregtech.api.unification.material.properties.WireProperties;
+import gregtech.common.pipelike.cable.tile.AveragingPerTickCounter;
+import gregtech.common.pipelike.cable.tile.PerTickLongCounter;
+import gregtech.common.pipelike.cable.tile.TileEntityCable;
+
+import net.minecraft.world.World;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * An unbranched run of cables with the same properties, whose amperage, voltage and heat are accounted as a whole.
+ * <p>
+ * Every route passing one of the cables passes all of them, so all cables carry the same amperage. The voltage of a
+ * single cable only depends on its position and the direction energy travels through the segment, so the voltages
+ * are tracked per direction, at the first cable energy enters, and derived for each cable when it is inspected.
+ * <p>
+ * Amperage a single cable carried this tick apart from the segment, such as in the segment it was part of before, is
+ * added to the segment's amperage when checking if that cable is overloaded.
+ */
+public final class CableSegment {
+
+    private final EnergyNet net;
+    private final int generation;
+    private final TileEntityCable[] cables;
+    private final WireProperties properties;
+
+    private final AveragingPerTickCounter amperage = new AveragingPerTickCounter();
+    private final PerTickLongCounter maxVoltageForward = new PerTickLongCounter();
+    private final PerTickLongCounter maxVoltageBackward = new PerTickLongCounter();
+    private final AveragingPerTickCounter voltageForward = new AveragingPerTickCounter();
+    private final AveragingPerTickCounter voltageBackward = new AveragingPerTickCounter();
+    private final AveragingPerTickCounter transfersForward = new AveragingPerTickCounter();
+    private final AveragingPerTickCounter transfersBackward = new AveragingPerTickCounter();
+
+    private final long[] ownAmperage;
+    private long ownAmperageTime;
+    private long maxOwnAmperage;
+    private boolean invalidated;
+
+    CableSegment(@NotNull EnergyNet net, int generation, @NotNull TileEntityCable[] cables) {
+        this.net = net;
+        this.generation = generation;
+        this.cables = cables;
+        this.properties = cables[0].getNodeData();
+        this.ownAmperage = new long[cables.length];
+        this.ownAmperageTime = getWorld().getTotalWorldTime();
+        for (int i = 0; i < cables.length; i++) {
+            cables[i].setSegment(this, i);
+            // the cable keeps what it carried in its previous segment, which counts towards overloading it
+            ownAmperage[i] = cables[i].getOwnAmperage();
+            maxOwnAmperage = Math.max(maxOwnAmperage, ownAmperage[i]);
+        }
+    }
+
+    /**
+     * @return if the net did not change since the segment was built
+     */
+    public boolean isValid() {
+        return !invalidated && net.getSegmentGeneration() == generation;
+    }
+
+    /**
+     * Make the segment be rebuilt the next time one of its cables is used, as it has to be split
+     */
+    void invalidate() {
+        this.invalidated = true;
+    }
+
+    public int size() {
+        return cables.length;
+    }
+
+    @NotNull
+    public TileEntityCable getCable(int index) {
+        return cables[index];
+    }
+
+    public long getMaxVoltage() {
+        return properties.getVoltage();
+    }
+
+    public int getLossPerBlock() {
+        return properties.getLossPerBlock();
+    }
+
+    private World getWorld() {
+        return cables[0].getWorld();
+    }
+
+    /**
+     * Heat every cable of the segment
+     *
+     * @param heat the heat to apply to each cable
+     * @return if a cable of the segment is no longer valid
+     */
+    public boolean applyHeat(int heat) {
+        for (TileEntityCable cable : cables) {
+            cable.applyHeat(heat);
+            if (cable.isInvalid()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Account a transfer through the segment, and overheat its cables if they carry too much amperage
+     *
+     * @param amps     the amperage transferred
+     * @param voltage  the voltage at the first cable the energy passes
+     * @param reversed if the energy passes the cables from last to first
+     */
+    public void incrementAmperage(long amps, long voltage, boolean reversed) {
+        World world = getWorld();
+        int loss = getLossPerBlock();
+        // the energy only reaches the cables it still has voltage left at
+        int reached = loss == 0 ? cables.length : (int) Math.min(cables.length, (voltage - 1) / loss + 1);
+        if (reached < cables.length) {
+            for (int i = 0; i < reached; i++) {
+                incrementAmperage(reversed ? cables.length - 1 - i : i, amps, voltage - (long) loss * i);
+            }
+            return;
+        }
+
+        PerTickLongCounter maxVoltage = reversed ? maxVoltageBackward : maxVoltageForward;
+        if (voltage > maxVoltage.get(world)) {
+            maxVoltage.set(world, voltage);
+        }
+        (reversed ? voltageBackward : voltageForward).increment(world, voltage);
+        (reversed ? transfersBackward : transfersForward).increment(world, 1);
+        amperage.increment(world, amps);
+
+        checkOwnAmperage(world);
+        long current = amperage.getLast(world);
+        if (current + maxOwnAmperage <= properties.getAmperage()) return;
+        if (maxOwnAmperage == 0) {
+            applyHeat((int) (current - properties.getAmperage()) * 40);
+            return;
+        }
+        for (int i = 0; i < cables.length; i++) {
+            int dif = (int) (current + ownAmperage[i] - properties.getAmperage());
+            if (dif > 0) {
+                cables[i].applyHeat(dif * 40);
+                if (cables[i].isInvalid()) return;
+            }
+        }
+    }
+
+    /**
+     * Account a transfer which only passes a single cable of the segment, and overheat it if it carries too much
+     * amperage
+     *
+     * @param index   the index of the cable in the segment
+     * @param amps    the amperage transferred
+     * @param voltage the voltage at the cable
+     * @return if the cable was overheated
+     */
+    public boolean incrementAmperage(int index, long amps, long voltage) {
+        World world = getWorld();
+        TileEntityCable cable = cables[index];
+        cable.accountTransfer(amps, voltage);
+        checkOwnAmperage(world);
+        ownAmperage[index] += amps;
+        maxOwnAmperage = Math.max(maxOwnAmperage, ownAmperage[index]);
+
+        int dif = (int) (amperage.getLast(world) + ownAmperage[index] - properties.getAmperage());
+        if (dif > 0) {
+            cable.applyHeat(dif * 40);
+            return true;
+        }
+        return false;
+    }
+
+    private void checkOwnAmperage(World world) {
+        long time = world.getTotalWorldTime();
+        if (time != ownAmperageTime) {
+            this.ownAmperageTime = time;
+            this.maxOwnAmperage = 0;
+            Arrays.fill(ownAmperage, 0);
+        }
+    }
+
+    public double getAverageAmperage() {
+        return amperage.getAverage(getWorld());
+    }
+
+    /**
+     * @param index the index of the cable in the segment
+     * @return the highest voltage the cable carried this tick
+     */
+    public long getCurrentMaxVoltage(int index) {
+        World world = getWorld();
+        long forward = maxVoltageForward.get(world) - (long) getLossPerBlock() * index;
+        long backward = maxVoltageBackward.get(world) - (long) getLossPerBlock() * (cables.length - 1 - index);
+        return Math.max(0, Math.max(forward, backward));
+    }
+
+    /**
+     * @param index the index of the cable in the segment
+     * @return the average voltage the cable carried per tick
+     */
+    public double getAverageVoltage(int index) {
+        World world = getWorld();
+        return voltageForward.getAverage(world) -
+                transfersForward.getAverage(world) * getLossPerBlock() * index +
+                voltageBackward.getAverage(world) -
+                transfersBackward.getAverage(world) * getLossPerBlock() * (cables.length - 1 - index);
+    }
+
+    /**
+     * Add the amperage and voltages of a cable of the segment to the counters of the cable, once it is no longer
+     * part of the segment
+     *
+     * @param index the index of the cable in the segment
+     */
+    public void flushTo(int index, @NotNull PerTickLongCounter maxVoltage, @NotNull AveragingPerTickCounter voltage,
+                        @NotNull AveragingPerTickCounter amps) {
+        World world = getWorld();
+        long currentMax = getCurrentMaxVoltage(index);
+        if (currentMax > maxVoltage.get(world)) {
+            maxVoltage.set(world, currentMax);
+        }
+        voltage.add(world, voltageForward, 1);
+        voltage.add(world, transfersForward, -(long) getLossPerBlock() * index);
+        voltage.add(world, voltageBackward, 1);
+        voltage.add(world, transfersBackward, -(long) getLossPerBlock() * (cables.length - 1 - index));
+        amps.add(world, amperage, 1);
+    }
+}
@@ -1,45 +1,75 @@
 package gregtech.common.pipelike.cable.net;
 
+import gregtech.api.capability.GregtechCapabilities;
+import gregtech.api.metatileentity.interfaces.IGregTechTileEntity;
 import gregtech.api.pipenet.Node;
 import gregtech.api.pipenet.PipeNet;
+import gregtech.api.pipenet.SourceRoutes;
 import gregtech.api.pipenet.WorldPipeNet;
+import gregtech.api.pipenet.tile.IPipeTile;
 import gregtech.api.unification.material.properties.WireProperties;
+import gregtech.common.pipelike.cable.tile.TileEntityCable;
 
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 
+import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * An energy pipe net, caching the routes from each source pipe to all energy containers it reaches.
+ * <p>
+ * Changes to the net only invalidate the routes depending on them. Each cached source tracks the pipes its routes
+ * pass through, so removing or unloading a pipe only drops the sources routed through it. Containers appearing or
+ * disappearing next to the net add or remove their routes without walking the net from every source again.
+ * <p>
+ * Transfers are accounted per {@link CableSegment}, built lazily for the cables routes pass through, and rebuilt
+ * after any change to the pipes of the net.
+ */
 public class EnergyNet extends PipeNet<WireProperties> {
 
+    private static final Comparator<EnergyRoutePath> ROUTE_ORDER = Comparator.comparingInt(
+            EnergyRoutePath::getDistance);
+
     private long lastEnergyFluxPerSec;
     private long energyFluxPerSec;
     private long lastTime;
 
-    private final Map<BlockPos, List<EnergyRoutePath>> NET_DATA = new Object2ObjectOpenHashMap<>();
+    private final Map<BlockPos, SourceRoutes<EnergyRoutePath>> NET_DATA = new Object2ObjectOpenHashMap<>();
+    // cables where routes start or end inside an unbranched run, which have to end a segment
+    private final LongSet segmentBreaks = new LongOpenHashSet();
+    private int segmentGeneration;
 
     protected EnergyNet(WorldPipeNet<WireProperties, EnergyNet> world) {
         super(world);
     }
 
     public List<EnergyRoutePath> getNetData(BlockPos pipePos) {
-        List<EnergyRoutePath> data = NET_DATA.get(pipePos);
+        SourceRoutes<EnergyRoutePath> data = NET_DATA.get(pipePos);
         if (data == null) {
-            data = EnergyNetWalker.createNetData(getWorldData(), pipePos);
-            if (data == null) {
+            List<EnergyRoutePath> routes = EnergyNetWalker.createNetData(getWorldData(), pipePos);
+            if (routes == null) {
                 // walker failed, don't cache so it tries again on next insertion
                 return Collections.emptyList();
             }
-            data.sort(Comparator.comparingInt(EnergyRoutePath::getDistance));
-            NET_DATA.put(pipePos, data);
+            routes.sort(ROUTE_ORDER);
+            data = new SourceRoutes<>(routes, EnergyRoutePath::getPath);
+            NET_DATA.put(pipePos.toImmutable(), data);
         }
-        return data;
+        return data.getRoutes();
     }
 
     public long getEnergyFluxPerSec() {
@@ -62,17 +92,73 @@ public class EnergyNet extends PipeNet<WireProperties> {
 
     @Override
     public void onNeighbourUpdate(BlockPos fromPos) {
-        NET_DATA.clear();
+        // pipes of this net report their changes through connection updates
+        if (NET_DATA.isEmpty() || containsNode(fromPos)) return;
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            BlockPos pipePos = fromPos.offset(facing);
+            if (containsNode(pipePos)) {
+                updateDestination(pipePos, facing.getOpposite());
+            }
+        }
     }
 
     @Override
     public void onPipeConnectionsUpdate() {
         NET_DATA.clear();
+        segmentBreaks.clear();
+        invalidateSegments();
+    }
+
+    @Override
+    public void onPipeConnectionUpdate(BlockPos nodePos, EnumFacing side) {
+        invalidateSegments();
+        if (NET_DATA.isEmpty()) return;
+        World world = getWorldData();
+        BlockPos neighbourPos = nodePos.offset(side);
+        if (world == null || !world.isBlockLoaded(neighbourPos) ||
+                world.getTileEntity(neighbourPos) instanceof IPipeTile<?, ?>) {
+            // connections between pipes change the paths through the net
+            NET_DATA.clear();
+        } else {
+            updateDestination(nodePos, side);
+        }
     }
 
     @Override
     public void onChunkUnload() {
         NET_DATA.clear();
+        invalidateSegments();
+    }
+
+    @Override
+    public void onPipeUnload(BlockPos nodePos) {
+        invalidatePipes(Collections.singleton(nodePos));
+        segmentBreaks.remove(nodePos.toLong());
+        invalidateSegments();
+    }
+
+    @Override
+    protected void onNodeConnectionsUpdate() {
+        super.onNodeConnectionsUpdate();
+        // routes mapped after the change split the segments where they need to again
+        segmentBreaks.clear();
+        invalidateSegments();
+    }
+
+    @Override
+    protected void addNode(BlockPos nodePos, Node<WireProperties> node) {
+        super.addNode(nodePos, node);
+        // a new pipe can create shorter paths and reach new destinations
+        NET_DATA.clear();
+        invalidateSegments();
+    }
+
+    @Override
+    protected void removeNode(BlockPos nodePos) {
+        super.removeNode(nodePos);
+        invalidatePipes(Collections.singleton(nodePos));
+        segmentBreaks.remove(nodePos.toLong());
+        invalidateSegments();
     }
 
     @Override
@@ -80,7 +166,181 @@ public class EnergyNet extends PipeNet<WireProperties> {
                                     PipeNet<WireProperties> parentNet) {
         super.transferNodeData(transferredNodes, parentNet);
         NET_DATA.clear();
-        ((EnergyNet) parentNet).NET_DATA.clear();
+        segmentBreaks.clear();
+        invalidateSegments();
+        EnergyNet parent = (EnergyNet) parentNet;
+        parent.invalidatePipes(transferredNodes.keySet());
+        for (BlockPos pos : transferredNodes.keySet()) {
+            parent.segmentBreaks.remove(pos.toLong());
+        }
+        parent.invalidateSegments();
+    }
+
+    int getSegmentGeneration() {
+        return segmentGeneration;
+    }
+
+    private void invalidateSegments() {
+        segmentGeneration++;
+    }
+
+    /**
+     * Get the segment a cable of the net is accounted in, building it if the net changed since it was last built
+     *
+     * @param cable the cable
+     * @return the segment of the cable
+     */
+    CableSegment getSegment(TileEntityCable cable) {
+        CableSegment segment = cable.getSegment();
+        if (segment != null && segment.isValid()) return segment;
+
+        ArrayDeque<TileEntityCable> cables = new ArrayDeque<>();
+        cables.add(cable);
+        if (isUnbranched(cable)) {
+            boolean first = true;
+            for (EnumFacing side : EnumFacing.VALUES) {
+                if (!cable.isConnected(side)) continue;
+                // a closed loop of cables is complete after walking it in one direction
+                if (extendSegment(cables, cable, side, first)) break;
+                first = false;
+            }
+        }
+        return new CableSegment(this, segmentGeneration, cables.toArray(new TileEntityCable[0]));
+    }
+
+    /**
+     * Make a cable end the segments next to it, as a route starts or ends at it. Only the segment containing the
+     * cable is rebuilt.
+     *
+     * @param cable the cable
+     */
+    void splitSegment(TileEntityCable cable) {
+        segmentBreaks.add(cable.getPipePos().toLong());
+        CableSegment segment = cable.getSegment();
+        if (segment != null) {
+            segment.invalidate();
+        }
+    }
+
+    /**
+     * @return if the segment loops back to the cable it started at
+     */
+    private boolean extendSegment(ArrayDeque<TileEntityCable> cables, TileEntityCable start, EnumFacing side,
+                                  boolean atFront) {
+        World world = getWorldData();
+        TileEntityCable current = start;
+        EnumFacing facing = side;
+        while (true) {
+            BlockPos nextPos = current.getPipePos().offset(facing);
+            if (!world.isBlockLoaded(nextPos) ||
+                    !(world.getTileEntity(nextPos) instanceof TileEntityCable next) ||
+                    !next.getNodeData().equals(start.getNodeData()) || !isUnbranched(next)) {
+                return false;
+            }
+            if (next == start) return true;
+            if (atFront) {
+                cables.addFirst(next);
+            } else {
+                cables.addLast(next);
+            }
+            EnumFacing from = facing.getOpposite();
+            for (EnumFacing nextFacing : EnumFacing.VALUES) {
+                if (nextFacing != from && next.isConnected(nextFacing)) {
+                    facing = nextFacing;
+                    break;
+                }
+            }
+            current = next;
+        }
+    }
+
+    /**
+     * @return if the cable only connects to two other cables, which connect back to it
+     */
+    private boolean isUnbranched(TileEntityCable cable) {
+        if (Integer.bitCount(cable.getConnections() & 63) != 2 ||
+                segmentBreaks.contains(cable.getPipePos().toLong())) {
+            return false;
+        }
+        World world = getWorldData();
+        for (EnumFacing side : EnumFacing.VALUES) {
+            if (!cable.isConnected(side)) continue;
+            BlockPos pos = cable.getPipePos().offset(side);
+            if (!world.isBlockLoaded(pos) || !(world.getTileEntity(pos) instanceof TileEntityCable neighbour) ||
+                    !neighbour.isConnected(side.getOpposite())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drop the cached routes of all sources which are one of the pipes, or are routed through one of them
+     *
+     * @param pipes the positions of the pipes
+     */
+    private void invalidatePipes(Collection<BlockPos> pipes) {
+        if (NET_DATA.isEmpty()) return;
+        for (BlockPos pos : pipes) {
+            NET_DATA.remove(pos);
+        }
+        NET_DATA.values().removeIf(data -> data.dependsOnAny(pipes));
+    }
+
+    /**
+     * Add or remove the routes to the destination on a side of a pipe, if it appeared or disappeared
+     *
+     * @param pipePos the position of the pipe
+     * @param side    the side of the pipe facing the destination
+     */
+    private void updateDestination(BlockPos pipePos, EnumFacing side) {
+        if (NET_DATA.isEmpty()) return;
+        World world = getWorldData();
+        BlockPos destPos = pipePos.offset(side);
+        if (world == null || !world.isBlockLoaded(pipePos) || !world.isBlockLoaded(destPos)) {
+            NET_DATA.clear();
+            return;
+        }
+
+        boolean isDestination = false;
+        if (world.getTileEntity(pipePos) instanceof TileEntityCable cable && cable.isConnected(side)) {
+            TileEntity tile = world.getTileEntity(destPos);
+            if (tile instanceof IGregTechTileEntity gtte && gtte.getMetaTileEntity() == null) {
+                // machines are notified before their MetaTileEntity is set, so their capabilities are not known yet
+                NET_DATA.clear();
+                return;
+            }
+            isDestination = tile != null &&
+                    tile.getCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER, side.getOpposite()) != null;
+        }
+        // sources cached at different times may not know the same destinations, so each source is checked on its own
+        Set<BlockPos> missing = new ObjectOpenHashSet<>();
+        for (Map.Entry<BlockPos, SourceRoutes<EnergyRoutePath>> entry : NET_DATA.entrySet()) {
+            SourceRoutes<EnergyRoutePath> data = entry.getValue();
+            boolean hasRoute = data.getRouteTo(pipePos, side) != null;
+            if (isDestination && !hasRoute) {
+                missing.add(entry.getKey());
+            } else if (!isDestination && hasRoute) {
+                data.removeRoutesTo(pipePos, side);
+            }
+        }
+        if (missing.isEmpty()) return;
+
+        Map<BlockPos, EnergyRoutePath> routes = EnergyNetWalker.createRoutesTo(world, pipePos, side, missing);
+        if (routes == null) {
+            NET_DATA.keySet().removeAll(missing);
+            return;
+        }
+        for (BlockPos source : missing) {
+            EnergyRoutePath route = routes.get(source);
+            if (route == null) {
+                // the walker did not reach the source, so it is no longer connected the way its routes say
+                NET_DATA.remove(source);
+            } else {
+                // the routes of a source are sorted by distance, so energy reaches the closest destinations first
+                NET_DATA.get(source).addRoute(route, ROUTE_ORDER);
+            }
+        }
     }
 
     @Override
@@ -76,23 +76,25 @@ public class EnergyNetHandler implements IEnergyContainer {
             EnumFacing facing = path.getTargetFacing().getOpposite();
             if (!dest.inputsEnergy(facing) || dest.getEnergyCanBeInserted() <= 0) continue;
 
+            CableSegment[] segments = path.getSegments(net);
+            if (segments == null) continue;
+            boolean[] reversed = path.getSegmentsReversed();
+
             long pathVoltage = voltage - path.getMaxLoss();
             boolean cableBroken = false;
-            for (TileEntityCable cable : path.getPath()) {
-                if (cable.getMaxVoltage() < voltage) {
+            for (CableSegment segment : segments) {
+                if (segment.getMaxVoltage() < voltage) {
                     int heat = (int) (Math.log(
-                            GTUtility.getTierByVoltage(voltage) - GTUtility.getTierByVoltage(cable.getMaxVoltage())) *
+                            GTUtility.getTierByVoltage(voltage) - GTUtility.getTierByVoltage(segment.getMaxVoltage())) *
                             45 + 36.5);
-                    cable.applyHeat(heat);
-
-                    cableBroken = cable.isInvalid();
+                    cableBroken = segment.applyHeat(heat);
                     if (cableBroken) {
                         // a cable burned away (or insulation melted)
                         break;
                     }
 
                     // limit transfer to cables max and void rest
-                    pathVoltage = Math.min(cable.getMaxVoltage(), pathVoltage);
+                    pathVoltage = Math.min(segment.getMaxVoltage(), pathVoltage);
                 }
             }
 
@@ -105,13 +107,16 @@ public class EnergyNetHandler implements IEnergyContainer {
 
             amperesUsed += amps;
             long voltageTraveled = voltage;
-            for (TileEntityCable cable : path.getPath()) {
-                voltageTraveled -= cable.getNodeData().getLossPerBlock();
+            for (int i = 0; i < segments.length; i++) {
+                CableSegment segment = segments[i];
+                // the voltage at the first cable of the segment
+                voltageTraveled -= segment.getLossPerBlock();
                 if (voltageTraveled <= 0) break;
 
-                if (!cable.isInvalid()) {
-                    cable.incrementAmperage(amps, voltageTraveled);
+                if (segment.isValid()) {
+                    segment.incrementAmperage(amps, voltageTraveled, reversed[i]);
                 }
+                voltageTraveled -= (long) segment.getLossPerBlock() * (segment.size() - 1);
             }
 
             if (amperage == amperesUsed) break;
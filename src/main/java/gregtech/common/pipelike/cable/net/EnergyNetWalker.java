@@ -10,11 +10,14 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import org.apache.commons.lang3.ArrayUtils;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class EnergyNetWalker extends PipeNetWalker<TileEntityCable> {
 
@@ -27,10 +30,37 @@ public class EnergyNetWalker extends PipeNetWalker<TileEntityCable> {
         return walker.isFailed() ? null : walker.routes;
     }
 
+    /**
+     * Find the routes from source pipes to a single destination, by walking from the destination.
+     *
+     * @param world      the world
+     * @param targetPipe the pipe next to the destination
+     * @param destFacing the side of the pipe facing the destination
+     * @param sources    the source pipes to find routes from
+     * @return the route from each source pipe which was found, or null if the walker failed
+     */
+    public static Map<BlockPos, EnergyRoutePath> createRoutesTo(World world, BlockPos targetPipe,
+                                                                EnumFacing destFacing, Set<BlockPos> sources) {
+        if (!(world.getTileEntity(targetPipe) instanceof TileEntityCable)) {
+            return null;
+        }
+        EnergyNetWalker walker = new EnergyNetWalker(world, targetPipe, 1, new ArrayList<>());
+        walker.destFacing = destFacing;
+        walker.sources = sources;
+        walker.sourceRoutes = new Object2ObjectOpenHashMap<>();
+        walker.traversePipeNet();
+        return walker.isFailed() ? null : walker.sourceRoutes;
+    }
+
     private final List<EnergyRoutePath> routes;
     private TileEntityCable[] pipes = {};
     private int loss;
 
+    // only set when walking from a destination to its sources
+    private EnumFacing destFacing;
+    private Set<BlockPos> sources;
+    private Map<BlockPos, EnergyRoutePath> sourceRoutes;
+
     protected EnergyNetWalker(World world, BlockPos sourcePipe, int walkedBlocks, List<EnergyRoutePath> routes) {
         super(world, sourcePipe, walkedBlocks);
         this.routes = routes;
@@ -42,6 +72,9 @@ public class EnergyNetWalker extends PipeNetWalker<TileEntityCable> {
         EnergyNetWalker walker = new EnergyNetWalker(world, nextPos, walkedBlocks, routes);
         walker.loss = loss;
         walker.pipes = pipes;
+        walker.destFacing = destFacing;
+        walker.sources = sources;
+        walker.sourceRoutes = sourceRoutes;
         return walker;
     }
 
@@ -49,6 +82,13 @@ public class EnergyNetWalker extends PipeNetWalker<TileEntityCable> {
     protected void checkPipe(TileEntityCable pipeTile, BlockPos pos) {
         pipes = ArrayUtils.add(pipes, pipeTile);
         loss += pipeTile.getNodeData().getLossPerBlock();
+        if (sources != null && sources.contains(pos)) {
+            // the walk started at the destination, so the path to the source has to be reversed
+            TileEntityCable[] path = pipes.clone();
+            ArrayUtils.reverse(path);
+            sourceRoutes.put(pipeTile.getPipePos(), new EnergyRoutePath(destFacing, path, getWalkedBlocks(), loss));
+            if (sourceRoutes.size() == sources.size()) stop();
+        }
     }
 
     @Override
@@ -57,7 +97,7 @@ public class EnergyNetWalker extends PipeNetWalker<TileEntityCable> {
         // assert that the last added pipe is the current pipe
         if (pipeTile != pipes[pipes.length - 1]) throw new IllegalStateException(
                 "The current pipe is not the last added pipe. Something went seriously wrong!");
-        if (neighbourTile != null) {
+        if (neighbourTile != null && sources == null) {
             IEnergyContainer container = neighbourTile.getCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER,
                     faceToNeighbour.getOpposite());
             if (container != null) {
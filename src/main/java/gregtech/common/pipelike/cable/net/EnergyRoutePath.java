@@ -7,7 +7,13 @@ import gregtech.common.pipelike.cable.tile.TileEntityCable;
 
 import net.minecraft.util.EnumFacing;
 
+import it.unimi.dsi.fastutil.booleans.BooleanArrayList;
+import it.unimi.dsi.fastutil.booleans.BooleanList;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class EnergyRoutePath implements IRoutePath<TileEntityCable> {
 
@@ -16,6 +22,8 @@ public class EnergyRoutePath implements IRoutePath<TileEntityCable> {
     private final int distance;
     private final TileEntityCable[] path;
     private final long maxLoss;
+    private CableSegment[] segments;
+    private boolean[] segmentsReversed;
 
     public EnergyRoutePath(EnumFacing destFacing, TileEntityCable[] path, int distance, long maxLoss) {
         this.targetPipe = path[path.length - 1];
@@ -48,6 +56,76 @@ public class EnergyRoutePath implements IRoutePath<TileEntityCable> {
         return path;
     }
 
+    /**
+     * Get the segments the route passes, in the order it passes them
+     *
+     * @param net the net of the route
+     * @return the segments, or null if a cable of the route is no longer valid
+     */
+    @Nullable
+    public CableSegment[] getSegments(@NotNull EnergyNet net) {
+        if (segments != null) {
+            boolean valid = true;
+            for (CableSegment segment : segments) {
+                if (!segment.isValid()) {
+                    valid = false;
+                    break;
+                }
+            }
+            if (valid) return segments;
+        }
+        for (TileEntityCable cable : path) {
+            if (cable.isInvalid()) return null;
+        }
+        while (!mapSegments(net)) {
+            // the route started or ended inside a segment, which was split there, so map it again
+        }
+        return segments;
+    }
+
+    /**
+     * @return for each segment last returned by {@link #getSegments(EnergyNet)}, if the route passes its cables from
+     *         last to first
+     */
+    public boolean[] getSegmentsReversed() {
+        return segmentsReversed;
+    }
+
+    private boolean mapSegments(@NotNull EnergyNet net) {
+        List<CableSegment> mapped = new ArrayList<>();
+        BooleanList reversed = new BooleanArrayList();
+        int i = 0;
+        while (i < path.length) {
+            TileEntityCable cable = path[i];
+            CableSegment segment = net.getSegment(cable);
+            int length = segment.size();
+            boolean isReversed = length > 1 && cable.getSegmentIndex() == length - 1;
+            if (length > 1 && !isReversed && cable.getSegmentIndex() != 0) {
+                net.splitSegment(cable);
+                return false;
+            }
+            int inPath = Math.min(length, path.length - i);
+            for (int j = 1; j < inPath; j++) {
+                if (path[i + j] != segment.getCable(isReversed ? length - 1 - j : j)) {
+                    // the route started at an end of the segment and left it right away
+                    net.splitSegment(path[i + j - 1]);
+                    return false;
+                }
+            }
+            if (inPath < length) {
+                // the route ends inside the segment
+                net.splitSegment(path[path.length - 1]);
+                return false;
+            }
+            mapped.add(segment);
+            reversed.add(isReversed);
+            i += length;
+        }
+        this.segments = mapped.toArray(new CableSegment[0]);
+        this.segmentsReversed = reversed.toBooleanArray();
+        return true;
+    }
+
     public IEnergyContainer getHandler() {
         return getTargetCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER);
     }
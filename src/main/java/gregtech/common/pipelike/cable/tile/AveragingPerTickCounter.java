@@ -81,6 +81,25 @@ public class AveragingPerTickCounter {
         values[currentIndex] += value;
     }
 
+    /**
+     * @param other  the counter to add the values of, tick by tick
+     * @param factor the factor to multiply the values of the other counter with
+     */
+    public void add(World world, AveragingPerTickCounter other, long factor) {
+        checkValueState(world);
+        other.checkValueState(world);
+        for (int ticksAgo = 0, n = Math.min(values.length, other.values.length); ticksAgo < n; ticksAgo++) {
+            int index = currentIndex - ticksAgo;
+            if (index < 0)
+                index += values.length;
+            int otherIndex = other.currentIndex - ticksAgo;
+            if (otherIndex < 0)
+                otherIndex += other.values.length;
+            values[index] += other.values[otherIndex] * factor;
+        }
+        dirty = true;
+    }
+
     /**
      * @param value the value to set current value to
      */
@@ -14,6 +14,7 @@ import gregtech.client.particle.GTParticleManager;
 import gregtech.common.blocks.MetaBlocks;
 import gregtech.common.pipelike.cable.BlockCable;
 import gregtech.common.pipelike.cable.Insulation;
+import gregtech.common.pipelike.cable.net.CableSegment;
 import gregtech.common.pipelike.cable.net.EnergyNet;
 import gregtech.common.pipelike.cable.net.EnergyNetHandler;
 import gregtech.common.pipelike.cable.net.WorldENet;
@@ -52,6 +53,8 @@ public class TileEntityCable extends TileEntityMaterialPipeBase<Insulation, Wire
     private final AveragingPerTickCounter averageVoltageCounter = new AveragingPerTickCounter();
     private final AveragingPerTickCounter averageAmperageCounter = new AveragingPerTickCounter();
     private EnergyNetHandler defaultHandler;
+    private CableSegment segment;
+    private int segmentIndex;
     // the EnergyNetHandler can only be created on the server, so we have an empty placeholder for the client
     private final IEnergyContainer clientCapability = IEnergyContainer.DEFAULT;
     private WeakReference<EnergyNet> currentEnergyNet = new WeakReference<>(null);
@@ -103,23 +106,65 @@ public class TileEntityCable extends TileEntityMaterialPipeBase<Insulation, Wire
     }
 
     /**
-     * Should only be called internally
+     * Should only be called by the energy net
      *
-     * @return if the cable should be destroyed
+     * @param segment the segment the cable is accounted in
+     * @param index   the index of the cable in the segment
      */
-    public boolean incrementAmperage(long amps, long voltage) {
+    public void setSegment(@NotNull CableSegment segment, int index) {
+        if (this.segment != null && this.segment != segment) {
+            // keep what was accounted in the previous segment
+            this.segment.flushTo(segmentIndex, maxVoltageCounter, averageVoltageCounter, averageAmperageCounter);
+        }
+        this.segment = segment;
+        this.segmentIndex = index;
+    }
+
+    @Nullable
+    public CableSegment getSegment() {
+        return segment;
+    }
+
+    public int getSegmentIndex() {
+        return segmentIndex;
+    }
+
+    /**
+     * @return the amperage accounted on the cable itself this tick, apart from its current segment
+     */
+    public long getOwnAmperage() {
+        return averageAmperageCounter.getLast(getWorld());
+    }
+
+    /**
+     * Should only be called by the segment of the cable. Accounts a transfer on the cable itself, without checking
+     * if it overheats.
+     */
+    public void accountTransfer(long amps, long voltage) {
         if (voltage > maxVoltageCounter.get(getWorld())) {
             maxVoltageCounter.set(getWorld(), voltage);
         }
         averageVoltageCounter.increment(getWorld(), voltage);
         averageAmperageCounter.increment(getWorld(), amps);
+    }
 
+    /**
+     * Should only be called internally
+     *
+     * @return if the cable should be destroyed
+     * @deprecated transfers are accounted per segment, use {@link CableSegment#incrementAmperage(int, long, long)}
+     */
+    @Deprecated
+    public boolean incrementAmperage(long amps, long voltage) {
+        if (segment != null && segment.isValid()) {
+            return segment.incrementAmperage(segmentIndex, amps, voltage);
+        }
+        accountTransfer(amps, voltage);
         int dif = (int) (averageAmperageCounter.getLast(getWorld()) - getMaxAmperage());
         if (dif > 0) {
             applyHeat(dif * 40);
             return true;
         }
-
         return false;
     }
 
@@ -233,15 +278,18 @@ public class TileEntityCable extends TileEntityMaterialPipeBase<Insulation, Wire
     }
 
     public double getAverageAmperage() {
-        return averageAmperageCounter.getAverage(getWorld());
+        double amperage = averageAmperageCounter.getAverage(getWorld());
+        return segment == null ? amperage : amperage + segment.getAverageAmperage();
     }
 
     public long getCurrentMaxVoltage() {
-        return maxVoltageCounter.get(getWorld());
+        long voltage = maxVoltageCounter.get(getWorld());
+        return segment == null ? voltage : Math.max(voltage, segment.getCurrentMaxVoltage(segmentIndex));
     }
 
     public double getAverageVoltage() {
-        return averageVoltageCounter.getAverage(getWorld());
+        double voltage = averageVoltageCounter.getAverage(getWorld());
+        return segment == null ? voltage : voltage + segment.getAverageVoltage(segmentIndex);
     }
 
     public long getMaxAmperage() {
@@ -0,0 +1,80 @@
+package gregtech.common.pipelike.fluidpipe.net;
+
+import gregtech.api.cover.Cover;
+import gregtech.api.pipenet.PipeNetWalker;
+import gregtech.api.util.GTUtility;
+import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipe;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FluidNetWalker extends PipeNetWalker<TileEntityFluidPipe> {
+
+    public static List<FluidRoutePath> createNetData(World world, BlockPos sourcePipe) {
+        if (!(world.getTileEntity(sourcePipe) instanceof TileEntityFluidPipe)) {
+            return null;
+        }
+        FluidNetWalker walker = new FluidNetWalker(world, sourcePipe, 1, new ArrayList<>());
+        walker.traversePipeNet();
+        return walker.isFailed() ? null : walker.routes;
+    }
+
+    private final List<FluidRoutePath> routes;
+    private TileEntityFluidPipe[] pipes = {};
+    private Cover[] drainCovers = {};
+    private Cover[] fillCovers = {};
+
+    protected FluidNetWalker(World world, BlockPos sourcePipe, int walkedBlocks, List<FluidRoutePath> routes) {
+        super(world, sourcePipe, walkedBlocks);
+        this.routes = routes;
+    }
+
+    @Override
+    protected PipeNetWalker<TileEntityFluidPipe> createSubWalker(World world, EnumFacing facingToNextPos,
+                                                                 BlockPos nextPos, int walkedBlocks) {
+        FluidNetWalker walker = new FluidNetWalker(world, nextPos, walkedBlocks, routes);
+        walker.pipes = pipes;
+        walker.drainCovers = drainCovers;
+        walker.fillCovers = fillCovers;
+        return walker;
+    }
+
+    @Override
+    protected void checkPipe(TileEntityFluidPipe pipeTile, BlockPos pos) {
+        if (pipes.length > 0) {
+            // the covers between two pipes act on the fluid passing them, like when moving it from pipe to pipe
+            TileEntityFluidPipe previous = pipes[pipes.length - 1];
+            EnumFacing facing = GTUtility.getFacingToNeighbor(previous.getPipePos(), pos);
+            if (facing != null) {
+                Cover leaving = previous.getCoverableImplementation().getCoverAtSide(facing);
+                if (leaving != null) drainCovers = ArrayUtils.add(drainCovers, leaving);
+                Cover entering = pipeTile.getCoverableImplementation().getCoverAtSide(facing.getOpposite());
+                if (entering != null) fillCovers = ArrayUtils.add(fillCovers, entering);
+            }
+        }
+        pipes = ArrayUtils.add(pipes, pipeTile);
+    }
+
+    @Override
+    protected void checkNeighbour(TileEntityFluidPipe pipeTile, BlockPos pipePos, EnumFacing faceToNeighbour,
+                                  @Nullable TileEntity neighbourTile) {
+        if (neighbourTile != null && neighbourTile.hasCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY,
+                faceToNeighbour.getOpposite())) {
+            routes.add(new FluidRoutePath(faceToNeighbour, pipes, getWalkedBlocks(), drainCovers, fillCovers));
+        }
+    }
+
+    @Override
+    protected Class<TileEntityFluidPipe> getBasePipeClass() {
+        return TileEntityFluidPipe.class;
+    }
+}
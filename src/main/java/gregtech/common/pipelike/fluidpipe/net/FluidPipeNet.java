@@ -1,17 +1,175 @@
 package gregtech.common.pipelike.fluidpipe.net;
 
+import gregtech.api.pipenet.Node;
 import gregtech.api.pipenet.PipeNet;
 import gregtech.api.pipenet.WorldPipeNet;
 import gregtech.api.unification.material.properties.FluidPipeProperties;
+import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipe;
+import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipeTickable;
 
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
 
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A fluid pipe net.
+ * <p>
+ * With {@link gregtech.common.ConfigHolder.MachineOptions#networkFluidFlow}, the net moves fluids from the pipes
+ * they were inserted into directly to the fluid handlers next to the net, along the cached shortest routes. Only the
+ * pipes holding fluid take part, and only the pipes at the ends of a route interact with neighbouring handlers and
+ * covers.
+ */
 public class FluidPipeNet extends PipeNet<FluidPipeProperties> {
 
+    private final Map<BlockPos, List<FluidRoutePath>> NET_DATA = new Object2ObjectOpenHashMap<>();
+    private final Set<TileEntityFluidPipeTickable> activePipes = new ReferenceLinkedOpenHashSet<>();
+    // the fluid moved through each pipe in the current update
+    private final Reference2IntMap<TileEntityFluidPipe> usedThroughput = new Reference2IntOpenHashMap<>();
+    private long lastUpdate = -1;
+
     public FluidPipeNet(WorldPipeNet<FluidPipeProperties, FluidPipeNet> world) {
         super(world);
     }
 
+    public List<FluidRoutePath> getNetData(BlockPos pipePos) {
+        List<FluidRoutePath> data = NET_DATA.get(pipePos);
+        if (data == null) {
+            data = FluidNetWalker.createNetData(getWorldData(), pipePos);
+            if (data == null) {
+                // walker failed, don't cache so it tries again on next update
+                return Collections.emptyList();
+            }
+            data.sort(Comparator.comparingInt(FluidRoutePath::getDistance));
+            NET_DATA.put(pipePos.toImmutable(), data);
+        }
+        return data;
+    }
+
+    /**
+     * Let the net move the fluid of a pipe, until the pipe is empty
+     *
+     * @param pipe the pipe holding fluid
+     */
+    public void activate(@NotNull TileEntityFluidPipeTickable pipe) {
+        if (activePipes.add(pipe)) {
+            pipe.setActiveInNet(true);
+        }
+    }
+
+    /**
+     * Stop moving the fluid of a pipe, as it is empty or no longer in the world
+     *
+     * @param pipe the pipe
+     */
+    public void deactivate(@NotNull TileEntityFluidPipeTickable pipe) {
+        activePipes.remove(pipe);
+        pipe.setActiveInNet(false);
+    }
+
+    /**
+     * Move the fluid of all active pipes, once every {@link TileEntityFluidPipe#FREQUENCY} ticks. Called by the
+     * active pipes every tick.
+     */
+    public void update() {
+        World world = getWorldData();
+        long time = world.getTotalWorldTime();
+        if (time == lastUpdate) return;
+        lastUpdate = time;
+        if (time % TileEntityFluidPipe.FREQUENCY != 0 || activePipes.isEmpty()) return;
+
+        usedThroughput.clear();
+        for (TileEntityFluidPipeTickable pipe : activePipes.toArray(new TileEntityFluidPipeTickable[0])) {
+            if (pipe.isInvalid() || !world.isBlockLoaded(pipe.getPipePos())) {
+                deactivate(pipe);
+                continue;
+            }
+            FluidPipeNet net = pipe.getFluidPipeNet();
+            if (net != this) {
+                // the pipe was split off into another net
+                deactivate(pipe);
+                if (net != null) net.activate(pipe);
+                continue;
+            }
+            if (!pipe.distributeFluid(this)) {
+                deactivate(pipe);
+            }
+        }
+    }
+
+    /**
+     * Each pipe passes its throughput per tick, for each of the {@link TileEntityFluidPipe#FREQUENCY} ticks between
+     * two updates, shared by all routes passing it.
+     *
+     * @param route the route
+     * @return the amount of fluid which can still pass all pipes of the route in the current update
+     */
+    public int getRemainingThroughput(@NotNull FluidRoutePath route) {
+        int remaining = Integer.MAX_VALUE;
+        for (TileEntityFluidPipe pipe : route.getPath()) {
+            int throughput = pipe.getNodeData().getThroughput() * TileEntityFluidPipe.FREQUENCY -
+                    usedThroughput.getInt(pipe);
+            remaining = Math.min(remaining, throughput);
+        }
+        return remaining;
+    }
+
+    /**
+     * @param route  the route
+     * @param amount the amount of fluid which passed the route
+     */
+    public void useThroughput(@NotNull FluidRoutePath route, int amount) {
+        for (TileEntityFluidPipe pipe : route.getPath()) {
+            usedThroughput.put(pipe, usedThroughput.getInt(pipe) + amount);
+        }
+    }
+
+    @Override
+    public void onNeighbourUpdate(BlockPos fromPos) {
+        NET_DATA.clear();
+    }
+
+    @Override
+    public void onPipeConnectionsUpdate() {
+        NET_DATA.clear();
+    }
+
+    @Override
+    public void onChunkUnload() {
+        NET_DATA.clear();
+        for (TileEntityFluidPipeTickable pipe : activePipes.toArray(new TileEntityFluidPipeTickable[0])) {
+            if (pipe.isInvalid()) deactivate(pipe);
+        }
+    }
+
+    @Override
+    public void onPipeUnload(BlockPos nodePos) {
+        // pipes holding fluid activate themselves again when they are loaded
+        for (TileEntityFluidPipeTickable pipe : activePipes.toArray(new TileEntityFluidPipeTickable[0])) {
+            if (pipe.getPipePos().equals(nodePos)) deactivate(pipe);
+        }
+        onChunkUnload();
+    }
+
+    @Override
+    protected void transferNodeData(Map<BlockPos, Node<FluidPipeProperties>> transferredNodes,
+                                    PipeNet<FluidPipeProperties> parentNet) {
+        super.transferNodeData(transferredNodes, parentNet);
+        NET_DATA.clear();
+        ((FluidPipeNet) parentNet).NET_DATA.clear();
+    }
+
     @Override
     protected void writeNodeData(FluidPipeProperties nodeData, NBTTagCompound tagCompound) {
         tagCompound.setInteger("max_temperature", nodeData.getMaxFluidTemperature());
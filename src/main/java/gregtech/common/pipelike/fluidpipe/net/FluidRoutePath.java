@@ -0,0 +1,155 @@
+package gregtech.common.pipelike.fluidpipe.net;
+
+import gregtech.api.cover.Cover;
+import gregtech.api.pipenet.IRoutePath;
+import gregtech.api.unification.material.properties.FluidPipeProperties;
+import gregtech.common.covers.CoverPump;
+import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipe;
+import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipeTickable;
+
+import net.minecraft.util.EnumFacing;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A route from a fluid pipe to a fluid handler next to the net.
+ * <p>
+ * The pipes of the route are grouped by their properties, so checking if a fluid damages them only checks one pipe
+ * per group.
+ * <p>
+ * The covers on the faces between the pipes of the route act on the fluid like they do when it moves from pipe to
+ * pipe: covers on the face fluid leaves a pipe through wrap the tank it is drained from, and covers on the face it
+ * enters the next pipe through wrap the handler it is filled into. Pumps block the route, as they block pipes from
+ * pushing fluid.
+ */
+public class FluidRoutePath implements IRoutePath<TileEntityFluidPipe> {
+
+    private final TileEntityFluidPipe[] path;
+    private final TileEntityFluidPipe targetPipe;
+    private final EnumFacing destFacing;
+    private final int distance;
+    private final TileEntityFluidPipe bottleneck;
+    private final TileEntityFluidPipeTickable[][] pipesByProperties;
+    private final Cover[] drainCovers;
+    private final Cover[] fillCovers;
+
+    public FluidRoutePath(EnumFacing destFacing, TileEntityFluidPipe[] path, int distance,
+                          Cover[] drainCovers, Cover[] fillCovers) {
+        this.path = path;
+        this.targetPipe = path[path.length - 1];
+        this.destFacing = destFacing;
+        this.distance = distance;
+        this.drainCovers = drainCovers;
+        this.fillCovers = fillCovers;
+
+        TileEntityFluidPipe bottleneck = path[0];
+        Map<FluidPipeProperties, List<TileEntityFluidPipeTickable>> groups = new Object2ObjectLinkedOpenHashMap<>();
+        for (int i = 0; i < path.length; i++) {
+            TileEntityFluidPipe pipe = path[i];
+            if (pipe.getNodeData().getThroughput() < bottleneck.getNodeData().getThroughput()) {
+                bottleneck = pipe;
+            }
+            // the first pipe already checked the fluid when it was filled
+            if (i > 0 && pipe instanceof TileEntityFluidPipeTickable tickable) {
+                groups.computeIfAbsent(pipe.getNodeData(), k -> new ArrayList<>()).add(tickable);
+            }
+        }
+        this.bottleneck = bottleneck;
+        this.pipesByProperties = new TileEntityFluidPipeTickable[groups.size()][];
+        int i = 0;
+        for (List<TileEntityFluidPipeTickable> group : groups.values()) {
+            pipesByProperties[i++] = group.toArray(new TileEntityFluidPipeTickable[0]);
+        }
+    }
+
+    @Override
+    public @NotNull TileEntityFluidPipe getTargetPipe() {
+        return targetPipe;
+    }
+
+    @Override
+    public @NotNull EnumFacing getTargetFacing() {
+        return destFacing;
+    }
+
+    @Override
+    public int getDistance() {
+        return distance;
+    }
+
+    /**
+     * @return the pipes of the route, starting at the source
+     */
+    @NotNull
+    public TileEntityFluidPipe[] getPath() {
+        return path;
+    }
+
+    /**
+     * @return the pipe of the route with the lowest throughput
+     */
+    @NotNull
+    public TileEntityFluidPipe getBottleneck() {
+        return bottleneck;
+    }
+
+    public IFluidHandler getHandler() {
+        return getTargetCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY);
+    }
+
+    /**
+     * @param tank the tank holding the fluid
+     * @return the tank to drain from, or null if a cover blocks the route
+     */
+    @Nullable
+    public IFluidHandler getDrainHandler(@NotNull IFluidHandler tank) {
+        IFluidHandler handler = tank;
+        for (Cover cover : drainCovers) {
+            if (cover instanceof CoverPump) return null;
+            handler = cover.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, handler);
+            if (handler == null) return null;
+        }
+        return handler;
+    }
+
+    /**
+     * @param destination the handler next to the net the route leads to
+     * @return the handler to fill, or null if a cover blocks the route
+     */
+    @Nullable
+    public IFluidHandler getFillHandler(@NotNull IFluidHandler destination) {
+        IFluidHandler handler = destination;
+        // the first cover the fluid passes wraps all others
+        for (int i = fillCovers.length - 1; i >= 0; i--) {
+            Cover cover = fillCovers[i];
+            if (cover instanceof CoverPump) return null;
+            handler = cover.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, handler);
+            if (handler == null) return null;
+        }
+        return handler;
+    }
+
+    /**
+     * Let the fluid damage the pipes of the route, like it would when passing them one by one
+     *
+     * @param stack the fluid passing the route, whose amount is reduced by the fluid lost
+     */
+    public void checkAndDestroy(@NotNull FluidStack stack) {
+        for (TileEntityFluidPipeTickable[] group : pipesByProperties) {
+            if (!group[0].checkAndDestroy(stack, true)) continue;
+            for (TileEntityFluidPipeTickable pipe : group) {
+                if (stack.amount <= 0) return;
+                pipe.checkAndDestroy(stack);
+            }
+        }
+    }
+}
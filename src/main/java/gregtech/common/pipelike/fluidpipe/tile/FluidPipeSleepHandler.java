@@ -0,0 +1,83 @@
+package gregtech.common.pipelike.fluidpipe.tile;
+
+import gregtech.api.GTValues;
+import gregtech.api.util.TileEntitySleepHandler;
+
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Removes empty fluid pipes from the tick list of their world, and adds them back when they are filled, their
+ * covers change or their neighbours change.
+ *
+ * @see TileEntitySleepHandler
+ */
+@EventBusSubscriber(modid = GTValues.MODID)
+public final class FluidPipeSleepHandler {
+
+    private static final TileEntitySleepHandler<TileEntityFluidPipeTickable> HANDLER =
+            new TileEntitySleepHandler<TileEntityFluidPipeTickable>() {
+
+                @Override
+                protected boolean isAsleep(@NotNull TileEntityFluidPipeTickable pipe) {
+                    return pipe.asleep;
+                }
+
+                @Override
+                protected void setAsleep(@NotNull TileEntityFluidPipeTickable pipe, boolean asleep) {
+                    pipe.asleep = asleep;
+                }
+            };
+
+    private FluidPipeSleepHandler() {}
+
+    /**
+     * Request a pipe to stop ticking at the end of the current tick
+     *
+     * @param pipe the pipe
+     */
+    static void requestSleep(@NotNull TileEntityFluidPipeTickable pipe) {
+        HANDLER.requestSleep(pipe);
+    }
+
+    /**
+     * Make a pipe tick again, if it is asleep or about to fall asleep
+     *
+     * @param pipe the pipe
+     */
+    static void wakeUp(@NotNull TileEntityFluidPipeTickable pipe) {
+        HANDLER.wakeUp(pipe);
+    }
+
+    /**
+     * Forget a pipe which is being removed from the world
+     *
+     * @param pipe the pipe
+     */
+    static void forget(@NotNull TileEntityFluidPipeTickable pipe) {
+        HANDLER.forget(pipe);
+    }
+
+    /**
+     * @param world the world
+     * @return the amount of fluid pipes in the world which are not ticking
+     */
+    public static int getSleepingCount(@NotNull World world) {
+        return HANDLER.getSleepingCount(world);
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        HANDLER.onWorldUnload(event.getWorld());
+    }
+
+    @SubscribeEvent
+    public static void onWorldTick(TickEvent.WorldTickEvent event) {
+        HANDLER.onWorldTick(event.world, event.phase);
+    }
+}
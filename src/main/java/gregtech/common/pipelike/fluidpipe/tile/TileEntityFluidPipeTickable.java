@@ -12,7 +12,10 @@ import gregtech.api.metatileentity.IDataInfoProvider;
 import gregtech.api.unification.material.properties.FluidPipeProperties;
 import gregtech.api.util.EntityDamageUtil;
 import gregtech.api.util.TextFormattingUtil;
+import gregtech.common.ConfigHolder;
 import gregtech.common.covers.CoverPump;
+import gregtech.common.pipelike.fluidpipe.net.FluidPipeNet;
+import gregtech.common.pipelike.fluidpipe.net.FluidRoutePath;
 import gregtech.common.pipelike.fluidpipe.net.PipeTankList;
 
 import net.minecraft.entity.EntityLivingBase;
@@ -52,6 +55,8 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
     private FluidTank[] fluidTanks;
     private long timer = 0L;
     private final int offset = GTValues.RNG.nextInt(20);
+    private boolean activeInNet;
+    boolean asleep;
 
     public long getOffsetTimer() {
         return timer + offset;
@@ -69,10 +74,43 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
         return super.getCapabilityInternal(capability, facing);
     }
 
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        // only pipes read from NBT can hold fluid when they load
+        if (!world.isRemote && ConfigHolder.machines.networkFluidFlow && hasFluid()) {
+            activateInNet();
+        }
+    }
+
     @Override
     public void update() {
+        // something outside the world tick list may still tick a sleeping pipe
+        if (asleep) return;
         timer++;
         getCoverableImplementation().update();
+        if (!world.isRemote && ConfigHolder.machines.pipes.sleepEmptyFluidPipes &&
+                getOffsetTimer() % FREQUENCY == 0 && canSleep()) {
+            FluidPipeSleepHandler.requestSleep(this);
+            return;
+        }
+        if (!world.isRemote && getOffsetTimer() % FREQUENCY == 0) {
+            // the flow mode may be changed while the pipe holds fluid
+            if (ConfigHolder.machines.networkFluidFlow) {
+                if (!activeInNet && hasFluid()) activateInNet();
+            } else if (activeInNet) {
+                FluidPipeNet net = getFluidPipeNet();
+                if (net != null) net.deactivate(this);
+                else this.activeInNet = false;
+            }
+        }
+        if (!world.isRemote && ConfigHolder.machines.networkFluidFlow) {
+            if (activeInNet) {
+                FluidPipeNet net = getFluidPipeNet();
+                if (net != null) net.update();
+            }
+            return;
+        }
         if (!world.isRemote && getOffsetTimer() % FREQUENCY == 0) {
             lastReceivedFrom &= 63;
             if (lastReceivedFrom == 63) {
@@ -106,6 +144,59 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
         return true;
     }
 
+    /**
+     * @return if the pipe has nothing to do until it is filled or its covers change
+     */
+    private boolean canSleep() {
+        if (activeInNet || hasFluid()) return false;
+        for (EnumFacing side : EnumFacing.VALUES) {
+            if (getCoverableImplementation().getCoverAtSide(side) instanceof ITickable) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return if any tank of the pipe holds fluid
+     */
+    private boolean hasFluid() {
+        if (fluidTanks != null) {
+            for (FluidTank tank : fluidTanks) {
+                if (tank.getFluidAmount() > 0) return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void notifyBlockUpdate() {
+        super.notifyBlockUpdate();
+        // covers were added or removed
+        FluidPipeSleepHandler.wakeUp(this);
+    }
+
+    @Override
+    public void onNeighborChanged(@NotNull EnumFacing facing) {
+        super.onNeighborChanged(facing);
+        // the connections and covers of the pipe may change with its neighbours
+        FluidPipeSleepHandler.wakeUp(this);
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        FluidPipeSleepHandler.forget(this);
+        if (activeInNet && !world.isRemote) {
+            FluidPipeNet net = getFluidPipeNet();
+            if (net != null) net.deactivate(this);
+        }
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        FluidPipeSleepHandler.forget(this);
+    }
+
     private void distributeFluid(int channel, FluidTank tank, FluidStack fluid) {
         // Tank, From, Amount to receive
         List<FluidTransaction> tanks = new ArrayList<>();
@@ -129,22 +220,8 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
                     facing.getOpposite());
             if (fluidHandler == null) continue;
 
-            IFluidHandler pipeTank = tank;
-            Cover cover = getCoverableImplementation().getCoverAtSide(facing);
-
-            // pipeTank should only be determined by the cover attached to the actual pipe
-            if (cover != null) {
-                pipeTank = cover.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, pipeTank);
-                // Shutter covers return null capability when active, so check here to prevent NPE
-                if (pipeTank == null || checkForPumpCover(cover)) continue;
-            } else {
-                CoverableView coverable = neighbor.getCapability(GregtechTileCapabilities.CAPABILITY_COVER_HOLDER,
-                        facing.getOpposite());
-                if (coverable != null) {
-                    cover = coverable.getCoverAtSide(facing.getOpposite());
-                    if (checkForPumpCover(cover)) continue;
-                }
-            }
+            IFluidHandler pipeTank = getOutputTank(facing, neighbor, tank);
+            if (pipeTank == null) continue;
 
             FluidStack drainable = pipeTank.drain(maxFluid, false);
             if (drainable == null || drainable.amount <= 0) {
@@ -154,12 +231,94 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
             int filled = Math.min(fluidHandler.fill(maxFluid, false), drainable.amount);
 
             if (filled > 0) {
-                tanks.add(new FluidTransaction(fluidHandler, pipeTank, filled));
+                tanks.add(new FluidTransaction(fluidHandler, pipeTank, filled, null));
                 availableCapacity += filled;
             }
             maxFluid.amount = amount; // Because some mods do actually modify input fluid stack
         }
 
+        transferFluid(tank, fluid, tanks, availableCapacity, null);
+    }
+
+    /**
+     * Move the fluid of the pipe to the destinations of its net, with
+     * {@link gregtech.common.ConfigHolder.MachineOptions#networkFluidFlow}
+     *
+     * @param net the net of the pipe
+     * @return if the pipe still holds fluid
+     */
+    public boolean distributeFluid(@NotNull FluidPipeNet net) {
+        lastReceivedFrom &= 63;
+        boolean hasFluid = false;
+        for (FluidTank tank : getFluidTanks()) {
+            FluidStack fluid = tank.getFluid();
+            if (fluid == null)
+                continue;
+            if (fluid.amount <= 0) {
+                tank.setFluid(null);
+                continue;
+            }
+            distributeFluid(net, tank, fluid);
+            hasFluid |= tank.getFluidAmount() > 0;
+        }
+        lastReceivedFrom = 0;
+        return hasFluid;
+    }
+
+    private void distributeFluid(FluidPipeNet net, FluidTank tank, FluidStack fluid) {
+        List<FluidTransaction> tanks = new ArrayList<>();
+        int amount = fluid.amount;
+
+        FluidStack maxFluid = fluid.copy();
+        double availableCapacity = 0;
+
+        for (FluidRoutePath route : net.getNetData(getPipePos())) {
+            EnumFacing facing = route.getTargetFacing();
+            if (route.getTargetPipe() == this && (lastReceivedFrom & (1 << facing.getIndex())) != 0) {
+                // don't send fluid back where it came from
+                continue;
+            }
+            if (!(route.getTargetPipe() instanceof TileEntityFluidPipeTickable targetPipe) ||
+                    targetPipe.isInvalid()) {
+                continue;
+            }
+
+            TileEntity neighbor = route.getTargetTileEntity();
+            if (neighbor == null) continue;
+            IFluidHandler fluidHandler = neighbor.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY,
+                    facing.getOpposite());
+            if (fluidHandler == null) continue;
+
+            // the covers of the pipe next to the destination decide what can leave the net there
+            IFluidHandler pipeTank = targetPipe.getOutputTank(facing, neighbor, tank);
+            if (pipeTank == null) continue;
+            pipeTank = route.getDrainHandler(pipeTank);
+            if (pipeTank == null) continue;
+            fluidHandler = route.getFillHandler(fluidHandler);
+            if (fluidHandler == null) continue;
+
+            int throughput = net.getRemainingThroughput(route);
+            if (throughput <= 0) continue;
+
+            FluidStack drainable = pipeTank.drain(maxFluid, false);
+            if (drainable == null || drainable.amount <= 0) {
+                continue;
+            }
+
+            int filled = Math.min(Math.min(fluidHandler.fill(maxFluid, false), drainable.amount), throughput);
+
+            if (filled > 0) {
+                tanks.add(new FluidTransaction(fluidHandler, pipeTank, filled, route));
+                availableCapacity += filled;
+            }
+            maxFluid.amount = amount; // Because some mods do actually modify input fluid stack
+        }
+
+        transferFluid(tank, fluid, tanks, availableCapacity, net);
+    }
+
+    private void transferFluid(FluidTank tank, FluidStack fluid, List<FluidTransaction> tanks,
+                               double availableCapacity, @Nullable FluidPipeNet net) {
         if (availableCapacity <= 0)
             return;
 
@@ -188,13 +347,60 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
             FluidStack toInsert = fluid.copy();
             toInsert.amount = transaction.amount;
 
-            int inserted = transaction.target.fill(toInsert, true);
-            if (inserted > 0) {
-                transaction.pipeTank.drain(inserted, true);
+            if (transaction.route == null || net == null) {
+                int inserted = transaction.target.fill(toInsert, true);
+                if (inserted > 0) {
+                    transaction.pipeTank.drain(inserted, true);
+                }
+                continue;
+            }
+
+            // routes planned before this one may have used up pipes they share with it
+            toInsert.amount = Math.min(toInsert.amount, net.getRemainingThroughput(transaction.route));
+            if (toInsert.amount <= 0) continue;
+            transaction.amount = toInsert.amount;
+
+            // the fluid passes the pipes of the route without being stored in them, so let it damage them on the way
+            transaction.route.checkAndDestroy(toInsert);
+            int lost = transaction.amount - toInsert.amount;
+            int inserted = toInsert.amount > 0 ? transaction.target.fill(toInsert, true) : 0;
+            if (inserted + lost > 0) {
+                transaction.pipeTank.drain(inserted + lost, true);
+                net.useThroughput(transaction.route, inserted);
             }
         }
     }
 
+    /**
+     * Get the tank to drain from when pushing fluid to the neighbour on a side
+     *
+     * @param facing   the side of the neighbour
+     * @param neighbor the neighbour
+     * @param tank     the tank holding the fluid
+     * @return the tank to drain from, or null if the covers of the pipe or neighbour do not allow pushing there
+     */
+    @Nullable
+    public IFluidHandler getOutputTank(@NotNull EnumFacing facing, @NotNull TileEntity neighbor,
+                                       @NotNull IFluidHandler tank) {
+        IFluidHandler pipeTank = tank;
+        Cover cover = getCoverableImplementation().getCoverAtSide(facing);
+
+        // pipeTank should only be determined by the cover attached to the actual pipe
+        if (cover != null) {
+            pipeTank = cover.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, pipeTank);
+            // Shutter covers return null capability when active, so check here to prevent NPE
+            if (pipeTank == null || checkForPumpCover(cover)) return null;
+        } else {
+            CoverableView coverable = neighbor.getCapability(GregtechTileCapabilities.CAPABILITY_COVER_HOLDER,
+                    facing.getOpposite());
+            if (coverable != null) {
+                cover = coverable.getCoverAtSide(facing.getOpposite());
+                if (checkForPumpCover(cover)) return null;
+            }
+        }
+        return pipeTank;
+    }
+
     private boolean checkForPumpCover(@Nullable Cover cover) {
         if (cover instanceof CoverPump coverPump) {
             int pipeThroughput = getNodeData().getThroughput() * 20;
@@ -207,6 +413,15 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
     }
 
     public void checkAndDestroy(@NotNull FluidStack stack) {
+        checkAndDestroy(stack, false);
+    }
+
+    /**
+     * @param stack    the fluid in the pipe
+     * @param simulate if the pipe should only be checked, without being damaged
+     * @return if the fluid damages the pipe
+     */
+    public boolean checkAndDestroy(@NotNull FluidStack stack, boolean simulate) {
         Fluid fluid = stack.getFluid();
         FluidPipeProperties prop = getNodeData();
 
@@ -236,9 +451,11 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
             }
         }
 
-        if (burning || leaking || corroding || shattering || melting) {
+        boolean damaged = burning || leaking || corroding || shattering || melting;
+        if (damaged && !simulate) {
             destroyPipe(stack, burning, leaking, corroding, shattering, melting);
         }
+        return damaged;
     }
 
     public void destroyPipe(FluidStack stack, boolean isBurning, boolean isLeaking, boolean isCorroding,
@@ -357,11 +574,31 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
     }
 
     public void receivedFrom(EnumFacing facing) {
+        FluidPipeSleepHandler.wakeUp(this);
+        if (!activeInNet && ConfigHolder.machines.networkFluidFlow) {
+            activateInNet();
+        }
         if (facing != null) {
             lastReceivedFrom |= (1 << facing.getIndex());
         }
     }
 
+    private void activateInNet() {
+        FluidPipeNet net = getFluidPipeNet();
+        if (net != null) {
+            net.activate(this);
+        }
+    }
+
+    /**
+     * Should only be called by the fluid pipe net
+     *
+     * @param activeInNet if the net moves the fluid of the pipe
+     */
+    public void setActiveInNet(boolean activeInNet) {
+        this.activeInNet = activeInNet;
+    }
+
     public FluidStack getContainedFluid(int channel) {
         if (channel < 0 || channel >= getFluidTanks().length) return null;
         return getFluidTanks()[channel].getFluid();
@@ -472,12 +709,16 @@ public class TileEntityFluidPipeTickable extends TileEntityFluidPipe implements
 
         public final IFluidHandler target;
         public final IFluidHandler pipeTank;
+        @Nullable
+        public final FluidRoutePath route;
         public int amount;
 
-        private FluidTransaction(IFluidHandler target, IFluidHandler pipeTank, int amount) {
+        private FluidTransaction(IFluidHandler target, IFluidHandler pipeTank, int amount,
+                                 @Nullable FluidRoutePath route) {
             this.target = target;
             this.pipeTank = pipeTank;
             this.amount = amount;
+            this.route = route;
         }
     }
 }
@@ -334,7 +334,14 @@ public class ItemNetHandler implements IItemHandler {
                     ignoreLimit);
         }
 
-        return insert(neighbourHandler, stack, simulate, allowed, ignoreLimit);
+        if (neighbourHandler == null || routePath.isKnownToReject(neighbourHandler, stack)) {
+            return stack;
+        }
+        ItemStack remainder = insert(neighbourHandler, stack, simulate, allowed, ignoreLimit);
+        if (remainder.getCount() == stack.getCount()) {
+            routePath.onRejected(neighbourHandler, stack);
+        }
+        return remainder;
     }
 
     private ItemStack insert(IItemHandler handler, ItemStack stack, boolean simulate, int allowed,
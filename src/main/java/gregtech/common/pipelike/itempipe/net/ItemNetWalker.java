@@ -17,6 +17,7 @@ import net.minecraft.world.World;
 import net.minecraftforge.items.CapabilityItemHandler;
 import net.minecraftforge.items.IItemHandler;
 
+import org.apache.commons.lang3.ArrayUtils;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
@@ -41,6 +42,7 @@ public class ItemNetWalker extends PipeNetWalker<TileEntityItemPipe> {
     private final List<ItemRoutePath> inventories;
     private final List<Predicate<ItemStack>> filters = new ArrayList<>();
     private final EnumMap<EnumFacing, List<Predicate<ItemStack>>> nextFilters = new EnumMap<>(EnumFacing.class);
+    private TileEntityItemPipe[] pipes = {};
     private BlockPos sourcePipe;
     private EnumFacing facingToHandler;
 
@@ -57,6 +59,7 @@ public class ItemNetWalker extends PipeNetWalker<TileEntityItemPipe> {
         ItemNetWalker walker = new ItemNetWalker(world, nextPos, walkedBlocks, inventories, minProperties);
         walker.facingToHandler = facingToHandler;
         walker.sourcePipe = sourcePipe;
+        walker.pipes = pipes;
         walker.filters.addAll(filters);
         List<Predicate<ItemStack>> moreFilters = nextFilters.get(facingToNextPos);
         if (moreFilters != null && !moreFilters.isEmpty()) {
@@ -73,6 +76,7 @@ public class ItemNetWalker extends PipeNetWalker<TileEntityItemPipe> {
             }
         }
         nextFilters.clear();
+        pipes = ArrayUtils.add(pipes, pipeTile);
         ItemPipeProperties pipeProperties = pipeTile.getNodeData();
         if (minProperties == null) {
             minProperties = pipeProperties;
@@ -97,7 +101,7 @@ public class ItemNetWalker extends PipeNetWalker<TileEntityItemPipe> {
             if (moreFilters != null && !moreFilters.isEmpty()) {
                 filters.addAll(moreFilters);
             }
-            inventories.add(new ItemRoutePath(pipeTile, faceToNeighbour, getWalkedBlocks(), minProperties, filters));
+            inventories.add(new ItemRoutePath(faceToNeighbour, pipes, getWalkedBlocks(), minProperties, filters));
         }
     }
 
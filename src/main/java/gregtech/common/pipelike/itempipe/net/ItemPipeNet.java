@@ -1,45 +1,76 @@
 package gregtech.common.pipelike.itempipe.net;
 
+import gregtech.api.metatileentity.interfaces.IGregTechTileEntity;
 import gregtech.api.pipenet.Node;
 import gregtech.api.pipenet.PipeNet;
+import gregtech.api.pipenet.SourceRoutes;
 import gregtech.api.pipenet.WorldPipeNet;
+import gregtech.api.pipenet.tile.IPipeTile;
 import gregtech.api.unification.material.properties.ItemPipeProperties;
+import gregtech.api.util.FacingPos;
+import gregtech.common.pipelike.itempipe.tile.TileEntityItemPipe;
 
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.items.CapabilityItemHandler;
 
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * An item pipe net, caching the routes from each side of a pipe to all item handlers it reaches.
+ * <p>
+ * Changes to the net only invalidate the routes depending on them. Each cached source tracks the pipes its routes
+ * pass through, so changing, removing or unloading a pipe only drops the sources routed through it. Handlers
+ * disappearing next to the net only remove their routes, and changes next to a handler make its routes forget the
+ * items it rejected.
+ */
 public class ItemPipeNet extends PipeNet<ItemPipeProperties> {
 
-    private final Map<BlockPos, List<ItemRoutePath>> NET_DATA = new HashMap<>();
+    private final Map<FacingPos, SourceRoutes<ItemRoutePath>> NET_DATA = new Object2ObjectOpenHashMap<>();
 
     public ItemPipeNet(WorldPipeNet<ItemPipeProperties, ? extends PipeNet<ItemPipeProperties>> world) {
         super(world);
     }
 
     public List<ItemRoutePath> getNetData(BlockPos pipePos, EnumFacing facing) {
-        List<ItemRoutePath> data = NET_DATA.get(pipePos);
+        FacingPos key = new FacingPos(pipePos, facing);
+        SourceRoutes<ItemRoutePath> data = NET_DATA.get(key);
         if (data == null) {
-            data = ItemNetWalker.createNetData(getWorldData(), pipePos, facing);
-            if (data == null) {
+            List<ItemRoutePath> routes = ItemNetWalker.createNetData(getWorldData(), pipePos, facing);
+            if (routes == null) {
                 // walker failed, don't cache so it tries again on next insertion
                 return Collections.emptyList();
             }
-            data.sort(Comparator.comparingInt(inv -> inv.getProperties().getPriority()));
-            NET_DATA.put(pipePos, data);
+            routes.sort(Comparator.comparingInt(inv -> inv.getProperties().getPriority()));
+            data = new SourceRoutes<>(routes, ItemRoutePath::getPath);
+            NET_DATA.put(new FacingPos(pipePos.toImmutable(), facing), data);
         }
-        return data;
+        return data.getRoutes();
     }
 
     @Override
     public void onNeighbourUpdate(BlockPos fromPos) {
-        NET_DATA.clear();
+        if (NET_DATA.isEmpty()) return;
+        if (containsNode(fromPos)) {
+            // pipes of this net notify their neighbours when their covers change, which filter the routes
+            invalidatePipes(Collections.singleton(fromPos));
+            return;
+        }
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            BlockPos pipePos = fromPos.offset(facing);
+            if (containsNode(pipePos)) {
+                updateDestination(pipePos, facing.getOpposite());
+            }
+        }
     }
 
     @Override
@@ -47,17 +78,108 @@ public class ItemPipeNet extends PipeNet<ItemPipeProperties> {
         NET_DATA.clear();
     }
 
+    @Override
+    public void onPipeConnectionUpdate(BlockPos nodePos, EnumFacing side) {
+        if (NET_DATA.isEmpty()) return;
+        World world = getWorldData();
+        BlockPos neighbourPos = nodePos.offset(side);
+        if (world == null || !world.isBlockLoaded(neighbourPos) ||
+                world.getTileEntity(neighbourPos) instanceof IPipeTile<?, ?>) {
+            // connections between pipes change the paths through the net
+            NET_DATA.clear();
+        } else {
+            updateDestination(nodePos, side);
+        }
+    }
+
     @Override
     public void onChunkUnload() {
         NET_DATA.clear();
     }
 
+    @Override
+    public void onPipeUnload(BlockPos nodePos) {
+        invalidatePipes(Collections.singleton(nodePos));
+    }
+
+    @Override
+    protected void addNode(BlockPos nodePos, Node<ItemPipeProperties> node) {
+        super.addNode(nodePos, node);
+        // a new pipe can create paths of higher priority and reach new destinations
+        NET_DATA.clear();
+    }
+
+    @Override
+    protected void removeNode(BlockPos nodePos) {
+        super.removeNode(nodePos);
+        invalidatePipes(Collections.singleton(nodePos));
+    }
+
     @Override
     protected void transferNodeData(Map<BlockPos, Node<ItemPipeProperties>> transferredNodes,
                                     PipeNet<ItemPipeProperties> parentNet) {
         super.transferNodeData(transferredNodes, parentNet);
         NET_DATA.clear();
-        ((ItemPipeNet) parentNet).NET_DATA.clear();
+        ((ItemPipeNet) parentNet).invalidatePipes(transferredNodes.keySet());
+    }
+
+    /**
+     * Drop the cached routes of all sources which are on one of the pipes, or are routed through one of them
+     *
+     * @param pipes the positions of the pipes
+     */
+    private void invalidatePipes(Collection<BlockPos> pipes) {
+        if (NET_DATA.isEmpty()) return;
+        NET_DATA.entrySet().removeIf(entry -> pipes.contains(entry.getKey().getPos()) ||
+                entry.getValue().dependsOnAny(pipes));
+    }
+
+    /**
+     * Remove the routes to the handler on a side of a pipe if it disappeared, or drop all routes if one appeared
+     *
+     * @param pipePos the position of the pipe
+     * @param side    the side of the pipe facing the handler
+     */
+    private void updateDestination(BlockPos pipePos, EnumFacing side) {
+        if (NET_DATA.isEmpty()) return;
+        World world = getWorldData();
+        BlockPos destPos = pipePos.offset(side);
+        if (world == null || !world.isBlockLoaded(pipePos) || !world.isBlockLoaded(destPos)) {
+            NET_DATA.clear();
+            return;
+        }
+
+        boolean isDestination = false;
+        if (world.getTileEntity(pipePos) instanceof TileEntityItemPipe pipe && pipe.isConnected(side)) {
+            TileEntity tile = world.getTileEntity(destPos);
+            if (tile instanceof IGregTechTileEntity gtte && gtte.getMetaTileEntity() == null) {
+                // machines are notified before their MetaTileEntity is set, so their capabilities are not known yet
+                NET_DATA.clear();
+                return;
+            }
+            isDestination = tile != null &&
+                    tile.hasCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, side.getOpposite());
+        }
+
+        // the handler or what it accepts may have changed, so its routes forget the items it rejected
+        boolean wasDestination = false;
+        for (SourceRoutes<ItemRoutePath> data : NET_DATA.values()) {
+            ItemRoutePath route = data.getRouteTo(pipePos, side);
+            if (route != null) {
+                route.resetRejections();
+                wasDestination = true;
+            }
+        }
+        if (isDestination == wasDestination) return;
+
+        if (isDestination) {
+            // the filters and priority of a new route depend on the direction it is walked from each source
+            NET_DATA.clear();
+            return;
+        }
+        for (SourceRoutes<ItemRoutePath> data : NET_DATA.values()) {
+            data.removeRoutesTo(pipePos, side);
+        }
     }
 
     @Override
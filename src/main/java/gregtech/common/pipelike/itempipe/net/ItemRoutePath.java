@@ -1,8 +1,11 @@
 package gregtech.common.pipelike.itempipe.net;
 
+import gregtech.api.capability.impl.InputChangeTracker;
+import gregtech.api.capability.impl.ItemHandlerProxy;
 import gregtech.api.pipenet.IRoutePath;
 import gregtech.api.unification.material.properties.ItemPipeProperties;
 import gregtech.api.util.FacingPos;
+import gregtech.api.util.ItemStackHashStrategy;
 import gregtech.common.pipelike.itempipe.tile.TileEntityItemPipe;
 
 import net.minecraft.item.ItemStack;
@@ -10,30 +13,46 @@ import net.minecraft.util.EnumFacing;
 import net.minecraftforge.items.CapabilityItemHandler;
 import net.minecraftforge.items.IItemHandler;
 
+import it.unimi.dsi.fastutil.objects.ObjectOpenCustomHashSet;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
 
+/**
+ * A route from an item pipe to an item handler next to the net.
+ * <p>
+ * The route remembers the items its handler rejected, as long as the handler tracks changes to its contents and did
+ * not change since, so inserting them again can be skipped without asking the handler. What a handler accepts can
+ * also depend on the state of its machine or covers, which is not tracked, so rejections are only remembered for
+ * {@link #REJECTION_TICKS} ticks.
+ */
 public class ItemRoutePath implements IRoutePath<TileEntityItemPipe> {
 
+    public static final int REJECTION_TICKS = 20;
+
     private final TileEntityItemPipe targetPipe;
     private final EnumFacing faceToHandler;
     private final int distance;
+    private final TileEntityItemPipe[] path;
     private final ItemPipeProperties properties;
-    private final Predicate<ItemStack> filters;
+    private final Predicate<ItemStack>[] filters;
+
+    private IItemHandler rejectingHandler;
+    private long rejectedStamp;
+    private long rejectedTime;
+    private Set<ItemStack> rejectedItems;
 
-    public ItemRoutePath(TileEntityItemPipe targetPipe, EnumFacing facing, int distance, ItemPipeProperties properties,
+    @SuppressWarnings("unchecked")
+    public ItemRoutePath(EnumFacing facing, TileEntityItemPipe[] path, int distance, ItemPipeProperties properties,
                          List<Predicate<ItemStack>> filters) {
-        this.targetPipe = targetPipe;
+        this.targetPipe = path[path.length - 1];
         this.faceToHandler = facing;
         this.distance = distance;
+        this.path = path;
         this.properties = properties;
-        this.filters = stack -> {
-            for (Predicate<ItemStack> filter : filters)
-                if (!filter.test(stack)) return false;
-            return true;
-        };
+        this.filters = filters.toArray(new Predicate[0]);
     }
 
     @NotNull
@@ -53,12 +72,19 @@ public class ItemRoutePath implements IRoutePath<TileEntityItemPipe> {
         return distance;
     }
 
+    public TileEntityItemPipe[] getPath() {
+        return path;
+    }
+
     public ItemPipeProperties getProperties() {
         return properties;
     }
 
     public boolean matchesFilters(ItemStack stack) {
-        return filters.test(stack);
+        for (Predicate<ItemStack> filter : filters) {
+            if (!filter.test(stack)) return false;
+        }
+        return true;
     }
 
     public IItemHandler getHandler() {
@@ -68,4 +94,55 @@ public class ItemRoutePath implements IRoutePath<TileEntityItemPipe> {
     public FacingPos toFacingPos() {
         return new FacingPos(getTargetPipePos(), faceToHandler);
     }
+
+    /**
+     * @param handler the handler of the route
+     * @param stack   the stack to insert
+     * @return if the handler rejected the stack recently, and did not change since
+     */
+    public boolean isKnownToReject(@NotNull IItemHandler handler, @NotNull ItemStack stack) {
+        if (rejectedItems == null || handler != rejectingHandler) return false;
+        if (getLastChange(handler) != rejectedStamp ||
+                targetPipe.getTickTimer() - rejectedTime >= REJECTION_TICKS) {
+            rejectedItems = null;
+            return false;
+        }
+        return rejectedItems.contains(stack);
+    }
+
+    /**
+     * Remember that the handler of the route did not accept any of a stack
+     *
+     * @param handler the handler of the route
+     * @param stack   the rejected stack
+     */
+    public void onRejected(@NotNull IItemHandler handler, @NotNull ItemStack stack) {
+        long stamp = getLastChange(handler);
+        if (stamp == Long.MAX_VALUE) return;
+        long time = targetPipe.getTickTimer();
+        if (rejectedItems == null || handler != rejectingHandler || stamp != rejectedStamp ||
+                time - rejectedTime >= REJECTION_TICKS) {
+            this.rejectingHandler = handler;
+            this.rejectedStamp = stamp;
+            this.rejectedTime = time;
+            this.rejectedItems = new ObjectOpenCustomHashSet<>(ItemStackHashStrategy.comparingAllButCount());
+        }
+        rejectedItems.add(stack.copy());
+    }
+
+    /**
+     * Forget the rejected items, as the handler or what it accepts may have changed
+     */
+    public void resetRejections() {
+        this.rejectingHandler = null;
+        this.rejectedItems = null;
+    }
+
+    private static long getLastChange(IItemHandler handler) {
+        // machines only insert into their import inventory
+        if (handler instanceof ItemHandlerProxy proxy) {
+            handler = proxy.getInsertHandler();
+        }
+        return InputChangeTracker.getLastChange(handler);
+    }
 }
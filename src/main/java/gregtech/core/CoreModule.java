@@ -42,6 +42,8 @@ import gregtech.common.blocks.BlockCleanroomCasing;
 import gregtech.common.blocks.BlockWireCoil;
 import gregtech.common.blocks.MetaBlocks;
 import gregtech.common.command.CommandHand;
+import gregtech.common.command.CommandProfile;
+import gregtech.common.command.CommandRecipeCache;
 import gregtech.common.command.CommandRecipeCheck;
 import gregtech.common.command.CommandShaders;
 import gregtech.common.command.worldgen.CommandWorldgen;
@@ -319,6 +321,8 @@ public class CoreModule implements IGregTechModule {
         GregTechAPI.commandManager.addCommand(new CommandWorldgen());
         GregTechAPI.commandManager.addCommand(new CommandHand());
         GregTechAPI.commandManager.addCommand(new CommandRecipeCheck());
+        GregTechAPI.commandManager.addCommand(new CommandRecipeCache());
+        GregTechAPI.commandManager.addCommand(new CommandProfile());
         GregTechAPI.commandManager.addCommand(new CommandShaders());
         GregTechAPI.commandManager.addCommand(new CommandDataFix());
         CapesRegistry.load();
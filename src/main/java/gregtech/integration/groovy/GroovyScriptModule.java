@@ -98,6 +98,9 @@ public class GroovyScriptModule extends IntegrationSubmodule implements GroovyPl
         if (!GregTechAPI.moduleManager.isModuleEnabled(GregTechModules.MODULE_JEI) ||
                 FMLCommonHandler.instance().getSide().isServer())
             GTRecipeOreInput.refreshStackCache();
+
+        // scripts may have changed recipes, which discards the compiled lookups
+        RecipeMap.compileLookups();
     }
 
     @SubscribeEvent
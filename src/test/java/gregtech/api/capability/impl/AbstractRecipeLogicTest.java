@@ -1,6 +1,8 @@
 package gregtech.api.capability.impl;
 
 import gregtech.Bootstrap;
+import gregtech.api.GTValues;
+import gregtech.api.capability.IMultipleTankHandler;
 import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.api.metatileentity.MetaTileEntityHolder;
 import gregtech.api.metatileentity.SimpleMachineMetaTileEntity;
@@ -8,15 +10,20 @@ import gregtech.api.recipes.Recipe;
 import gregtech.api.recipes.RecipeMap;
 import gregtech.api.recipes.RecipeMapBuilder;
 import gregtech.api.recipes.builders.SimpleRecipeBuilder;
+import gregtech.api.recipes.logic.OCParams;
+import gregtech.api.recipes.logic.OCResult;
 import gregtech.api.util.GTUtility;
 import gregtech.api.util.world.DummyWorld;
+import gregtech.common.ConfigHolder;
 import gregtech.common.metatileentities.MetaTileEntities;
 
 import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemStack;
 import net.minecraft.world.World;
+import net.minecraftforge.items.IItemHandlerModifiable;
 
 import org.hamcrest.MatcherAssert;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -38,8 +45,10 @@ public class AbstractRecipeLogicTest {
         MatcherAssert.assertThat(arl.invalidInputsForRecipes, is(true));
         MatcherAssert.assertThat(arl.isActive, is(false));
         MatcherAssert.assertThat(arl.previousRecipe, nullValue());
+        MatcherAssert.assertThat(arl.isIdle(), is(true));
 
         queryTestRecipe(arl);
+        MatcherAssert.assertThat(arl.isIdle(), is(false));
         MatcherAssert.assertThat(arl.invalidInputsForRecipes, is(false));
         MatcherAssert.assertThat(arl.previousRecipe, notNullValue());
         MatcherAssert.assertThat(arl.isActive, is(true));
@@ -76,6 +85,37 @@ public class AbstractRecipeLogicTest {
                 new ItemStack(Blocks.STONE, 1)), is(true));
     }
 
+    @Test
+    public void previousRecipeMatchReuse() {
+        AbstractRecipeLogic arl = createTestLogic(1, 1);
+        queryTestRecipe(arl);
+        Recipe prev = arl.previousRecipe;
+        IItemHandlerModifiable inputs = arl.getInputInventory();
+        IMultipleTankHandler fluidInputs = arl.getInputTank();
+
+        // consuming the inputs forgets the match
+        MatcherAssert.assertThat(arl.previousMatch.isValid(prev, inputs, fluidInputs), is(false));
+        MatcherAssert.assertThat(arl.checkPreviousRecipe(), is(true));
+        MatcherAssert.assertThat(arl.previousMatch.isValid(prev, inputs, fluidInputs), is(true));
+
+        // increases, and changes of slots the recipe did not use, keep the match
+        inputs.insertItem(0, new ItemStack(Blocks.COBBLESTONE), false);
+        inputs.insertItem(1, new ItemStack(Blocks.DIRT, 4), false);
+        inputs.extractItem(1, 2, false);
+        MatcherAssert.assertThat(arl.previousMatch.isValid(prev, inputs, fluidInputs), is(true));
+
+        // a decrease of a used slot requires matching again
+        inputs.extractItem(0, 1, false);
+        MatcherAssert.assertThat(arl.previousMatch.isValid(prev, inputs, fluidInputs), is(false));
+        MatcherAssert.assertThat(arl.checkPreviousRecipe(), is(true));
+        MatcherAssert.assertThat(arl.previousMatch.isValid(prev, inputs, fluidInputs), is(true));
+
+        // as does replacing the stack in a used slot
+        inputs.setStackInSlot(0, new ItemStack(Blocks.DIRT, 16));
+        MatcherAssert.assertThat(arl.previousMatch.isValid(prev, inputs, fluidInputs), is(false));
+        MatcherAssert.assertThat(arl.checkPreviousRecipe(), is(false));
+    }
+
     @Test
     public void euAndSpeedBonus() {
         final int initialEUt = 30;
@@ -111,6 +151,101 @@ public class AbstractRecipeLogicTest {
         MatcherAssert.assertThat(arl.maxProgressTime, is((int) Math.round(initialDuration * 0.2)));
     }
 
+    @Test
+    public void drawEnergyAhead() {
+        // total energy drawn, and the amount of times it was drawn
+        long[] drawn = new long[2];
+        AbstractRecipeLogic arl = createDrawAheadLogic(drawn);
+
+        int drawAheadTicks = ConfigHolder.machines.recipeEnergyDrawAheadTicks;
+        ConfigHolder.machines.recipeEnergyDrawAheadTicks = 10;
+        try {
+            arl.progressTime = 1;
+            arl.maxProgressTime = 25;
+            arl.recipeEUt = 30;
+
+            int ticks = 0;
+            while (arl.progressTime > 0) {
+                arl.updateRecipeProgress();
+                ticks++;
+            }
+
+            // the recipe takes as long as usual, but its energy is drawn 10, 10 and 5 ticks at a time
+            MatcherAssert.assertThat(ticks, is(25));
+            MatcherAssert.assertThat(drawn[0], is(25L * 30));
+            MatcherAssert.assertThat(drawn[1], is(3L));
+            MatcherAssert.assertThat(arl.energyDrawnAheadTicks, is(0));
+        } finally {
+            ConfigHolder.machines.recipeEnergyDrawAheadTicks = drawAheadTicks;
+        }
+    }
+
+    @Test
+    public void invalidatingRefundsEnergyDrawnAhead() {
+        long[] drawn = new long[2];
+        AbstractRecipeLogic arl = createDrawAheadLogic(drawn);
+
+        int drawAheadTicks = ConfigHolder.machines.recipeEnergyDrawAheadTicks;
+        ConfigHolder.machines.recipeEnergyDrawAheadTicks = 10;
+        try {
+            arl.progressTime = 1;
+            arl.maxProgressTime = 25;
+            arl.recipeEUt = 30;
+            for (int i = 0; i < 3; i++) {
+                arl.updateRecipeProgress();
+            }
+            MatcherAssert.assertThat(drawn[0], is(10L * 30));
+            MatcherAssert.assertThat(arl.energyDrawnAheadTicks, is(7));
+
+            // the 7 ticks of progress which did not happen are paid back
+            arl.invalidate();
+            MatcherAssert.assertThat(drawn[0], is(3L * 30));
+            MatcherAssert.assertThat(drawn[1], is(2L));
+            MatcherAssert.assertThat(arl.energyDrawnAheadTicks, is(0));
+        } finally {
+            ConfigHolder.machines.recipeEnergyDrawAheadTicks = drawAheadTicks;
+        }
+    }
+
+    @Test
+    public void overclockMemo() {
+        AbstractRecipeLogic testLogic = createTestLogic(30, 100);
+        int[] overclocks = new int[1];
+        AbstractRecipeLogic arl = new AbstractRecipeLogic(testLogic.getMetaTileEntity(), testLogic.getRecipeMap()) {
+
+            @Override
+            protected long getEnergyInputPerSecond() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            protected void performOverclocking(@NotNull Recipe recipe, @NotNull OCParams ocParams,
+                                               @NotNull OCResult ocResult) {
+                overclocks[0]++;
+                super.performOverclocking(recipe, ocParams, ocResult);
+            }
+        };
+        arl.setMaximumOverclockVoltage(GTValues.V[GTValues.HV]);
+
+        Recipe recipe = arl.getRecipeMap().getRecipeList().iterator().next();
+        arl.calculateOverclock(recipe);
+        MatcherAssert.assertThat(overclocks[0], is(1));
+
+        // the same recipe under the same conditions reuses the overclock
+        arl.calculateOverclock(recipe);
+        MatcherAssert.assertThat(overclocks[0], is(1));
+
+        // a different maximum voltage overclocks again
+        arl.setMaximumOverclockVoltage(GTValues.V[GTValues.MV]);
+        arl.calculateOverclock(recipe);
+        MatcherAssert.assertThat(overclocks[0], is(2));
+
+        // invalidating the logic forgets the overclock
+        arl.invalidate();
+        arl.calculateOverclock(recipe);
+        MatcherAssert.assertThat(overclocks[0], is(3));
+    }
+
     private static int TEST_ID = 190;
 
     private static AbstractRecipeLogic createTestLogic(int testRecipeEUt, int testRecipeDuration) {
@@ -174,6 +309,34 @@ public class AbstractRecipeLogicTest {
         return arl;
     }
 
+    /**
+     * @param drawn the total energy drawn, and the amount of times it was drawn
+     */
+    private static AbstractRecipeLogic createDrawAheadLogic(long[] drawn) {
+        AbstractRecipeLogic testLogic = createTestLogic(30, 25);
+        return new AbstractRecipeLogic(testLogic.getMetaTileEntity(), testLogic.getRecipeMap()) {
+
+            @Override
+            protected long getEnergyInputPerSecond() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            protected boolean drawEnergy(long recipeEUt, boolean simulate) {
+                if (!simulate) {
+                    drawn[0] += recipeEUt;
+                    drawn[1]++;
+                }
+                return true;
+            }
+
+            @Override
+            protected boolean canDrawEnergyAhead() {
+                return true;
+            }
+        };
+    }
+
     private static void queryTestRecipe(AbstractRecipeLogic arl) {
         // put an item in the inventory that will trigger recipe recheck
         arl.getInputInventory().insertItem(0, new ItemStack(Blocks.COBBLESTONE, 16), false);
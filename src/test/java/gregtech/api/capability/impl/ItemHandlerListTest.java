@@ -0,0 +1,70 @@
+package gregtech.api.capability.impl;
+
+import gregtech.Bootstrap;
+import gregtech.api.metatileentity.MetaTileEntity;
+import gregtech.api.util.GTHashMaps;
+import gregtech.common.metatileentities.multi.multiblockpart.MetaTileEntityItemBus;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.items.ItemStackHandler;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static gregtech.api.util.GTUtility.gregtechId;
+import static org.hamcrest.CoreMatchers.*;
+
+public class ItemHandlerListTest {
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void itemCountsFollowChanges() {
+        MetaTileEntity bus = new MetaTileEntityItemBus(gregtechId("item_bus.import.lv"), 1, false);
+        NotifiableItemStackHandler first = new NotifiableItemStackHandler(bus, 4, null, false);
+        NotifiableItemStackHandler second = new NotifiableItemStackHandler(bus, 4, null, false);
+        ItemHandlerList list = new ItemHandlerList(Arrays.asList(first, second));
+
+        first.setStackInSlot(0, new ItemStack(Blocks.COBBLESTONE, 16));
+        second.setStackInSlot(1, new ItemStack(Blocks.COBBLESTONE, 32));
+        second.setStackInSlot(2, new ItemStack(Blocks.DIRT, 5));
+
+        Object2IntMap<ItemStack> counts = list.getItemCounts();
+        MatcherAssert.assertThat(counts, notNullValue());
+        MatcherAssert.assertThat(counts.size(), is(2));
+        MatcherAssert.assertThat(counts.getInt(new ItemStack(Blocks.COBBLESTONE)), is(48));
+        MatcherAssert.assertThat(counts.getInt(new ItemStack(Blocks.DIRT)), is(5));
+
+        // changes to a backing handler are counted again
+        second.extractItem(1, 8, false);
+        MatcherAssert.assertThat(list.getItemCounts().getInt(new ItemStack(Blocks.COBBLESTONE)), is(40));
+        MatcherAssert.assertThat(GTHashMaps.fromItemHandler(list).getInt(new ItemStack(Blocks.COBBLESTONE)),
+                is(40));
+
+        second.setStackInSlot(2, ItemStack.EMPTY);
+        MatcherAssert.assertThat(list.getItemCounts().containsKey(new ItemStack(Blocks.DIRT)), is(false));
+    }
+
+    @Test
+    public void untrackedHandlersAreNotCounted() {
+        MetaTileEntity bus = new MetaTileEntityItemBus(gregtechId("item_bus.import.lv"), 1, false);
+        NotifiableItemStackHandler tracked = new NotifiableItemStackHandler(bus, 4, null, false);
+        ItemStackHandler untracked = new ItemStackHandler(2);
+        ItemHandlerList list = new ItemHandlerList(Arrays.asList(tracked, untracked));
+
+        tracked.setStackInSlot(0, new ItemStack(Blocks.COBBLESTONE, 16));
+        untracked.setStackInSlot(1, new ItemStack(Blocks.COBBLESTONE, 4));
+
+        MatcherAssert.assertThat(list.getItemCounts(), nullValue());
+        MatcherAssert.assertThat(GTHashMaps.fromItemHandler(list).getInt(new ItemStack(Blocks.COBBLESTONE)),
+                is(20));
+    }
+}
@@ -499,6 +499,13 @@ public class MultiblockRecipeLogicTest {
         // Save a reference to the old recipe so we can make sure it's getting reused
         Recipe prev = mbl.previousRecipe;
 
+        // the first bus remembers its recipe, the second bus has none
+        MatcherAssert.assertThat(mbl.checkPreviousRecipeDistinct(firstBus, mbl.getInputTank(firstBus), 32),
+                is(prev));
+        IItemHandlerModifiable secondBus = mbl.getInputBuses().get(1);
+        MatcherAssert.assertThat(mbl.checkPreviousRecipeDistinct(secondBus, mbl.getInputTank(secondBus), 32),
+                nullValue());
+
         // Finish the recipe, the output should generate, and the next iteration should begin
         mbl.updateWorkable();
         MatcherAssert.assertThat(mbl.previousRecipe, is(prev));
@@ -531,6 +538,257 @@ public class MultiblockRecipeLogicTest {
                 new ItemStack(Blocks.STONE, 1)), is(true));
     }
 
+    @Test
+    @SuppressWarnings("deprecation")
+    public void distinctBusesRememberTheirRecipes() {
+        World world = DummyWorld.INSTANCE;
+
+        RecipeMaps.BLAST_RECIPES.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE))
+                .outputs(new ItemStack(Blocks.STONE))
+                .EUt(1).duration(1)
+                .blastFurnaceTemp(1)
+                .buildAndRegister();
+
+        RecipeMaps.BLAST_RECIPES.recipeBuilder()
+                .inputs(new ItemStack(Blocks.SAND))
+                .outputs(new ItemStack(Blocks.GLASS))
+                .EUt(1).duration(1)
+                .blastFurnaceTemp(1)
+                .buildAndRegister();
+
+        RecipeMapMultiblockController mbt = MetaTileEntities.registerMetaTileEntity(511,
+                new MetaTileEntityElectricBlastFurnace(
+                        // super function calls the world, which equal null in test
+                        gregtechId("electric_blast_furnace")) {
+
+                    @Override
+                    public boolean hasMufflerMechanics() {
+                        return false;
+                    }
+
+                    // ignore maintenance problems
+                    @Override
+                    public boolean hasMaintenanceMechanics() {
+                        return false;
+                    }
+
+                    @Override
+                    public void reinitializeStructurePattern() {}
+
+                    @Override
+                    public boolean isDistinct() {
+                        return true;
+                    }
+
+                    // function checks for the temperature of the recipe against the coils
+                    @Override
+                    public boolean checkRecipe(@NotNull Recipe recipe, boolean consumeIfSuccess) {
+                        return true;
+                    }
+                });
+
+        // isValid() check in the dirtying logic requires both a metatileentity and a holder
+        try {
+            Field field = MetaTileEntity.class.getDeclaredField("holder");
+            field.setAccessible(true);
+            field.set(mbt, new MetaTileEntityHolder());
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            e.printStackTrace();
+        }
+
+        try {
+            Field field = MetaTileEntityHolder.class.getDeclaredField("metaTileEntity");
+            field.setAccessible(true);
+            field.set(mbt.getHolder(), mbt);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            e.printStackTrace();
+        }
+
+        ((MetaTileEntityHolder) mbt.getHolder()).setWorld(world);
+
+        // Controller and isAttachedToMultiBlock need the world so we fake it here.
+        MetaTileEntityItemBus importItemBus = new MetaTileEntityItemBus(gregtechId("item_bus.export.lv"), 1, false) {
+
+            @Override
+            public boolean isAttachedToMultiBlock() {
+                return true;
+            }
+
+            @Override
+            public MultiblockControllerBase getController() {
+                return mbt;
+            }
+        };
+        MetaTileEntityItemBus importItemBus2 = new MetaTileEntityItemBus(gregtechId("item_bus.export.lv"), 1, false) {
+
+            @Override
+            public boolean isAttachedToMultiBlock() {
+                return true;
+            }
+
+            @Override
+            public MultiblockControllerBase getController() {
+                return mbt;
+            }
+        };
+        MetaTileEntityItemBus exportItemBus = new MetaTileEntityItemBus(gregtechId("item_bus.export.lv"), 1, true) {
+
+            @Override
+            public boolean isAttachedToMultiBlock() {
+                return true;
+            }
+
+            @Override
+            public MultiblockControllerBase getController() {
+                return mbt;
+            }
+        };
+        MetaTileEntityFluidHatch importFluidBus = new MetaTileEntityFluidHatch(gregtechId("fluid_hatch.import.lv"), 1,
+                false) {
+
+            @Override
+            public boolean isAttachedToMultiBlock() {
+                return true;
+            }
+
+            @Override
+            public MultiblockControllerBase getController() {
+                return mbt;
+            }
+        };
+        MetaTileEntityFluidHatch exportFluidBus = new MetaTileEntityFluidHatch(gregtechId("fluid_hatch.export.lv"), 1,
+                true) {
+
+            @Override
+            public boolean isAttachedToMultiBlock() {
+                return true;
+            }
+
+            @Override
+            public MultiblockControllerBase getController() {
+                return mbt;
+            }
+        };
+
+        // Controller is a private field but we need that information
+        try {
+            Field field = MetaTileEntityMultiblockPart.class.getDeclaredField("controllerTile");
+            field.setAccessible(true);
+            field.set(importItemBus, mbt);
+            field.set(importItemBus2, mbt);
+            field.set(exportItemBus, mbt);
+            field.set(importFluidBus, mbt);
+            field.set(exportFluidBus, mbt);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            e.printStackTrace();
+        }
+
+        MultiblockRecipeLogic mbl = new MultiblockRecipeLogic(mbt) {
+
+            @Override
+            protected long getEnergyStored() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            protected long getEnergyCapacity() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            protected boolean drawEnergy(long recipeEUt, boolean simulate) {
+                return true;
+            }
+
+            @Override
+            public long getMaxVoltage() {
+                return 32;
+            }
+
+            // since the hatches were not really added to a valid multiblock structure,
+            // refer to their inventories directly
+            @Override
+            protected IItemHandlerModifiable getInputInventory() {
+                return importItemBus.getImportItems();
+            }
+
+            @Override
+            protected IItemHandlerModifiable getOutputInventory() {
+                return exportItemBus.getExportItems();
+            }
+
+            @Override
+            protected IMultipleTankHandler getInputTank() {
+                return importFluidBus.getImportFluids();
+            }
+
+            @Override
+            protected IMultipleTankHandler getOutputTank() {
+                return importFluidBus.getExportFluids();
+            }
+
+            @Override
+            protected List<IItemHandlerModifiable> getInputBuses() {
+                List<IItemHandlerModifiable> a = new ArrayList<>();
+                a.add(importItemBus.getImportItems());
+                a.add(importItemBus2.getImportItems());
+                return a;
+            }
+        };
+
+
+        mbl.isOutputsFull = false;
+        mbl.invalidInputsForRecipes = false;
+        IItemHandlerModifiable firstBus = mbl.getInputBuses().get(0);
+        IItemHandlerModifiable secondBus = mbl.getInputBuses().get(1);
+        firstBus.insertItem(0, new ItemStack(Blocks.COBBLESTONE, 16), false);
+        secondBus.insertItem(0, new ItemStack(Blocks.SAND, 16), false);
+
+        // the first bus runs its recipe and remembers it
+        mbl.trySearchNewRecipe();
+        Recipe cobblestoneRecipe = mbl.previousRecipe;
+        MatcherAssert.assertThat(cobblestoneRecipe, notNullValue());
+        MatcherAssert.assertThat(mbl.currentDistinctInputBus, is(firstBus));
+        MatcherAssert.assertThat(firstBus.getStackInSlot(0).getCount(), is(15));
+        MatcherAssert.assertThat(mbl.checkPreviousRecipeDistinct(firstBus), is(true));
+        mbl.completeRecipe();
+
+        // the first bus no longer matches its recipe, so the second bus runs its own
+        firstBus.setStackInSlot(0, ItemStack.EMPTY);
+        mbl.trySearchNewRecipe();
+        Recipe sandRecipe = mbl.previousRecipe;
+        MatcherAssert.assertThat(sandRecipe, not(cobblestoneRecipe));
+        MatcherAssert.assertThat(mbl.currentDistinctInputBus, is(secondBus));
+        MatcherAssert.assertThat(mbl.invalidatedInputList, hasItem(firstBus));
+        MatcherAssert.assertThat(secondBus.getStackInSlot(0).getCount(), is(15));
+        MatcherAssert.assertThat(mbl.checkPreviousRecipeDistinct(firstBus), is(false));
+        MatcherAssert.assertThat(mbl.checkPreviousRecipeDistinct(secondBus), is(true));
+        mbl.completeRecipe();
+
+        // inputs added to the second bus keep its recipe, which is reused before the first bus is checked
+        firstBus.insertItem(0, new ItemStack(Blocks.COBBLESTONE, 16), false);
+        secondBus.insertItem(0, new ItemStack(Blocks.SAND, 8), false);
+        MatcherAssert.assertThat(mbl.canWorkWithInputs(), is(true));
+        MatcherAssert.assertThat(mbl.checkPreviousRecipeDistinct(secondBus, mbl.getInputTank(secondBus), 32),
+                sameInstance(sandRecipe));
+        mbl.trySearchNewRecipe();
+        MatcherAssert.assertThat(mbl.previousRecipe, sameInstance(sandRecipe));
+        MatcherAssert.assertThat(mbl.currentDistinctInputBus, is(secondBus));
+        MatcherAssert.assertThat(secondBus.getStackInSlot(0).getCount(), is(22));
+        MatcherAssert.assertThat(firstBus.getStackInSlot(0).getCount(), is(16));
+        mbl.completeRecipe();
+
+        // once the second bus is emptied, the first bus is searched again
+        secondBus.setStackInSlot(0, ItemStack.EMPTY);
+        MatcherAssert.assertThat(mbl.checkPreviousRecipeDistinct(secondBus), is(false));
+        mbl.trySearchNewRecipe();
+        MatcherAssert.assertThat(mbl.previousRecipe, sameInstance(cobblestoneRecipe));
+        MatcherAssert.assertThat(mbl.currentDistinctInputBus, is(firstBus));
+        MatcherAssert.assertThat(firstBus.getStackInSlot(0).getCount(), is(15));
+        MatcherAssert.assertThat(mbl.checkPreviousRecipeDistinct(firstBus), is(true));
+    }
+
     @Test
     public void testMaintenancePenalties() {
         TestableMaintenanceHatch maintenanceHatch = new TestableMaintenanceHatch(gregtechId("maintenance.hatch"),
@@ -0,0 +1,149 @@
+package gregtech.api.metatileentity;
+
+import gregtech.Bootstrap;
+import gregtech.api.cover.CoverDefinition;
+import gregtech.api.recipes.RecipeMap;
+import gregtech.api.recipes.RecipeMapBuilder;
+import gregtech.api.recipes.builders.SimpleRecipeBuilder;
+import gregtech.api.util.world.DummyWorld;
+import gregtech.common.ConfigHolder;
+import gregtech.common.covers.CoverShutter;
+import gregtech.common.metatileentities.MetaTileEntities;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static gregtech.api.util.GTUtility.gregtechId;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MachineSleepHandlerTest {
+
+    private static final BlockPos POS = new BlockPos(0, 0, 0);
+
+    private static SimpleMachineMetaTileEntity machine;
+
+    private World world;
+    private MetaTileEntityHolder holder;
+    private MetaTileEntity metaTileEntity;
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+
+        // an empty recipe map, so the machine never finds a recipe
+        RecipeMap<SimpleRecipeBuilder> map = new RecipeMapBuilder<>("test_sleeping_machine",
+                new SimpleRecipeBuilder().EUt(30))
+                        .itemInputs(1)
+                        .itemOutputs(1)
+                        .build();
+        machine = MetaTileEntities.registerMetaTileEntity(520,
+                new SimpleMachineMetaTileEntity(gregtechId("sleeping_machine"), map, null, 1, false));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        ConfigHolder.machines.sleepIdleMachines = true;
+        this.holder = new MetaTileEntityHolder();
+        this.metaTileEntity = holder.setMetaTileEntity(machine);
+        this.world = new DummyWorld() {
+
+            @Override
+            public boolean isBlockLoaded(@NotNull BlockPos pos, boolean allowEmpty) {
+                return true;
+            }
+
+            @Nullable
+            @Override
+            public TileEntity getTileEntity(@NotNull BlockPos pos) {
+                return pos.equals(POS) ? holder : null;
+            }
+        };
+        holder.setWorld(world);
+        holder.setPos(POS);
+        world.tickableTileEntities.add(holder);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ConfigHolder.machines.sleepIdleMachines = false;
+    }
+
+    @Test
+    public void idleMachineFallsAsleep() {
+        fallAsleep();
+        assertThat(holder.asleep, is(true));
+        assertThat(world.tickableTileEntities.contains(holder), is(false));
+        assertThat(MachineSleepHandler.getSleepingCount(world), is(1));
+
+        // nothing changed, so the machine keeps sleeping
+        tick(TickEvent.Phase.START);
+        assertThat(holder.asleep, is(true));
+    }
+
+    @Test
+    public void inputChangeWakesMachine() {
+        fallAsleep();
+        metaTileEntity.getImportItems().insertItem(0, new ItemStack(Blocks.COBBLESTONE), false);
+
+        // the machine resumes ticking at the start of the next tick
+        assertThat(holder.asleep, is(true));
+        tick(TickEvent.Phase.START);
+        assertAwake();
+        assertThat(MachineSleepHandler.getSleepingCount(world), is(0));
+    }
+
+    @Test
+    public void neighbourUpdateWakesMachine() {
+        fallAsleep();
+        holder.onNeighborChanged(EnumFacing.NORTH);
+        tick(TickEvent.Phase.START);
+        assertAwake();
+    }
+
+    @Test
+    public void coverChangeWakesMachine() {
+        fallAsleep();
+        CoverDefinition definition = new CoverDefinition(gregtechId("sleeping_machine_shutter"), CoverShutter::new,
+                ItemStack.EMPTY);
+        metaTileEntity.addCover(EnumFacing.NORTH, definition.createCover(metaTileEntity, EnumFacing.NORTH));
+        tick(TickEvent.Phase.START);
+        assertAwake();
+
+        fallAsleep();
+        metaTileEntity.removeCover(EnumFacing.NORTH);
+        tick(TickEvent.Phase.START);
+        assertAwake();
+    }
+
+    private void fallAsleep() {
+        // machines check if they can sleep once every 20 ticks
+        for (int i = 0; i < 20; i++) {
+            holder.update();
+        }
+        tick(TickEvent.Phase.END);
+        assertThat(holder.asleep, is(true));
+    }
+
+    private void assertAwake() {
+        assertThat(holder.asleep, is(false));
+        assertThat(world.tickableTileEntities.contains(holder), is(true));
+    }
+
+    private void tick(TickEvent.Phase phase) {
+        MachineSleepHandler.onWorldTick(new TickEvent.WorldTickEvent(Side.SERVER, phase, world));
+    }
+}
@@ -0,0 +1,191 @@
+package gregtech.api.metatileentity;
+
+import gregtech.Bootstrap;
+import gregtech.api.recipes.RecipeMap;
+import gregtech.api.recipes.RecipeMapBuilder;
+import gregtech.api.recipes.builders.SimpleRecipeBuilder;
+import gregtech.api.util.world.DummyWorld;
+import gregtech.common.ConfigHolder;
+import gregtech.common.metatileentities.MetaTileEntities;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.ITickable;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import static gregtech.api.util.GTUtility.gregtechId;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MachineTickManagerTest {
+
+    private static SimpleMachineMetaTileEntity machine;
+
+    private final Map<BlockPos, TileEntity> tiles = new Object2ObjectOpenHashMap<>();
+    private World world;
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+
+        // an empty recipe map, so the machine never finds a recipe
+        RecipeMap<SimpleRecipeBuilder> map = new RecipeMapBuilder<>("test_managed_machine",
+                new SimpleRecipeBuilder().EUt(30))
+                        .itemInputs(1)
+                        .itemOutputs(1)
+                        .build();
+        machine = MetaTileEntities.registerMetaTileEntity(521,
+                new SimpleMachineMetaTileEntity(gregtechId("managed_machine"), map, null, 1, false));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        ConfigHolder.machines.centralizedMachineTicking = true;
+        tiles.clear();
+        this.world = new DummyWorld() {
+
+            @Override
+            public boolean isBlockLoaded(@NotNull BlockPos pos, boolean allowEmpty) {
+                return true;
+            }
+
+            @Nullable
+            @Override
+            public TileEntity getTileEntity(@NotNull BlockPos pos) {
+                return tiles.get(pos);
+            }
+        };
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ConfigHolder.machines.centralizedMachineTicking = false;
+        ConfigHolder.machines.sleepIdleMachines = false;
+        MachineTickManager.onWorldUnload(new WorldEvent.Unload(world));
+        MachineSleepHandler.onWorldUnload(new WorldEvent.Unload(world));
+    }
+
+    @Test
+    public void managedMachinesTickOncePerWorldTick() {
+        CountingHolder first = place(new BlockPos(0, 0, 0));
+        CountingHolder second = place(new BlockPos(40, 0, 0));
+
+        // machines tick in the world once before they are taken over
+        worldTick();
+        assertThat(first.ticks, is(1));
+        assertThat(second.ticks, is(1));
+        assertThat(world.tickableTileEntities.contains(first), is(false));
+        assertThat(world.tickableTileEntities.contains(second), is(false));
+        assertThat(MachineTickManager.getManagedCount(world), is(2));
+
+        for (int i = 0; i < 5; i++) {
+            worldTick();
+        }
+        assertThat(first.ticks, is(6));
+        assertThat(second.ticks, is(6));
+    }
+
+    @Test
+    public void invalidatedMachinesAreDropped() {
+        CountingHolder removed = place(new BlockPos(0, 0, 0));
+        CountingHolder kept = place(new BlockPos(1, 0, 0));
+        worldTick();
+
+        removed.invalidate();
+        worldTick();
+        assertThat(removed.ticks, is(1));
+        assertThat(kept.ticks, is(2));
+        assertThat(MachineTickManager.getManagedCount(world), is(1));
+    }
+
+    @Test
+    public void unloadedMachinesAreDropped() {
+        CountingHolder unloaded = place(new BlockPos(0, 0, 0));
+        CountingHolder kept = place(new BlockPos(32, 0, 0));
+        worldTick();
+
+        unloaded.onChunkUnload();
+        worldTick();
+        assertThat(unloaded.ticks, is(1));
+        assertThat(kept.ticks, is(2));
+        assertThat(MachineTickManager.getManagedCount(world), is(1));
+    }
+
+    @Test
+    public void sleepingMachinesAreNotTicked() {
+        ConfigHolder.machines.sleepIdleMachines = true;
+        CountingHolder holder = place(new BlockPos(0, 0, 0));
+
+        // machines check if they can sleep once every 20 ticks, and fall asleep at the end of the next tick
+        for (int i = 0; i < 21; i++) {
+            worldTick();
+        }
+        assertThat(holder.asleep, is(true));
+        int ticks = holder.ticks;
+        worldTick();
+        assertThat(holder.ticks, is(ticks));
+        assertThat(MachineTickManager.getManagedCount(world), is(1));
+
+        // a woken machine is ticked by the manager only, and not added to the tick list of the world again
+        holder.onNeighborChanged(EnumFacing.NORTH);
+        worldTick();
+        assertThat(holder.asleep, is(false));
+        assertThat(holder.ticks, is(ticks + 1));
+        assertThat(world.tickableTileEntities.contains(holder), is(false));
+        assertThat(MachineTickManager.getManagedCount(world), is(1));
+    }
+
+    private CountingHolder place(BlockPos pos) {
+        CountingHolder holder = new CountingHolder();
+        holder.setMetaTileEntity(machine);
+        holder.setWorld(world);
+        holder.setPos(pos);
+        tiles.put(pos, holder);
+        world.tickableTileEntities.add(holder);
+        return holder;
+    }
+
+    /**
+     * Tick the tile entities of the world, and fire the tick events around them like the server does
+     */
+    private void worldTick() {
+        world.setTotalWorldTime(world.getTotalWorldTime() + 1);
+        fireTick(TickEvent.Phase.START);
+        for (TileEntity tile : new ArrayList<>(world.tickableTileEntities)) {
+            ((ITickable) tile).update();
+        }
+        fireTick(TickEvent.Phase.END);
+    }
+
+    private void fireTick(TickEvent.Phase phase) {
+        TickEvent.WorldTickEvent event = new TickEvent.WorldTickEvent(Side.SERVER, phase, world);
+        MachineSleepHandler.onWorldTick(event);
+        MachineTickManager.onWorldTick(event);
+    }
+
+    private static class CountingHolder extends MetaTileEntityHolder {
+
+        private int ticks;
+
+        @Override
+        public void update() {
+            ticks++;
+            super.update();
+        }
+    }
+}
@@ -2,16 +2,23 @@ package gregtech.api.recipes;
 
 import gregtech.Bootstrap;
 import gregtech.api.GTValues;
+import gregtech.api.capability.impl.FluidTankList;
 import gregtech.api.recipes.builders.SimpleRecipeBuilder;
 import gregtech.api.recipes.map.AbstractMapIngredient;
 import gregtech.api.recipes.map.MapFluidIngredient;
 import gregtech.api.recipes.map.MapItemStackIngredient;
 import gregtech.api.recipes.map.MapOreDictIngredient;
+import gregtech.api.recipes.map.RecipeLookupCache;
+import gregtech.api.unification.OreDictUnifier;
+import gregtech.common.ConfigHolder;
 
 import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.FluidRegistry;
 import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.items.ItemStackHandler;
 import net.minecraftforge.oredict.OreDictionary;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
@@ -24,6 +31,8 @@ import org.junit.jupiter.api.Test;
 import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 import static gregtech.api.unification.material.Materials.*;
 import static org.hamcrest.CoreMatchers.*;
@@ -126,6 +135,212 @@ public class RecipeMapTest {
         MatcherAssert.assertThat(map.getRecipeList().size(), is(2));
     }
 
+    @Test
+    public void findRecipeFromHandlers() {
+        ItemStackHandler items = new ItemStackHandler(3);
+        items.setStackInSlot(1, new ItemStack(Blocks.STONE));
+        items.setStackInSlot(2, new ItemStack(Blocks.STONE));
+        FluidTankList fluids = new FluidTankList(false, new FluidTank(1000), new FluidTank(1000));
+        fluids.getTankAt(1).fill(new FluidStack(FluidRegistry.WATER, 1), true);
+
+        Recipe r = map.findRecipe(30, items, fluids);
+        MatcherAssert.assertThat(r, notNullValue());
+        MatcherAssert.assertThat(r, sameInstance(map.findRecipe(30, Arrays.asList(items.getStackInSlot(1)),
+                Collections.singletonList(new FluidStack(FluidRegistry.WATER, 1)))));
+
+        // not enough voltage
+        MatcherAssert.assertThat(map.findRecipe(0, items, fluids), nullValue());
+
+        // missing the fluid
+        fluids.getTankAt(1).drain(1, true);
+        MatcherAssert.assertThat(map.findRecipe(30, items, fluids), nullValue());
+
+        // empty inputs
+        MatcherAssert.assertThat(map.findRecipe(30, new ItemStackHandler(2), new FluidTankList(false)),
+                nullValue());
+    }
+
+    @Test
+    public void compiledLookup() {
+        List<ItemStack> items = Collections.singletonList(new ItemStack(Blocks.STONE));
+        List<FluidStack> fluids = Collections.singletonList(new FluidStack(FluidRegistry.WATER, 1));
+        List<FluidStack> epoxy = Arrays.asList(Epichlorohydrin.getFluid(144), Naphtha.getFluid(3000),
+                NitrogenDioxide.getFluid(1000));
+
+        // find directly, bypassing the lookup cache
+        Recipe stone = map.find(items, fluids, r -> true);
+        Recipe epoxyRecipe = map.find(Collections.emptyList(), epoxy, r -> true);
+        Set<Recipe> collisions = map.findRecipeCollisions(Collections.singletonList(
+                new ItemStack(Blocks.COBBLESTONE)), Collections.emptyList());
+        MatcherAssert.assertThat(stone, notNullValue());
+        MatcherAssert.assertThat(epoxyRecipe, notNullValue());
+
+        map.compileLookup();
+        MatcherAssert.assertThat(map.getCompiledLookup(), notNullValue());
+        MatcherAssert.assertThat(map.getCompiledLookup().getRecipeCount(), is(map.getRecipeList().size()));
+
+        MatcherAssert.assertThat(map.find(items, fluids, r -> true), sameInstance(stone));
+        MatcherAssert.assertThat(map.find(Collections.emptyList(), epoxy, r -> true), sameInstance(epoxyRecipe));
+        MatcherAssert.assertThat(map.find(items, Collections.emptyList(), r -> true), nullValue());
+        MatcherAssert.assertThat(map.find(items, fluids, r -> false), nullValue());
+        MatcherAssert.assertThat(map.findRecipeCollisions(Collections.singletonList(
+                new ItemStack(Blocks.COBBLESTONE)), Collections.emptyList()), is(collisions));
+
+        // changing the recipes discards the compiled lookup
+        assert map.removeRecipe(epoxyRecipe);
+        MatcherAssert.assertThat(map.getCompiledLookup(), nullValue());
+        MatcherAssert.assertThat(map.find(Collections.emptyList(), epoxy, r -> true), nullValue());
+    }
+
+    @Test
+    public void deferredCompilation() {
+        ConfigHolder.recipes.parallelRecipeCompilation = true;
+        RecipeMap<SimpleRecipeBuilder> deferred = new RecipeMapBuilder<>("test_deferred_" + mapId++,
+                new SimpleRecipeBuilder().EUt(30))
+                .itemInputs(2)
+                .itemOutputs(2)
+                .fluidInputs(3)
+                .fluidOutputs(2)
+                .build();
+        try {
+            RecipeMap.beginDeferredCompilation();
+            for (Recipe recipe : map.getRecipeList()) {
+                deferred.compileRecipe(recipe);
+            }
+            deferred.recipeBuilder()
+                    .inputs(new ItemStack(Blocks.GRAVEL))
+                    .outputs(new ItemStack(Blocks.SAND))
+                    .EUt(1).duration(1)
+                    .buildAndRegister();
+            deferred.recipeBuilder()
+                    .inputs(new ItemStack(Blocks.SAND))
+                    .outputs(new ItemStack(Blocks.GLASS))
+                    .EUt(1).duration(1)
+                    .buildAndRegister();
+
+            // accessing the map compiles its deferred recipes
+            MatcherAssert.assertThat(deferred.findRecipe(1, Collections.singletonList(new ItemStack(Blocks.GRAVEL)),
+                    Collections.emptyList()), notNullValue());
+
+            deferred.recipeBuilder()
+                    .inputs(new ItemStack(Blocks.GLASS))
+                    .outputs(new ItemStack(Blocks.GLASS_PANE))
+                    .EUt(1).duration(1)
+                    .buildAndRegister();
+        } finally {
+            RecipeMap.finishDeferredCompilation();
+            ConfigHolder.recipes.parallelRecipeCompilation = false;
+        }
+
+        MatcherAssert.assertThat(deferred.getRecipeList().size(), is(map.getRecipeList().size() + 3));
+        MatcherAssert.assertThat(deferred.findRecipe(1, Collections.singletonList(new ItemStack(Blocks.GLASS)),
+                Collections.emptyList()), notNullValue());
+    }
+
+    @Test
+    public void deferredCompilationRejectsDuplicates() {
+        ConfigHolder.recipes.parallelRecipeCompilation = true;
+        RecipeMap<SimpleRecipeBuilder> deferred = new RecipeMapBuilder<>("test_deferred_" + mapId++,
+                new SimpleRecipeBuilder().EUt(30))
+                .itemInputs(2)
+                .itemOutputs(2)
+                .fluidInputs(3)
+                .fluidOutputs(2)
+                .build();
+        deferred.recipeBuilder()
+                .inputs(new ItemStack(Blocks.SAND))
+                .outputs(new ItemStack(Blocks.GLASS))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+        try {
+            RecipeMap.beginDeferredCompilation();
+            MatcherAssert.assertThat(deferred.addRecipe(deferred.recipeBuilder()
+                    .inputs(new ItemStack(Blocks.GRAVEL))
+                    .outputs(new ItemStack(Blocks.SAND))
+                    .EUt(1).duration(1)
+                    .build()), is(true));
+
+            // duplicates of compiled and deferred recipes are rejected before compiling
+            MatcherAssert.assertThat(deferred.addRecipe(deferred.recipeBuilder()
+                    .inputs(new ItemStack(Blocks.SAND))
+                    .outputs(new ItemStack(Blocks.GLASS_PANE))
+                    .EUt(1).duration(1)
+                    .build()), is(false));
+            MatcherAssert.assertThat(deferred.addRecipe(deferred.recipeBuilder()
+                    .inputs(new ItemStack(Blocks.GRAVEL))
+                    .outputs(new ItemStack(Items.FLINT))
+                    .EUt(2).duration(1)
+                    .build()), is(false));
+        } finally {
+            RecipeMap.finishDeferredCompilation();
+            ConfigHolder.recipes.parallelRecipeCompilation = false;
+        }
+
+        MatcherAssert.assertThat(deferred.getRecipeList().size(), is(2));
+    }
+
+    @Test
+    public void lookupCache() {
+        ConfigHolder.recipes.recipeLookupCacheSize = 512;
+        try {
+            RecipeLookupCache cache = map.getLookupCache();
+            MatcherAssert.assertThat(cache, notNullValue());
+            cache.resetStatistics();
+
+            Recipe r = map.findRecipe(30,
+                    Arrays.asList(new ItemStack(Blocks.STONE), ItemStack.EMPTY),
+                    Collections.singletonList(new FluidStack(FluidRegistry.WATER, 1)));
+            MatcherAssert.assertThat(r, notNullValue());
+            MatcherAssert.assertThat(cache.getMisses(), is(1L));
+
+            // the same inputs in a different order should hit the cache
+            Recipe cached = map.findRecipe(30,
+                    Arrays.asList(ItemStack.EMPTY, new ItemStack(Blocks.STONE)),
+                    Collections.singletonList(new FluidStack(FluidRegistry.WATER, 1)));
+            MatcherAssert.assertThat(cached, sameInstance(r));
+            MatcherAssert.assertThat(cache.getHits(), is(1L));
+
+            // searches without a result are cached too
+            MatcherAssert.assertThat(map.findRecipe(30, Collections.singletonList(new ItemStack(Blocks.DIRT)),
+                    Collections.emptyList()), nullValue());
+            MatcherAssert.assertThat(map.findRecipe(30, Collections.singletonList(new ItemStack(Blocks.DIRT)),
+                    Collections.emptyList()), nullValue());
+            MatcherAssert.assertThat(cache.getHits(), is(2L));
+
+            // a different voltage is a different search
+            MatcherAssert.assertThat(map.findRecipe(0, Collections.singletonList(new ItemStack(Blocks.STONE)),
+                    Collections.singletonList(new FluidStack(FluidRegistry.WATER, 1))), nullValue());
+            MatcherAssert.assertThat(cache.getMisses(), is(3L));
+
+            // removing the recipe must invalidate the cache
+            assert map.removeRecipe(r);
+            MatcherAssert.assertThat(cache.getSize(), is(0));
+            MatcherAssert.assertThat(map.findRecipe(30, Collections.singletonList(new ItemStack(Blocks.STONE)),
+                    Collections.singletonList(new FluidStack(FluidRegistry.WATER, 1))), nullValue());
+        } finally {
+            ConfigHolder.recipes.recipeLookupCacheSize = 0;
+        }
+    }
+
+    @Test
+    public void lookupCacheInvalidatedByOreRegistration() {
+        ConfigHolder.recipes.recipeLookupCacheSize = 512;
+        try {
+            RecipeLookupCache cache = map.getLookupCache();
+            MatcherAssert.assertThat(cache, notNullValue());
+            MatcherAssert.assertThat(map.findRecipe(30, Collections.singletonList(new ItemStack(Blocks.DIRT)),
+                    Collections.emptyList()), nullValue());
+            MatcherAssert.assertThat(cache.getSize(), is(1));
+
+            // a late ore dictionary registration can make the same inputs match a recipe
+            OreDictUnifier.onItemRegistration(
+                    new OreDictionary.OreRegisterEvent("dirtTest", new ItemStack(Blocks.DIRT)));
+            MatcherAssert.assertThat(cache.getSize(), is(0));
+        } finally {
+            ConfigHolder.recipes.recipeLookupCacheSize = 0;
+        }
+    }
+
     @Test
     public void recipeLookupIgnoresStackAmount() {
         MapItemStackIngredient ingFromStack = new MapItemStackIngredient(
@@ -88,4 +88,82 @@ public class ChancedOutputLogicTest {
         List<TestChancedOutput> list = ChancedOutputLogic.NONE.roll(chanceEntries, ChanceBoostFunction.NONE, 0, 0);
         MatcherAssert.assertThat(list, CoreMatchers.nullValue());
     }
+
+    @Test
+    public void testPassedRollsBounds() {
+        MatcherAssert.assertThat(ChancedOutputLogic.passedRolls(0, 100), CoreMatchers.is(0));
+        MatcherAssert.assertThat(ChancedOutputLogic.passedRolls(5000, 0), CoreMatchers.is(0));
+        MatcherAssert.assertThat(ChancedOutputLogic.passedRolls(ChancedOutputLogic.getMaxChancedValue(), 256),
+                CoreMatchers.is(256));
+        for (int i = 0; i < 1000; i++) {
+            int passed = ChancedOutputLogic.passedRolls(5000, 64);
+            MatcherAssert.assertThat(passed >= 0 && passed <= 64, CoreMatchers.is(true));
+        }
+    }
+
+    @Test
+    public void testPassedRollsExactDistribution() {
+        // small distributions are sampled exactly, so they match the binomial distribution of individual rolls
+        assertMatchesIndividualRolls(1000, 20, 100_000, 0.02);
+        assertMatchesIndividualRolls(9000, 20, 100_000, 0.02);
+    }
+
+    @Test
+    public void testPassedRollsApproximateDistribution() {
+        // large distributions are approximated, which stays close to the binomial distribution of individual rolls
+        assertMatchesIndividualRolls(2500, 256, 50_000, 0.05);
+        assertMatchesIndividualRolls(8000, 1024, 10_000, 0.1);
+    }
+
+    /**
+     * Compare the distribution of {@link ChancedOutputLogic#passedRolls(int, int)} against both the exact binomial
+     * distribution and rolling {@link ChancedOutputLogic#passesChance(int)} individually
+     */
+    private static void assertMatchesIndividualRolls(int chance, int rolls, int samples, double maxDistance) {
+        double p = (chance + 1) / (double) ChancedOutputLogic.getMaxChancedValue();
+        double[] expected = new double[rolls + 1];
+        for (int k = 0; k <= rolls; k++) {
+            expected[k] = Math.exp(logBinomial(rolls, k) + k * Math.log(p) + (rolls - k) * Math.log(1 - p));
+        }
+
+        double[] sampled = new double[rolls + 1];
+        double[] individual = new double[rolls + 1];
+        double sum = 0;
+        for (int i = 0; i < samples; i++) {
+            int passed = ChancedOutputLogic.passedRolls(chance, rolls);
+            sampled[passed] += 1.0 / samples;
+            sum += passed;
+
+            int passedIndividually = 0;
+            for (int j = 0; j < rolls; j++) {
+                if (ChancedOutputLogic.passesChance(chance)) passedIndividually++;
+            }
+            individual[passedIndividually] += 1.0 / samples;
+        }
+
+        // the mean is within 5 standard errors of the binomial mean
+        double mean = sum / samples;
+        double standardError = Math.sqrt(rolls * p * (1 - p) / samples);
+        MatcherAssert.assertThat("mean " + mean, Math.abs(mean - rolls * p) < 5 * standardError,
+                CoreMatchers.is(true));
+
+        MatcherAssert.assertThat(totalVariationDistance(sampled, expected) < maxDistance, CoreMatchers.is(true));
+        MatcherAssert.assertThat(totalVariationDistance(sampled, individual) < maxDistance, CoreMatchers.is(true));
+    }
+
+    private static double logBinomial(int n, int k) {
+        double result = 0;
+        for (int i = 1; i <= k; i++) {
+            result += Math.log(n - k + i) - Math.log(i);
+        }
+        return result;
+    }
+
+    private static double totalVariationDistance(double[] a, double[] b) {
+        double distance = 0;
+        for (int i = 0; i < a.length; i++) {
+            distance += Math.abs(a[i] - b[i]);
+        }
+        return distance / 2;
+    }
 }
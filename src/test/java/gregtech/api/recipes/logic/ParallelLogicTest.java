@@ -10,6 +10,9 @@ import gregtech.api.recipes.RecipeMap;
 import gregtech.api.recipes.RecipeMapBuilder;
 import gregtech.api.recipes.RecipeMaps;
 import gregtech.api.recipes.builders.BlastRecipeBuilder;
+import gregtech.api.recipes.chance.output.ChancedOutputLogic;
+import gregtech.api.recipes.chance.output.RepeatedEntryList;
+import gregtech.api.recipes.chance.output.impl.ChancedItemOutput;
 import gregtech.api.unification.material.Materials;
 import gregtech.api.util.GTHashMaps;
 import gregtech.api.util.OverlayedFluidHandler;
@@ -22,13 +25,21 @@ import gregtech.common.metatileentities.multi.multiblockpart.MetaTileEntityItemB
 import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
 import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.items.ItemStackHandler;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Random;
+
 import static gregtech.api.recipes.logic.ParallelLogic.doParallelRecipes;
 import static gregtech.api.util.GTUtility.gregtechId;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.notNullValue;
 
@@ -863,4 +874,128 @@ public class ParallelLogicTest {
         // 150 is the default duration value assigned to macerator recipes when not specified
         assertThat(testMaceratorRecipe.getDuration(), is(150));
     }
+
+    @Test
+    public void append_RepeatsChancedOutputsTest() {
+        int parallelAmount = 256;
+
+        Recipe maceratorRecipe = RecipeMaps.MACERATOR_RECIPES.recipeBuilder()
+                .input(Blocks.STONE)
+                .output(Items.CARROT)
+                .chancedOutput(new ItemStack(Items.POTATO), 2500, 0)
+                .chancedOutput(new ItemStack(Items.APPLE), 1000, 0)
+                .build().getResult();
+
+        RecipeBuilder<?> builder = RecipeMaps.MACERATOR_RECIPES.recipeBuilder().EUt(0)
+                .append(maceratorRecipe, parallelAmount, false);
+        Recipe parallelRecipe = builder.build().getResult();
+
+        assertThat(parallelRecipe, notNullValue());
+        assertThat(parallelRecipe.getChancedOutputs().getChancedEntries(), instanceOf(RepeatedEntryList.class));
+        assertThat(parallelRecipe.getChancedOutputs().getChancedEntries().size(), is(2 * parallelAmount));
+
+        // the entries of the original recipe are repeated in order, once per parallel operation
+        ChancedItemOutput potato = maceratorRecipe.getChancedOutputs().getChancedEntries().get(0);
+        ChancedItemOutput apple = maceratorRecipe.getChancedOutputs().getChancedEntries().get(1);
+        assertThat(parallelRecipe.getChancedOutputs().getChancedEntries().get(parallelAmount - 1),
+                sameInstance(potato));
+        assertThat(parallelRecipe.getChancedOutputs().getChancedEntries().get(parallelAmount), sameInstance(apple));
+
+        // inspecting the builder copies the entries into it
+        assertThat(builder.getChancedOutputs().size(), is(2 * parallelAmount));
+        assertThat(builder.getChancedOutputs().get(0).getChance(), is(2500));
+        assertThat(builder.chancedOutput(new ItemStack(Items.BREAD), 500, 0).build().getResult()
+                .getChancedOutputs().getChancedEntries().size(), is(2 * parallelAmount + 1));
+    }
+
+    @Test
+    public void append_RollsRepeatedChancedOutputsTogetherTest() {
+        int parallelAmount = 100;
+
+        Recipe maceratorRecipe = RecipeMaps.MACERATOR_RECIPES.recipeBuilder()
+                .input(Blocks.STONE)
+                .output(Items.CARROT)
+                .chancedOutput(new ItemStack(Items.POTATO), ChancedOutputLogic.getMaxChancedValue(), 0)
+                .build().getResult();
+
+        Recipe parallelRecipe = RecipeMaps.MACERATOR_RECIPES.recipeBuilder().EUt(0)
+                .append(maceratorRecipe, parallelAmount, false)
+                .build().getResult();
+
+        // every roll of the guaranteed output passes, and is merged into full stacks
+        List<ItemStack> outputs = parallelRecipe.getResultItemOutputs(GTValues.LV, GTValues.LV,
+                RecipeMaps.MACERATOR_RECIPES);
+        assertThat(outputs.size(), is(3));
+        assertThat(outputs.get(1).getItem(), is(Items.POTATO));
+        assertThat(outputs.get(1).getCount(), is(64));
+        assertThat(outputs.get(2).getItem(), is(Items.POTATO));
+        assertThat(outputs.get(2).getCount(), is(parallelAmount - 64));
+    }
+
+    @Test
+    public void limitParallelBySpace_MatchesSimulationTest() {
+        RecipeMap<BlastRecipeBuilder> map = new RecipeMapBuilder<>("electric_blast_furnace", new BlastRecipeBuilder())
+                .itemInputs(3)
+                .itemOutputs(3)
+                .fluidInputs(1)
+                .fluidOutputs(2)
+                .build();
+
+        Recipe recipe = map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE))
+                .outputs(new ItemStack(Blocks.STONE, 2), new ItemStack(Blocks.GRAVEL, 3),
+                        new ItemStack(Items.ENDER_PEARL))
+                .fluidOutputs(Materials.Acetone.getFluid(100), Materials.Water.getFluid(250))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        ItemStack[] slotContents = { new ItemStack(Blocks.STONE), new ItemStack(Blocks.GRAVEL),
+                new ItemStack(Items.ENDER_PEARL), new ItemStack(Blocks.COBBLESTONE) };
+        FluidStack[] tankContents = { Materials.Acetone.getFluid(1), Materials.Water.getFluid(1),
+                Materials.Lava.getFluid(1) };
+
+        Random random = new Random(0);
+        int itemsComputed = 0;
+        int fluidsComputed = 0;
+        for (int i = 0; i < 2000; i++) {
+            int parallelLimit = 1 + random.nextInt(256);
+
+            ItemStackHandler items = new ItemStackHandler(1 + random.nextInt(6));
+            for (int slot = 0; slot < items.getSlots(); slot++) {
+                if (random.nextInt(3) == 0) continue;
+                ItemStack stack = slotContents[random.nextInt(slotContents.length)].copy();
+                stack.setCount(1 + random.nextInt(stack.getMaxStackSize()));
+                items.setStackInSlot(slot, stack);
+            }
+
+            int itemLimit = ParallelLogic.limitParallelByItemSpace(recipe, items, parallelLimit);
+            if (itemLimit >= 0) {
+                itemsComputed++;
+                assertThat(itemLimit, is(ParallelLogic.limitParallelByItems(recipe, new OverlayedItemHandler(items),
+                        parallelLimit)));
+            }
+
+            FluidTank[] tanks = new FluidTank[1 + random.nextInt(4)];
+            for (int tank = 0; tank < tanks.length; tank++) {
+                tanks[tank] = new FluidTank(4000);
+                if (random.nextInt(3) == 0) continue;
+                FluidStack fluid = tankContents[random.nextInt(tankContents.length)].copy();
+                fluid.amount = 1 + random.nextInt(4000);
+                tanks[tank].setFluid(fluid);
+            }
+            FluidTankList fluids = new FluidTankList(random.nextBoolean(), tanks);
+
+            int fluidLimit = ParallelLogic.limitParallelByFluidSpace(recipe, fluids, parallelLimit);
+            if (fluidLimit >= 0) {
+                fluidsComputed++;
+                assertThat(fluidLimit, is(ParallelLogic.limitParallelByFluids(recipe,
+                        new OverlayedFluidHandler(fluids), parallelLimit)));
+            }
+        }
+
+        // most inventories are computed without simulating
+        assertThat(itemsComputed > 500, is(true));
+        assertThat(fluidsComputed > 500, is(true));
+    }
 }
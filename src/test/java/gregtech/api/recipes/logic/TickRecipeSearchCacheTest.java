@@ -0,0 +1,67 @@
+package gregtech.api.recipes.logic;
+
+import gregtech.Bootstrap;
+import gregtech.api.GTValues;
+import gregtech.api.capability.impl.FluidTankList;
+import gregtech.api.recipes.Recipe;
+import gregtech.api.recipes.RecipeMap;
+import gregtech.api.recipes.RecipeMapBuilder;
+import gregtech.api.recipes.RecipeMatchScratch;
+import gregtech.api.recipes.builders.SimpleRecipeBuilder;
+import gregtech.api.util.world.DummyWorld;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.items.ItemStackHandler;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TickRecipeSearchCacheTest {
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void sharesRecipesBetweenInputs() {
+        RecipeMap<SimpleRecipeBuilder> map = new RecipeMapBuilder<>("tick_cache_test", new SimpleRecipeBuilder())
+                .itemInputs(2)
+                .itemOutputs(1)
+                .build();
+        map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE, 4))
+                .outputs(new ItemStack(Blocks.STONE))
+                .EUt(GTValues.VA[GTValues.LV]).duration(20)
+                .buildAndRegister();
+
+        RecipeMatchScratch scratch = new RecipeMatchScratch();
+        FluidTankList tanks = new FluidTankList(false);
+        long voltage = GTValues.V[GTValues.LV];
+        TickRecipeSearchCache.resetStatistics();
+
+        ItemStackHandler first = new ItemStackHandler(2);
+        first.setStackInSlot(0, new ItemStack(Blocks.COBBLESTONE, 16));
+        Recipe recipe = TickRecipeSearchCache.findRecipe(DummyWorld.INSTANCE, map, voltage, first, tanks, scratch);
+        assertThat(recipe, notNullValue());
+
+        // a different amount of the same inputs reuses the recipe
+        ItemStackHandler second = new ItemStackHandler(2);
+        second.setStackInSlot(1, new ItemStack(Blocks.COBBLESTONE, 8));
+        assertThat(TickRecipeSearchCache.findRecipe(DummyWorld.INSTANCE, map, voltage, second, tanks, scratch),
+                sameInstance(recipe));
+        assertThat(TickRecipeSearchCache.getHits(), is(1L));
+
+        // the shared recipe is checked against the inputs
+        ItemStackHandler tooFew = new ItemStackHandler(2);
+        tooFew.setStackInSlot(0, new ItemStack(Blocks.COBBLESTONE, 2));
+        assertThat(TickRecipeSearchCache.findRecipe(DummyWorld.INSTANCE, map, voltage, tooFew, tanks, scratch),
+                nullValue());
+        assertThat(TickRecipeSearchCache.getHits(), is(1L));
+        assertThat(TickRecipeSearchCache.getMisses(), is(2L));
+    }
+}
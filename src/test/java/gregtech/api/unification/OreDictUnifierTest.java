@@ -0,0 +1,54 @@
+package gregtech.api.unification;
+
+import gregtech.Bootstrap;
+import gregtech.api.GTValues;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.oredict.OreDictionary;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OreDictUnifierTest {
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+        OreDictUnifier.init();
+    }
+
+    @Test
+    public void oreIdsMatchOreDictionary() {
+        for (ItemStack stack : new ItemStack[] { new ItemStack(Blocks.PLANKS, 1, 2), new ItemStack(Blocks.COBBLESTONE),
+                new ItemStack(Items.IRON_INGOT), new ItemStack(Items.DIAMOND_SWORD), new ItemStack(Blocks.DIRT) }) {
+            int[] expected = OreDictionary.getOreIDs(stack);
+            Arrays.sort(expected);
+            assertArrayEquals(expected, OreDictUnifier.getOreIds(stack), stack.toString());
+        }
+        assertEquals(0, OreDictUnifier.getOreIds(ItemStack.EMPTY).length);
+    }
+
+    @Test
+    public void oreIdsFollowRegistrations() {
+        ItemStack exact = new ItemStack(Items.DYE, 1, 3);
+        OreDictionary.registerOre("gtUnifierTestExact", exact);
+        OreDictionary.registerOre("gtUnifierTestWildcard", new ItemStack(Items.DYE, 1, GTValues.W));
+
+        int exactId = OreDictionary.getOreID("gtUnifierTestExact");
+        int wildcardId = OreDictionary.getOreID("gtUnifierTestWildcard");
+
+        int[] exactIds = OreDictUnifier.getOreIds(exact);
+        assertTrue(Arrays.binarySearch(exactIds, exactId) >= 0);
+        assertTrue(Arrays.binarySearch(exactIds, wildcardId) >= 0);
+
+        int[] otherIds = OreDictUnifier.getOreIds(new ItemStack(Items.DYE, 1, 5));
+        assertFalse(Arrays.binarySearch(otherIds, exactId) >= 0);
+        assertTrue(Arrays.binarySearch(otherIds, wildcardId) >= 0);
+    }
+}
@@ -0,0 +1,46 @@
+package gregtech.api.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TickProfilerTest {
+
+    @AfterEach
+    public void stop() {
+        TickProfiler.stop();
+    }
+
+    @Test
+    public void dumpsHottestEntriesFirst() {
+        TickProfiler.start();
+        for (int i = 0; i < 100; i++) {
+            TickProfiler.record(TickProfiler.TRAITS, "cold", 1_000);
+            TickProfiler.record(TickProfiler.TRAITS, "hot", i == 99 ? 1_000_000 : 10_000);
+        }
+        TickProfiler.record(TickProfiler.TRAITS, "coldest", 1);
+        TickProfiler.stop();
+
+        List<String> lines = TickProfiler.dump(2);
+        int category = lines.indexOf(TickProfiler.TRAITS + ":");
+        assertThat(category, not(-1));
+        assertThat(lines.get(category + 1), startsWith("  hot: 100 calls, 1.99 ms total"));
+        assertThat(lines.get(category + 1), containsString("p99 < 16.4 us, max 1000.0 us"));
+        assertThat(lines.get(category + 2), startsWith("  cold: 100 calls, 0.10 ms total"));
+        assertThat(lines.get(category + 3), is("Positions:"));
+    }
+
+    @Test
+    public void startDiscardsTimings() {
+        TickProfiler.start();
+        TickProfiler.record(TickProfiler.COVERS, "cover", 1_000);
+        assertThat(TickProfiler.dump(10).isEmpty(), is(false));
+
+        TickProfiler.start();
+        assertThat(TickProfiler.dump(10).isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,270 @@
+package gregtech.common.pipelike.cable.net;
+
+import gregtech.Bootstrap;
+import gregtech.api.capability.GregtechCapabilities;
+import gregtech.api.capability.IEnergyContainer;
+import gregtech.api.unification.material.properties.WireProperties;
+import gregtech.api.util.world.DummyWorld;
+import gregtech.common.pipelike.cable.tile.TileEntityCable;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.capabilities.Capability;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class EnergyNetTest {
+
+    private static final WireProperties PROPERTIES = new WireProperties(32, 2, 1);
+
+    private final Map<BlockPos, TileEntity> tiles = new Object2ObjectOpenHashMap<>();
+    private World world;
+    private WorldENet worldNet;
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        tiles.clear();
+        this.world = new DummyWorld() {
+
+            @Override
+            public boolean isBlockLoaded(@NotNull BlockPos pos, boolean allowEmpty) {
+                return true;
+            }
+
+            @Nullable
+            @Override
+            public TileEntity getTileEntity(@NotNull BlockPos pos) {
+                return tiles.get(pos);
+            }
+        };
+        this.worldNet = new WorldENet("e_net_test") {
+
+            {
+                setWorldAndInit(world);
+            }
+        };
+    }
+
+    @Test
+    public void segmentAccumulatesAmperage() {
+        TestCable[] cables = placeLine(5);
+        EnergyNet net = worldNet.getNetFromPos(cables[0].getPos());
+
+        // the cables at the ends only connect to a single cable, so they end the segment
+        CableSegment segment = net.getSegment(cables[2]);
+        assertThat(segment.size(), is(3));
+        assertThat(net.getSegment(cables[1]), sameInstance(segment));
+        assertThat(net.getSegment(cables[3]), sameInstance(segment));
+        assertThat(net.getSegment(cables[0]).size(), is(1));
+
+        segment.incrementAmperage(1, 32, false);
+        segment.incrementAmperage(1, 32, true);
+        assertThat(cables[1].getAverageAmperage(), is(2.0 / 20));
+        assertThat(cables[2].heat, is(0));
+
+        // the third amp exceeds the amperage of the cables
+        segment.incrementAmperage(1, 32, false);
+        for (int i = 1; i <= 3; i++) {
+            assertThat(cables[i].heat, is(40));
+        }
+        assertThat(cables[0].heat, is(0));
+    }
+
+    @Test
+    public void segmentOnlyAccountsReachedCables() {
+        TestCable[] cables = placeLine(5);
+        CableSegment segment = worldNet.getNetFromPos(cables[0].getPos()).getSegment(cables[2]);
+
+        // with 2 volts left and a loss of 1 per block, the last cable of the segment is not reached
+        segment.incrementAmperage(3, 2, false);
+        assertThat(cables[1].heat, is(40));
+        assertThat(cables[2].heat, is(40));
+        assertThat(cables[3].heat, is(0));
+        assertThat(cables[3].getAverageAmperage(), is(0.0));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void splitSegmentKeepsAmperage() {
+        TestCable[] cables = placeLine(5);
+        EnergyNet net = worldNet.getNetFromPos(cables[0].getPos());
+        CableSegment segment = net.getSegment(cables[2]);
+        CableSegment end = net.getSegment(cables[0]);
+        segment.incrementAmperage(2, 32, false);
+
+        net.splitSegment(cables[2]);
+        assertThat(segment.isValid(), is(false));
+        // only the split segment is rebuilt
+        assertThat(end.isValid(), is(true));
+        CableSegment split = net.getSegment(cables[1]);
+        assertThat(split.size(), is(1));
+        assertThat(net.getSegment(cables[2]).size(), is(1));
+        assertThat(net.getSegment(cables[3]).size(), is(1));
+
+        // the amps carried in the old segment still count towards overloading the cable
+        assertThat(cables[1].incrementAmperage(1, 32), is(true));
+        assertThat(cables[1].heat, is(40));
+        assertThat(cables[3].heat, is(0));
+    }
+
+    @Test
+    public void segmentsFollowAddedAndRemovedCables() {
+        TestCable[] cables = placeLine(5);
+        EnergyNet net = worldNet.getNetFromPos(cables[0].getPos());
+        CableSegment segment = net.getSegment(cables[2]);
+        assertThat(segment.size(), is(3));
+
+        // removing the last cable makes the cable before it the end of the line
+        removeCable(cables[4]);
+        cables[3].connections = connect(EnumFacing.WEST);
+        assertThat(segment.isValid(), is(false));
+        assertThat(net.getSegment(cables[2]).size(), is(2));
+
+        placeCable(cables[4].getPos(), connect(EnumFacing.WEST));
+        cables[3].connections = connect(EnumFacing.WEST, EnumFacing.EAST);
+        assertThat(net.getSegment(cables[2]).size(), is(3));
+
+        // changes to the net drop the splits of routes, which are mapped again afterwards
+        net.splitSegment(cables[2]);
+        assertThat(net.getSegment(cables[1]).size(), is(1));
+        net.markNodeAsActive(cables[0].getPos(), false);
+        assertThat(net.getSegment(cables[1]).size(), is(3));
+    }
+
+    @Test
+    public void addedDestinationOnlyUpdatesSourcesWithoutRoute() {
+        TestCable[] cables = placeLine(5);
+        EnergyNet net = worldNet.getNetFromPos(cables[0].getPos());
+        cables[4].connections = connect(EnumFacing.WEST, EnumFacing.NORTH);
+        assertThat(net.getNetData(cables[0].getPos()).isEmpty(), is(true));
+
+        // the net is not notified of the container yet, so only sources walked after placing it know it
+        BlockPos dest = placeContainer(cables[4], EnumFacing.NORTH);
+        List<EnergyRoutePath> known = net.getNetData(cables[2].getPos());
+        assertThat(known.size(), is(1));
+
+        net.onNeighbourUpdate(dest);
+        assertThat(net.getNetData(cables[2].getPos()), sameInstance(known));
+        List<EnergyRoutePath> added = net.getNetData(cables[0].getPos());
+        assertThat(added.size(), is(1));
+        assertThat(added.get(0).getTargetPipePos(), is(cables[4].getPos()));
+        assertThat(added.get(0).getTargetFacing(), is(EnumFacing.NORTH));
+        assertThat(added.get(0).getDistance(), is(5));
+    }
+
+    @Test
+    public void removedDestinationOnlyUpdatesSourcesWithRoute() {
+        TestCable[] cables = placeLine(5);
+        EnergyNet net = worldNet.getNetFromPos(cables[0].getPos());
+        cables[4].connections = connect(EnumFacing.WEST, EnumFacing.NORTH);
+        BlockPos dest = placeContainer(cables[4], EnumFacing.NORTH);
+        List<EnergyRoutePath> routes = net.getNetData(cables[0].getPos());
+        assertThat(routes.size(), is(1));
+
+        // the net is not notified of the removal yet, so only sources walked after removing it do not know it
+        tiles.remove(dest);
+        cables[4].onNeighborChanged(EnumFacing.NORTH);
+        List<EnergyRoutePath> unknown = net.getNetData(cables[2].getPos());
+        assertThat(unknown.isEmpty(), is(true));
+
+        net.onNeighbourUpdate(dest);
+        assertThat(net.getNetData(cables[2].getPos()), sameInstance(unknown));
+        assertThat(net.getNetData(cables[0].getPos()).isEmpty(), is(true));
+    }
+
+    private TestCable[] placeLine(int length) {
+        TestCable[] cables = new TestCable[length];
+        for (int i = 0; i < length; i++) {
+            int connections = connect(EnumFacing.WEST, EnumFacing.EAST);
+            if (i == 0) connections = connect(EnumFacing.EAST);
+            if (i == length - 1) connections = connect(EnumFacing.WEST);
+            cables[i] = placeCable(new BlockPos(i, 0, 0), connections);
+        }
+        return cables;
+    }
+
+    private TestCable placeCable(BlockPos pos, int connections) {
+        TestCable cable = new TestCable(connections);
+        cable.setWorld(world);
+        cable.setPos(pos);
+        tiles.put(pos, cable);
+        worldNet.addNode(pos, PROPERTIES, 0, connections, true);
+        return cable;
+    }
+
+    private BlockPos placeContainer(TestCable cable, EnumFacing side) {
+        BlockPos pos = cable.getPos().offset(side);
+        tiles.put(pos, new TileEntity() {
+
+            @Nullable
+            @Override
+            public <T> T getCapability(@NotNull Capability<T> capability, @Nullable EnumFacing facing) {
+                return capability == GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER ?
+                        GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER.cast(IEnergyContainer.DEFAULT) : null;
+            }
+        });
+        cable.onNeighborChanged(side);
+        return pos;
+    }
+
+    private void removeCable(TestCable cable) {
+        tiles.remove(cable.getPos());
+        worldNet.removeNode(cable.getPos());
+    }
+
+    private static int connect(EnumFacing... sides) {
+        int connections = 0;
+        for (EnumFacing side : sides) {
+            connections |= 1 << side.getIndex();
+        }
+        return connections;
+    }
+
+    private static class TestCable extends TileEntityCable {
+
+        private int connections;
+        private int heat;
+
+        private TestCable(int connections) {
+            this.connections = connections;
+        }
+
+        @Override
+        public int getConnections() {
+            return connections;
+        }
+
+        @Override
+        public boolean isConnected(EnumFacing side) {
+            return isConnected(connections, side);
+        }
+
+        @Override
+        public WireProperties getNodeData() {
+            return PROPERTIES;
+        }
+
+        @Override
+        public void applyHeat(int amount) {
+            heat += amount;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package gregtech.common.pipelike.fluidpipe.net;
+
+import gregtech.Bootstrap;
+import gregtech.api.cover.Cover;
+import gregtech.api.pipenet.tile.PipeCoverableImplementation;
+import gregtech.api.unification.material.properties.FluidPipeProperties;
+import gregtech.api.util.world.DummyWorld;
+import gregtech.common.ConfigHolder;
+import gregtech.common.covers.CoverShutter;
+import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipe;
+import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipeTickable;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.fluids.FluidRegistry;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class FluidPipeNetTest {
+
+    private static final FluidPipeProperties WIDE = new FluidPipeProperties(1000, 100, true, true, true, true);
+    private static final FluidPipeProperties NARROW = new FluidPipeProperties(1000, 10, true, true, true, true);
+    private static final FluidPipeProperties TRUNK = new FluidPipeProperties(1000, 15, true, true, true, true);
+
+    private final Map<BlockPos, TileEntity> tiles = new Object2ObjectOpenHashMap<>();
+    private World world;
+    private WorldFluidPipeNet worldNet;
+    private FluidTank destination;
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        tiles.clear();
+        this.world = new DummyWorld() {
+
+            @Override
+            public boolean isBlockLoaded(@NotNull BlockPos pos, boolean allowEmpty) {
+                return true;
+            }
+
+            @Nullable
+            @Override
+            public TileEntity getTileEntity(@NotNull BlockPos pos) {
+                return tiles.get(pos);
+            }
+        };
+        this.worldNet = new WorldFluidPipeNet("fluid_net_test") {
+
+            {
+                setWorldAndInit(world);
+            }
+        };
+        this.destination = new FluidTank(16000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ConfigHolder.machines.networkFluidFlow = false;
+    }
+
+    @Test
+    public void bottleneckLimitsThroughput() {
+        TestPipe[] pipes = placeLine(WIDE, NARROW, WIDE);
+        FluidPipeNet net = pipes[0].getFluidPipeNet();
+        pipes[0].getFluidTanks()[0].setFluid(new FluidStack(FluidRegistry.WATER, 1000));
+
+        List<FluidRoutePath> routes = net.getNetData(pipes[0].getPipePos());
+        assertThat(routes.size(), is(1));
+        FluidRoutePath route = routes.get(0);
+        assertThat(route.getBottleneck(), is((TileEntityFluidPipe) pipes[1]));
+        // the narrow pipe passes 10 L/t for each tick of an update
+        assertThat(net.getRemainingThroughput(route), is(10 * TileEntityFluidPipe.FREQUENCY));
+
+        pipes[0].distributeFluid(net);
+        assertThat(destination.getFluidAmount(), is(50));
+        assertThat(pipes[0].getFluidTanks()[0].getFluidAmount(), is(950));
+        assertThat(net.getRemainingThroughput(route), is(0));
+
+        // the throughput of the bottleneck is used up until the next update
+        pipes[0].distributeFluid(net);
+        assertThat(destination.getFluidAmount(), is(50));
+    }
+
+    @Test
+    public void coversBetweenPipesBlockRoutes() {
+        TestPipe[] pipes = placeLine(WIDE, WIDE, WIDE);
+        CoverShutter shutter = new CoverShutter(null, null, EnumFacing.EAST);
+        pipes[1].covers.put(EnumFacing.EAST, shutter);
+        FluidPipeNet net = pipes[0].getFluidPipeNet();
+        pipes[0].getFluidTanks()[0].setFluid(new FluidStack(FluidRegistry.WATER, 1000));
+
+        // the shutter between the second and last pipe blocks the fluid
+        pipes[0].distributeFluid(net);
+        assertThat(destination.getFluidAmount(), is(0));
+        assertThat(pipes[0].getFluidTanks()[0].getFluidAmount(), is(1000));
+
+        shutter.setWorkingEnabled(false);
+        pipes[0].distributeFluid(net);
+        assertThat(destination.getFluidAmount(), is(500));
+    }
+
+    @Test
+    public void sharedPipesLimitAllRoutesPassingThem() {
+        // the trunk passes 15 L/t, and branches into two pipes passing 10 L/t each
+        TestPipe source = placePipe(new BlockPos(0, 0, 0), WIDE, EnumFacing.EAST);
+        placePipe(new BlockPos(1, 0, 0), TRUNK, EnumFacing.WEST, EnumFacing.EAST, EnumFacing.NORTH);
+        placePipe(new BlockPos(2, 0, 0), NARROW, EnumFacing.WEST, EnumFacing.EAST);
+        placePipe(new BlockPos(1, 0, -1), NARROW, EnumFacing.SOUTH, EnumFacing.NORTH);
+        placeTank(new BlockPos(3, 0, 0), destination);
+        FluidTank otherDestination = new FluidTank(16000);
+        placeTank(new BlockPos(1, 0, -2), otherDestination);
+        FluidPipeNet net = source.getFluidPipeNet();
+        source.getFluidTanks()[0].setFluid(new FluidStack(FluidRegistry.WATER, 1000));
+
+        List<FluidRoutePath> routes = net.getNetData(source.getPipePos());
+        assertThat(routes.size(), is(2));
+        assertThat(routes.get(0).getBottleneck() == routes.get(1).getBottleneck(), is(false));
+
+        // both routes pass the trunk, which limits them together
+        source.distributeFluid(net);
+        int moved = destination.getFluidAmount() + otherDestination.getFluidAmount();
+        assertThat(moved, is(15 * TileEntityFluidPipe.FREQUENCY));
+        assertThat(source.getFluidTanks()[0].getFluidAmount(), is(1000 - moved));
+        for (FluidRoutePath route : routes) {
+            assertThat(net.getRemainingThroughput(route), is(0));
+        }
+    }
+
+    @Test
+    public void enablingNetworkFlowActivatesFilledPipes() {
+        TestPipe[] pipes = placeLine(WIDE, WIDE);
+        pipes[0].getFluidTanks()[0].setFluid(new FluidStack(FluidRegistry.WATER, 1000));
+        world.setTotalWorldTime(0);
+
+        // the pipe was filled while the net did not move fluid
+        ConfigHolder.machines.networkFluidFlow = true;
+        for (int i = 0; i < TileEntityFluidPipe.FREQUENCY; i++) {
+            pipes[0].update();
+        }
+        assertThat(destination.getFluidAmount(), is(500));
+    }
+
+    /**
+     * Place a line of pipes towards east, ending at a tank
+     */
+    private TestPipe[] placeLine(FluidPipeProperties... properties) {
+        TestPipe[] pipes = new TestPipe[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            BlockPos pos = new BlockPos(i, 0, 0);
+            pipes[i] = i > 0 ? placePipe(pos, properties[i], EnumFacing.WEST, EnumFacing.EAST) :
+                    placePipe(pos, properties[i], EnumFacing.EAST);
+        }
+        placeTank(new BlockPos(properties.length, 0, 0), destination);
+        return pipes;
+    }
+
+    private TestPipe placePipe(BlockPos pos, FluidPipeProperties properties, EnumFacing... sides) {
+        int connections = 0;
+        for (EnumFacing side : sides) {
+            connections |= 1 << side.getIndex();
+        }
+        TestPipe pipe = new TestPipe(properties, connections);
+        pipe.setWorld(world);
+        pipe.setPos(pos);
+        tiles.put(pos, pipe);
+        worldNet.addNode(pos, properties, 0, connections, true);
+        return pipe;
+    }
+
+    private void placeTank(BlockPos pos, FluidTank tank) {
+        tiles.put(pos, new TileEntity() {
+
+            @Override
+            public boolean hasCapability(@NotNull Capability<?> capability, @Nullable EnumFacing facing) {
+                return capability == CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY;
+            }
+
+            @Nullable
+            @Override
+            public <T> T getCapability(@NotNull Capability<T> capability, @Nullable EnumFacing facing) {
+                return capability == CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY ?
+                        CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY.cast(tank) : null;
+            }
+        });
+    }
+
+    private class TestPipe extends TileEntityFluidPipeTickable {
+
+        private final FluidPipeProperties properties;
+        private final int connections;
+        private final Map<EnumFacing, Cover> covers = new EnumMap<>(EnumFacing.class);
+        private final PipeCoverableImplementation coverable = new PipeCoverableImplementation(this) {
+
+            @Override
+            public Cover getCoverAtSide(@NotNull EnumFacing side) {
+                return covers.get(side);
+            }
+        };
+
+        private TestPipe(FluidPipeProperties properties, int connections) {
+            this.properties = properties;
+            this.connections = connections;
+        }
+
+        @Override
+        public FluidPipeProperties getNodeData() {
+            return properties;
+        }
+
+        @Override
+        public int getConnections() {
+            return connections;
+        }
+
+        @Override
+        public boolean isConnected(EnumFacing side) {
+            return isConnected(connections, side);
+        }
+
+        @Override
+        public PipeCoverableImplementation getCoverableImplementation() {
+            return coverable;
+        }
+
+        @Override
+        public FluidPipeNet getFluidPipeNet() {
+            return worldNet.getNetFromPos(getPipePos());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package gregtech.common.pipelike.fluidpipe.tile;
+
+import gregtech.Bootstrap;
+import gregtech.api.unification.material.properties.FluidPipeProperties;
+import gregtech.api.util.world.DummyWorld;
+import gregtech.common.ConfigHolder;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fluids.FluidRegistry;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class FluidPipeSleepHandlerTest {
+
+    private static final FluidPipeProperties PROPERTIES = new FluidPipeProperties(1000, 100, true, true, true, true);
+    private static final BlockPos POS = new BlockPos(0, 0, 0);
+
+    private World world;
+    private TileEntityFluidPipeTickable pipe;
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        ConfigHolder.machines.pipes.sleepEmptyFluidPipes = true;
+        this.pipe = new TileEntityFluidPipeTickable() {
+
+            @Override
+            public FluidPipeProperties getNodeData() {
+                return PROPERTIES;
+            }
+        };
+        this.world = new DummyWorld() {
+
+            @Override
+            public boolean isBlockLoaded(@NotNull BlockPos pos, boolean allowEmpty) {
+                return true;
+            }
+
+            @Nullable
+            @Override
+            public TileEntity getTileEntity(@NotNull BlockPos pos) {
+                return pos.equals(POS) ? pipe : null;
+            }
+        };
+        pipe.setWorld(world);
+        pipe.setPos(POS);
+        world.tickableTileEntities.add(pipe);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ConfigHolder.machines.pipes.sleepEmptyFluidPipes = false;
+    }
+
+    @Test
+    public void emptyPipeFallsAsleep() {
+        fallAsleep();
+        assertThat(pipe.asleep, is(true));
+        assertThat(world.tickableTileEntities.contains(pipe), is(false));
+        assertThat(FluidPipeSleepHandler.getSleepingCount(world), is(1));
+    }
+
+    @Test
+    public void filledPipeStaysAwake() {
+        pipe.getFluidTanks()[0].setFluid(new FluidStack(FluidRegistry.WATER, 100));
+        for (int i = 0; i < TileEntityFluidPipe.FREQUENCY; i++) {
+            pipe.update();
+        }
+        tick(TickEvent.Phase.END);
+        assertThat(pipe.asleep, is(false));
+        assertThat(world.tickableTileEntities.contains(pipe), is(true));
+    }
+
+    @Test
+    public void fillingWakesPipe() {
+        fallAsleep();
+        pipe.getTankList(EnumFacing.WEST).fill(new FluidStack(FluidRegistry.WATER, 100), true);
+
+        // the pipe resumes ticking at the start of the next tick
+        assertThat(pipe.asleep, is(true));
+        tick(TickEvent.Phase.START);
+        assertThat(pipe.asleep, is(false));
+        assertThat(world.tickableTileEntities.contains(pipe), is(true));
+        assertThat(FluidPipeSleepHandler.getSleepingCount(world), is(0));
+    }
+
+    @Test
+    public void neighbourUpdateWakesPipe() {
+        fallAsleep();
+        pipe.onNeighborChanged(EnumFacing.EAST);
+        tick(TickEvent.Phase.START);
+        assertThat(pipe.asleep, is(false));
+        assertThat(world.tickableTileEntities.contains(pipe), is(true));
+    }
+
+    private void fallAsleep() {
+        // pipes check if they can sleep once every FREQUENCY ticks
+        for (int i = 0; i < TileEntityFluidPipe.FREQUENCY; i++) {
+            pipe.update();
+        }
+        tick(TickEvent.Phase.END);
+    }
+
+    private void tick(TickEvent.Phase phase) {
+        FluidPipeSleepHandler.onWorldTick(new TickEvent.WorldTickEvent(Side.SERVER, phase, world));
+    }
+}
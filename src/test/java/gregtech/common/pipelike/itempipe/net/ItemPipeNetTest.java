@@ -0,0 +1,244 @@
+package gregtech.common.pipelike.itempipe.net;
+
+import gregtech.Bootstrap;
+import gregtech.api.capability.impl.NotifiableItemStackHandler;
+import gregtech.api.metatileentity.MetaTileEntity;
+import gregtech.api.unification.material.properties.ItemPipeProperties;
+import gregtech.api.util.world.DummyWorld;
+import gregtech.common.metatileentities.multi.multiblockpart.MetaTileEntityItemBus;
+import gregtech.common.pipelike.itempipe.tile.TileEntityItemPipe;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.items.CapabilityItemHandler;
+import net.minecraftforge.items.IItemHandler;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static gregtech.api.util.GTUtility.gregtechId;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ItemPipeNetTest {
+
+    private static final ItemPipeProperties PROPERTIES = new ItemPipeProperties(1, 1);
+
+    private final Map<BlockPos, TileEntity> tiles = new Object2ObjectOpenHashMap<>();
+    private World world;
+    private WorldItemPipeNet worldNet;
+
+    @BeforeAll
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        tiles.clear();
+        this.world = new DummyWorld() {
+
+            @Override
+            public boolean isBlockLoaded(@NotNull BlockPos pos, boolean allowEmpty) {
+                return true;
+            }
+
+            @Nullable
+            @Override
+            public TileEntity getTileEntity(@NotNull BlockPos pos) {
+                return tiles.get(pos);
+            }
+        };
+        this.worldNet = new WorldItemPipeNet("item_net_test") {
+
+            {
+                setWorldAndInit(world);
+            }
+        };
+    }
+
+    @Test
+    public void sidesOfPipeAreCachedSeparately() {
+        TestPipe[] pipes = placeLine(3);
+        placeHandler(pipes[0], EnumFacing.NORTH);
+        placeHandler(pipes[2], EnumFacing.NORTH);
+        ItemPipeNet net = worldNet.getNetFromPos(pipes[0].getPos());
+
+        // a source does not route into the handler it is inserting from
+        List<ItemRoutePath> fromNorth = net.getNetData(pipes[0].getPos(), EnumFacing.NORTH);
+        List<ItemRoutePath> fromWest = net.getNetData(pipes[0].getPos(), EnumFacing.WEST);
+        assertThat(fromNorth.size(), is(1));
+        assertThat(fromWest.size(), is(2));
+        assertThat(net.getNetData(pipes[0].getPos(), EnumFacing.NORTH), sameInstance(fromNorth));
+        assertThat(net.getNetData(pipes[0].getPos(), EnumFacing.WEST), sameInstance(fromWest));
+    }
+
+    @Test
+    public void unloadingPipeOnlyDropsRoutesThroughIt() {
+        TestPipe[] pipes = placeLine(3);
+        placeHandler(pipes[0], EnumFacing.NORTH);
+        ItemPipeNet net = worldNet.getNetFromPos(pipes[0].getPos());
+        List<ItemRoutePath> fromFirst = net.getNetData(pipes[0].getPos(), EnumFacing.WEST);
+        List<ItemRoutePath> fromLast = net.getNetData(pipes[2].getPos(), EnumFacing.EAST);
+        assertThat(fromFirst.size(), is(1));
+
+        // the routes of the first pipe do not pass through the last pipe
+        net.onPipeUnload(pipes[2].getPos());
+        assertThat(net.getNetData(pipes[0].getPos(), EnumFacing.WEST), sameInstance(fromFirst));
+        assertThat(net.getNetData(pipes[2].getPos(), EnumFacing.EAST), not(sameInstance(fromLast)));
+
+        net.onPipeUnload(pipes[0].getPos());
+        assertThat(net.getNetData(pipes[0].getPos(), EnumFacing.WEST), not(sameInstance(fromFirst)));
+    }
+
+    @Test
+    public void removedHandlerOnlyRemovesItsRoutes() {
+        TestPipe[] pipes = placeLine(3);
+        placeHandler(pipes[0], EnumFacing.NORTH);
+        BlockPos removed = placeHandler(pipes[2], EnumFacing.NORTH);
+        ItemPipeNet net = worldNet.getNetFromPos(pipes[0].getPos());
+        List<ItemRoutePath> routes = net.getNetData(pipes[0].getPos(), EnumFacing.WEST);
+        ItemRoutePath kept = routes.get(0);
+        assertThat(kept.getTargetPipePos(), is(pipes[0].getPos()));
+
+        tiles.remove(removed);
+        net.onNeighbourUpdate(removed);
+        routes = net.getNetData(pipes[0].getPos(), EnumFacing.WEST);
+        assertThat(routes.size(), is(1));
+        assertThat(routes.get(0), sameInstance(kept));
+    }
+
+    @Test
+    public void rejectionsAreRememberedUntilHandlerChanges() {
+        TestPipe[] pipes = placeLine(1);
+        NotifiableItemStackHandler handler = createHandler();
+        placeHandler(pipes[0], EnumFacing.NORTH, handler);
+        ItemPipeNet net = worldNet.getNetFromPos(pipes[0].getPos());
+        ItemRoutePath route = net.getNetData(pipes[0].getPos(), EnumFacing.WEST).get(0);
+        ItemStack stack = new ItemStack(Blocks.DIRT);
+
+        route.onRejected(handler, stack);
+        assertThat(route.isKnownToReject(handler, stack), is(true));
+        assertThat(route.isKnownToReject(handler, new ItemStack(Blocks.STONE)), is(false));
+
+        handler.setStackInSlot(0, new ItemStack(Blocks.COBBLESTONE));
+        assertThat(route.isKnownToReject(handler, stack), is(false));
+    }
+
+    @Test
+    public void rejectionsExpire() {
+        TestPipe[] pipes = placeLine(1);
+        NotifiableItemStackHandler handler = createHandler();
+        placeHandler(pipes[0], EnumFacing.NORTH, handler);
+        ItemPipeNet net = worldNet.getNetFromPos(pipes[0].getPos());
+        ItemRoutePath route = net.getNetData(pipes[0].getPos(), EnumFacing.WEST).get(0);
+        ItemStack stack = new ItemStack(Blocks.DIRT);
+
+        route.onRejected(handler, stack);
+        world.setTotalWorldTime(world.getTotalWorldTime() + ItemRoutePath.REJECTION_TICKS - 1);
+        assertThat(route.isKnownToReject(handler, stack), is(true));
+
+        // the machine or covers of the handler may accept the stack by now
+        world.setTotalWorldTime(world.getTotalWorldTime() + 1);
+        assertThat(route.isKnownToReject(handler, stack), is(false));
+    }
+
+    @Test
+    public void neighbourUpdateForgetsRejections() {
+        TestPipe[] pipes = placeLine(1);
+        NotifiableItemStackHandler handler = createHandler();
+        BlockPos handlerPos = placeHandler(pipes[0], EnumFacing.NORTH, handler);
+        ItemPipeNet net = worldNet.getNetFromPos(pipes[0].getPos());
+        ItemRoutePath route = net.getNetData(pipes[0].getPos(), EnumFacing.WEST).get(0);
+        ItemStack stack = new ItemStack(Blocks.DIRT);
+
+        route.onRejected(handler, stack);
+        net.onNeighbourUpdate(handlerPos);
+        assertThat(net.getNetData(pipes[0].getPos(), EnumFacing.WEST).get(0), sameInstance(route));
+        assertThat(route.isKnownToReject(handler, stack), is(false));
+    }
+
+    /**
+     * Place a line of pipes towards east
+     */
+    private TestPipe[] placeLine(int length) {
+        TestPipe[] pipes = new TestPipe[length];
+        for (int i = 0; i < length; i++) {
+            int connections = 0;
+            if (i > 0) connections |= 1 << EnumFacing.WEST.getIndex();
+            if (i < length - 1) connections |= 1 << EnumFacing.EAST.getIndex();
+            BlockPos pos = new BlockPos(i, 0, 0);
+            pipes[i] = new TestPipe(connections);
+            pipes[i].setWorld(world);
+            pipes[i].setPos(pos);
+            tiles.put(pos, pipes[i]);
+            worldNet.addNode(pos, PROPERTIES, 0, connections, true);
+        }
+        return pipes;
+    }
+
+    private BlockPos placeHandler(TestPipe pipe, EnumFacing side) {
+        return placeHandler(pipe, side, createHandler());
+    }
+
+    private BlockPos placeHandler(TestPipe pipe, EnumFacing side, IItemHandler handler) {
+        pipe.connections |= 1 << side.getIndex();
+        BlockPos pos = pipe.getPos().offset(side);
+        tiles.put(pos, new TileEntity() {
+
+            @Override
+            public boolean hasCapability(@NotNull Capability<?> capability, @Nullable EnumFacing facing) {
+                return capability == CapabilityItemHandler.ITEM_HANDLER_CAPABILITY;
+            }
+
+            @Nullable
+            @Override
+            public <T> T getCapability(@NotNull Capability<T> capability, @Nullable EnumFacing facing) {
+                return capability == CapabilityItemHandler.ITEM_HANDLER_CAPABILITY ?
+                        CapabilityItemHandler.ITEM_HANDLER_CAPABILITY.cast(handler) : null;
+            }
+        });
+        return pos;
+    }
+
+    private static NotifiableItemStackHandler createHandler() {
+        MetaTileEntity bus = new MetaTileEntityItemBus(gregtechId("item_bus.import.lv"), 1, false);
+        return new NotifiableItemStackHandler(bus, 1, null, false);
+    }
+
+    private static class TestPipe extends TileEntityItemPipe {
+
+        private int connections;
+
+        private TestPipe(int connections) {
+            this.connections = connections;
+        }
+
+        @Override
+        public ItemPipeProperties getNodeData() {
+            return PROPERTIES;
+        }
+
+        @Override
+        public int getConnections() {
+            return connections;
+        }
+
+        @Override
+        public boolean isConnected(EnumFacing side) {
+            return isConnected(connections, side);
+        }
+    }
+}